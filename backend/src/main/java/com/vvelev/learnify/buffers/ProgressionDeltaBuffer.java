@@ -0,0 +1,96 @@
+package com.vvelev.learnify.buffers;
+
+import com.vvelev.learnify.caches.CourseLeaderboard;
+import com.vvelev.learnify.repositories.StudentProgressionRepository;
+import com.vvelev.learnify.repositories.projections.ProgressionKeyRow;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Deltas are queued in progression_deltas by the grading transaction, so they survive a crash and any node can
+// drain them. Only the draining node refreshes its in-memory leaderboard; other nodes catch up on their rebuild.
+@Slf4j
+@Component
+public class ProgressionDeltaBuffer {
+    private final StudentProgressionRepository studentProgressionRepository;
+    private final CourseLeaderboard courseLeaderboard;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ProgressionDeltaBuffer(
+            StudentProgressionRepository studentProgressionRepository,
+            CourseLeaderboard courseLeaderboard,
+            PlatformTransactionManager transactionManager,
+            @Value("${PROGRESSION_FLUSH_BATCH_SIZE:500}") int batchSize
+    ) {
+        this.studentProgressionRepository = studentProgressionRepository;
+        this.courseLeaderboard = courseLeaderboard;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public void add(Long submissionId, Long studentId, Long courseId) {
+        studentProgressionRepository.enqueueProgressionDelta(submissionId, studentId, courseId);
+    }
+
+    public void discard(Long studentId, Long courseId) {
+        studentProgressionRepository.deleteProgressionDeltas(studentId, courseId);
+    }
+
+    public void flush(Long studentId, Long courseId) {
+        drain(studentId, courseId);
+    }
+
+    public void flushStudent(Long studentId) {
+        drain(studentId, null);
+    }
+
+    public void flushCourse(Long courseId) {
+        drain(null, courseId);
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${PROGRESSION_FLUSH_INTERVAL_MS:5000}")
+    public void flushAll() {
+        drain(null, null);
+    }
+
+    private void drain(Long studentId, Long courseId) {
+        while (true) {
+            List<ProgressionKeyRow> applied;
+            try {
+                applied = transactionTemplate.execute(status ->
+                        studentProgressionRepository.drainProgressionDeltas(studentId, courseId, batchSize)
+                );
+            } catch (RuntimeException exception) {
+                // The batch stays queued and is retried by the next flush.
+                log.error("Could not apply queued progression deltas", exception);
+                return;
+            }
+
+            if (applied == null || applied.isEmpty()) {
+                return;
+            }
+
+            refreshLeaderboards(applied);
+        }
+    }
+
+    private void refreshLeaderboards(List<ProgressionKeyRow> applied) {
+        Map<Long, List<Long>> studentIdsByCourseId = new HashMap<>();
+        for (ProgressionKeyRow row : applied) {
+            studentIdsByCourseId.computeIfAbsent(row.getCourseId(), courseId -> new ArrayList<>()).add(row.getStudentId());
+        }
+
+        studentIdsByCourseId.forEach(courseLeaderboard::refresh);
+    }
+}
@@ -0,0 +1,97 @@
+package com.vvelev.learnify.buffers;
+
+import com.vvelev.learnify.repositories.ScoreHistogramRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class ScoreHistogramBuffer {
+    public static final int BUCKETS = 101;
+
+    private final ScoreHistogramRepository scoreHistogramRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<BucketKey, Long> counts = new ConcurrentHashMap<>();
+
+    public ScoreHistogramBuffer(
+            ScoreHistogramRepository scoreHistogramRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.scoreHistogramRepository = scoreHistogramRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public static int bucketOf(double score) {
+        return (int) Math.max(0, Math.min(BUCKETS - 1, Math.floor(score)));
+    }
+
+    public void add(Long quizId, double score) {
+        BucketKey key = new BucketKey(quizId, bucketOf(score));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counts.merge(key, 1L, Long::sum);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counts.merge(key, 1L, Long::sum);
+            }
+        });
+    }
+
+    public void discardQuiz(Long quizId) {
+        counts.keySet().removeIf(key -> key.quizId().equals(quizId));
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${SCORE_HISTOGRAM_FLUSH_INTERVAL_MS:5000}")
+    public void flushAll() {
+        Map<BucketKey, Long> drained = new HashMap<>();
+
+        for (BucketKey key : counts.keySet()) {
+            Long count = counts.remove(key);
+            if (count != null) {
+                drained.put(key, count);
+            }
+        }
+
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> drained.forEach(this::write));
+        } catch (RuntimeException batchException) {
+            drained.forEach((key, count) -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> write(key, count));
+                } catch (RuntimeException exception) {
+                    log.error("Dropping score histogram delta for quiz {}", key.quizId(), exception);
+                }
+            });
+        }
+    }
+
+    private void write(BucketKey key, long count) {
+        scoreHistogramRepository.addToBucket(key.quizId(), key.bucket(), count);
+    }
+
+    private record BucketKey(Long quizId, int bucket) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.vvelev.learnify.caches;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vvelev.learnify.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+// Local invalidation is immediate; other nodes pick up a deactivation or deletion once the entry expires.
+@Component
+public class ActiveUserCache {
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> cache;
+
+    public ActiveUserCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${ACTIVE_USER_CACHE_SIZE:100000}") long maximumSize,
+            @Value("${ACTIVE_USER_CACHE_TTL_SECONDS:30}") long ttlSeconds
+    ) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "activeUsers");
+    }
+
+    public boolean isActive(Long userId) {
+        return cache.get(userId, userRepository::existsByIdAndActiveTrue);
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
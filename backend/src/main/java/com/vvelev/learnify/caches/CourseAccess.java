@@ -0,0 +1,43 @@
+package com.vvelev.learnify.caches;
+
+import java.util.Collection;
+
+public class CourseAccess {
+    private final Long ownerId;
+    private final RosterBitmap roster;
+
+    private CourseAccess(Long ownerId, RosterBitmap roster) {
+        this.ownerId = ownerId;
+        this.roster = roster;
+    }
+
+    public static CourseAccess of(Long ownerId, Collection<Long> studentIds) {
+        return new CourseAccess(ownerId, RosterBitmap.of(studentIds));
+    }
+
+    public boolean isOwner(Long userId) {
+        return ownerId != null && ownerId.equals(userId);
+    }
+
+    public boolean isEnrolled(Long studentId) {
+        return roster.contains(studentId);
+    }
+
+    public int getStudentCount() {
+        return roster.cardinality();
+    }
+
+    public RosterBitmap getRoster() {
+        return roster;
+    }
+
+    public CourseAccess withStudent(Long studentId) {
+        RosterBitmap next = roster.with(studentId);
+        return next == roster ? this : new CourseAccess(ownerId, next);
+    }
+
+    public CourseAccess withoutStudent(Long studentId) {
+        RosterBitmap next = roster.without(studentId);
+        return next == roster ? this : new CourseAccess(ownerId, next);
+    }
+}
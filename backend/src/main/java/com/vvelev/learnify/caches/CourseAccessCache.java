@@ -0,0 +1,77 @@
+package com.vvelev.learnify.caches;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vvelev.learnify.repositories.CourseRepository;
+import com.vvelev.learnify.repositories.EnrollmentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+public class CourseAccessCache {
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final Cache<Long, CourseAccess> cache;
+
+    public CourseAccessCache(
+            CourseRepository courseRepository,
+            EnrollmentRepository enrollmentRepository,
+            MeterRegistry meterRegistry,
+            @Value("${COURSE_ACCESS_CACHE_SIZE:10000}") long maximumSize,
+            @Value("${COURSE_ACCESS_CACHE_TTL_MINUTES:10}") long ttlMinutes
+    ) {
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "courseAccess");
+    }
+
+    public Optional<CourseAccess> get(Long courseId) {
+        return Optional.ofNullable(cache.get(courseId, this::load));
+    }
+
+    public void invalidate(Long courseId) {
+        afterCommit(() -> cache.invalidate(courseId));
+    }
+
+    public void addStudent(Long courseId, Long studentId) {
+        afterCommit(() -> cache.asMap().computeIfPresent(courseId, (id, access) -> access.withStudent(studentId)));
+    }
+
+    public void removeStudent(Long courseId, Long studentId) {
+        afterCommit(() -> cache.asMap().computeIfPresent(courseId, (id, access) -> access.withoutStudent(studentId)));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private CourseAccess load(Long courseId) {
+        return courseRepository
+                .findCreatorIdById(courseId)
+                .map(ownerId -> CourseAccess.of(ownerId, enrollmentRepository.findStudentIdsByCourseId(courseId)))
+                .orElse(null);
+    }
+}
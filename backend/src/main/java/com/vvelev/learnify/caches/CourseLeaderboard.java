@@ -0,0 +1,215 @@
+package com.vvelev.learnify.caches;
+
+import com.vvelev.learnify.repositories.StudentProgressionRepository;
+import com.vvelev.learnify.repositories.projections.LeaderboardRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class CourseLeaderboard {
+    private static final int SLOTS_PER_POINT = 100;
+    private static final int SLOTS = 100 * SLOTS_PER_POINT + 1;
+
+    private final StudentProgressionRepository studentProgressionRepository;
+    private final Map<Long, Board> boards = new ConcurrentHashMap<>();
+
+    public CourseLeaderboard(StudentProgressionRepository studentProgressionRepository) {
+        this.studentProgressionRepository = studentProgressionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            initialDelayString = "${LEADERBOARD_REBUILD_INTERVAL_MS:300000}",
+            fixedDelayString = "${LEADERBOARD_REBUILD_INTERVAL_MS:300000}"
+    )
+    public void rebuild() {
+        Map<Long, Board> rebuilt = new HashMap<>();
+        for (LeaderboardRow row : studentProgressionRepository.findLeaderboardRows()) {
+            rebuilt.computeIfAbsent(row.getCourseId(), courseId -> new Board()).put(row.getStudentId(), row.getAverageScore());
+        }
+
+        boards.keySet().retainAll(rebuilt.keySet());
+        boards.putAll(rebuilt);
+
+        log.info("Rebuilt leaderboards for {} courses", rebuilt.size());
+    }
+
+    public void reloadCourse(Long courseId) {
+        afterCommit(() -> {
+            Board board = new Board();
+            studentProgressionRepository
+                    .findLeaderboardRowsByCourseId(courseId)
+                    .forEach(row -> board.put(row.getStudentId(), row.getAverageScore()));
+
+            boards.put(courseId, board);
+        });
+    }
+
+    public void refresh(Long courseId, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = List.copyOf(studentIds);
+        afterCommit(() -> {
+            Map<Long, Double> scores = new HashMap<>();
+            studentProgressionRepository
+                    .findLeaderboardRowsByCourseIdAndStudentIdIn(courseId, ids)
+                    .forEach(row -> scores.put(row.getStudentId(), row.getAverageScore()));
+
+            Board board = boards.computeIfAbsent(courseId, id -> new Board());
+            for (Long studentId : ids) {
+                Double score = scores.get(studentId);
+                if (score == null) {
+                    board.remove(studentId);
+                } else {
+                    board.put(studentId, score);
+                }
+            }
+        });
+    }
+
+    public void remove(Long courseId, Long studentId) {
+        afterCommit(() -> {
+            Board board = boards.get(courseId);
+            if (board != null) {
+                board.remove(studentId);
+            }
+        });
+    }
+
+    public List<Standing> top(Long courseId, int limit) {
+        Board board = boards.get(courseId);
+        return board == null ? List.of() : board.top(limit);
+    }
+
+    public Optional<Standing> standing(Long courseId, Long studentId) {
+        Board board = boards.get(courseId);
+        return board == null ? Optional.empty() : board.standing(studentId);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static int slotOf(double averageScore) {
+        long slot = Math.round(averageScore * SLOTS_PER_POINT);
+        return (int) Math.max(0, Math.min(SLOTS - 1, slot));
+    }
+
+    public record Standing(int rank, Long studentId, double averageScore, int studentCount) {
+    }
+
+    private record Entry(int slot, Long studentId, double averageScore) {
+    }
+
+    private static final class Board {
+        private static final Comparator<Entry> ORDER = Comparator
+                .comparingInt(Entry::slot)
+                .reversed()
+                .thenComparing(Entry::studentId);
+
+        private final TreeSet<Entry> entries = new TreeSet<>(ORDER);
+        private final Map<Long, Entry> entriesByStudentId = new HashMap<>();
+        private final int[] tree = new int[SLOTS + 1];
+
+        synchronized void put(Long studentId, Double averageScore) {
+            double score = averageScore == null ? 0 : averageScore;
+            removeEntry(studentId);
+
+            Entry entry = new Entry(slotOf(score), studentId, score);
+            entries.add(entry);
+            entriesByStudentId.put(studentId, entry);
+            update(entry.slot(), 1);
+        }
+
+        synchronized void remove(Long studentId) {
+            removeEntry(studentId);
+        }
+
+        synchronized List<Standing> top(int limit) {
+            List<Standing> standings = new ArrayList<>(Math.min(limit, entries.size()));
+            int size = entries.size();
+            int rank = 0;
+            int previousSlot = -1;
+            int position = 0;
+
+            for (Entry entry : entries) {
+                if (position == limit) {
+                    break;
+                }
+
+                position++;
+                if (entry.slot() != previousSlot) {
+                    rank = position;
+                    previousSlot = entry.slot();
+                }
+
+                standings.add(new Standing(rank, entry.studentId(), entry.averageScore(), size));
+            }
+
+            return standings;
+        }
+
+        synchronized Optional<Standing> standing(Long studentId) {
+            Entry entry = entriesByStudentId.get(studentId);
+            if (entry == null) {
+                return Optional.empty();
+            }
+
+            int size = entries.size();
+            int higher = size - prefixSum(entry.slot());
+
+            return Optional.of(new Standing(higher + 1, studentId, entry.averageScore(), size));
+        }
+
+        private void removeEntry(Long studentId) {
+            Entry existing = entriesByStudentId.remove(studentId);
+            if (existing != null) {
+                entries.remove(existing);
+                update(existing.slot(), -1);
+            }
+        }
+
+        private void update(int slot, int delta) {
+            for (int i = slot + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        private int prefixSum(int slot) {
+            int sum = 0;
+            for (int i = slot + 1; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.vvelev.learnify.caches;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class IdempotencyKeyIndex {
+    private static final int STRIPES = 256;
+
+    private final Cache<IdempotencyKey, Long> submissionIds;
+    private final Lock[] locks = new Lock[STRIPES];
+
+    public IdempotencyKeyIndex(@Value("${IDEMPOTENCY_KEY_TTL_MINUTES:60}") long ttlMinutes) {
+        this.submissionIds = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .maximumSize(100_000)
+                .build();
+
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock lockFor(Long studentId, String key) {
+        int hash = new IdempotencyKey(studentId, key).hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    public Optional<Long> find(Long studentId, String key) {
+        return Optional.ofNullable(submissionIds.getIfPresent(new IdempotencyKey(studentId, key)));
+    }
+
+    public void remember(Long studentId, String key, Long submissionId) {
+        submissionIds.put(new IdempotencyKey(studentId, key), submissionId);
+    }
+
+    private record IdempotencyKey(Long studentId, String key) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.vvelev.learnify.caches;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class InFlightSubmissionRegistry {
+    private final Set<InFlightSubmission> submissions = ConcurrentHashMap.newKeySet();
+
+    public boolean tryAcquire(Long studentId, Long quizId) {
+        return submissions.add(new InFlightSubmission(studentId, quizId));
+    }
+
+    public void release(Long studentId, Long quizId) {
+        submissions.remove(new InFlightSubmission(studentId, quizId));
+    }
+
+    public boolean isInFlight(Long studentId, Long quizId) {
+        return submissions.contains(new InFlightSubmission(studentId, quizId));
+    }
+
+    private record InFlightSubmission(Long studentId, Long quizId) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.vvelev.learnify.caches;
+
+import com.vvelev.learnify.repositories.projections.AnswerKeyEntry;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class QuizAnswerKey {
+    private final Set<Long> questionIds;
+    private final Map<Long, Long> questionIdByAnswerId;
+    private final Set<Long> correctAnswerIds;
+
+    private QuizAnswerKey(Set<Long> questionIds, Map<Long, Long> questionIdByAnswerId, Set<Long> correctAnswerIds) {
+        this.questionIds = questionIds;
+        this.questionIdByAnswerId = questionIdByAnswerId;
+        this.correctAnswerIds = correctAnswerIds;
+    }
+
+    public static QuizAnswerKey of(List<? extends AnswerKeyEntry> entries) {
+        Set<Long> questionIds = new HashSet<>();
+        Map<Long, Long> questionIdByAnswerId = new HashMap<>();
+        Set<Long> correctAnswerIds = new HashSet<>();
+
+        for (AnswerKeyEntry entry : entries) {
+            questionIds.add(entry.getQuestionId());
+            if (entry.getAnswerId() == null) {
+                continue;
+            }
+
+            questionIdByAnswerId.put(entry.getAnswerId(), entry.getQuestionId());
+
+            if (Boolean.TRUE.equals(entry.getCorrect())) {
+                correctAnswerIds.add(entry.getAnswerId());
+            }
+        }
+
+        return new QuizAnswerKey(questionIds, questionIdByAnswerId, correctAnswerIds);
+    }
+
+    public int getQuestionCount() {
+        return questionIds.size();
+    }
+
+    public boolean containsAnswer(Long answerId) {
+        return questionIdByAnswerId.containsKey(answerId);
+    }
+
+    public boolean isAnswerOfQuestion(Long answerId, Long questionId) {
+        return questionId != null && questionId.equals(questionIdByAnswerId.get(answerId));
+    }
+
+    public boolean isCorrect(Long answerId) {
+        return correctAnswerIds.contains(answerId);
+    }
+}
@@ -0,0 +1,50 @@
+package com.vvelev.learnify.caches;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vvelev.learnify.repositories.QuestionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class QuizAnswerKeyCache {
+    private final QuestionRepository questionRepository;
+    private final Cache<Long, QuizAnswerKey> cache;
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public QuizAnswerKeyCache(
+            QuestionRepository questionRepository,
+            MeterRegistry meterRegistry,
+            @Value("${ANSWER_KEY_CACHE_SIZE:1000}") long maximumSize
+    ) {
+        this.questionRepository = questionRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "quizAnswerKeys");
+    }
+
+    public QuizAnswerKey get(Long quizId) {
+        return cache.get(quizId, this::load);
+    }
+
+    public long version(Long quizId) {
+        return versions.getOrDefault(quizId, 0L);
+    }
+
+    public void invalidate(Long quizId) {
+        versions.merge(quizId, 1L, Long::sum);
+        cache.invalidate(quizId);
+    }
+
+    private QuizAnswerKey load(Long quizId) {
+        return QuizAnswerKey.of(questionRepository.findAnswerKeyByQuizId(quizId));
+    }
+}
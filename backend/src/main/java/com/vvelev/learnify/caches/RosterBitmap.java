@@ -0,0 +1,363 @@
+package com.vvelev.learnify.caches;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+public final class RosterBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    private static final long MAX_ID = 0xFFFF_FFFFL;
+
+    private static final RosterBitmap EMPTY = new RosterBitmap(new char[0], new Object[0], new int[0], 0);
+
+    private final char[] keys;
+    private final Object[] containers;
+    private final int[] counts;
+    private final int cardinality;
+
+    private RosterBitmap(char[] keys, Object[] containers, int[] counts, int cardinality) {
+        this.keys = keys;
+        this.containers = containers;
+        this.counts = counts;
+        this.cardinality = cardinality;
+    }
+
+    public static RosterBitmap empty() {
+        return EMPTY;
+    }
+
+    public static RosterBitmap of(Collection<Long> ids) {
+        return fromSorted(ids
+                .stream()
+                .mapToLong(RosterBitmap::checkId)
+                .sorted()
+                .distinct()
+                .toArray());
+    }
+
+    public boolean contains(Long id) {
+        if (id == null || id < 0 || id > MAX_ID) {
+            return false;
+        }
+
+        int index = Arrays.binarySearch(keys, high(id));
+        return index >= 0 && containerContains(containers[index], low(id));
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public RosterBitmap with(Long id) {
+        checkId(id);
+        if (contains(id)) {
+            return this;
+        }
+
+        char high = high(id);
+        char low = low(id);
+        int index = Arrays.binarySearch(keys, high);
+
+        if (index < 0) {
+            int insertAt = -index - 1;
+            return new RosterBitmap(
+                    insert(keys, insertAt, high),
+                    insert(containers, insertAt, new char[] {low}),
+                    insert(counts, insertAt, 1),
+                    cardinality + 1
+            );
+        }
+
+        Object[] nextContainers = containers.clone();
+        int[] nextCounts = counts.clone();
+        nextContainers[index] = addToContainer(containers[index], counts[index], low);
+        nextCounts[index] = counts[index] + 1;
+
+        return new RosterBitmap(keys, nextContainers, nextCounts, cardinality + 1);
+    }
+
+    public RosterBitmap without(Long id) {
+        if (!contains(id)) {
+            return this;
+        }
+
+        int index = Arrays.binarySearch(keys, high(id));
+        if (counts[index] == 1) {
+            return new RosterBitmap(remove(keys, index), remove(containers, index), remove(counts, index), cardinality - 1);
+        }
+
+        Object[] nextContainers = containers.clone();
+        int[] nextCounts = counts.clone();
+        nextContainers[index] = removeFromContainer(containers[index], counts[index], low(id));
+        nextCounts[index] = counts[index] - 1;
+
+        return new RosterBitmap(keys, nextContainers, nextCounts, cardinality - 1);
+    }
+
+    public int andCardinality(RosterBitmap other) {
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                shared += intersectionCount(containers[i], other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+
+        return shared;
+    }
+
+    public RosterBitmap andNot(RosterBitmap other) {
+        long[] ids = toArray();
+        long[] remaining = new long[ids.length];
+        int size = 0;
+
+        for (long id : ids) {
+            if (!other.contains(id)) {
+                remaining[size++] = id;
+            }
+        }
+
+        return size == ids.length ? this : fromSorted(Arrays.copyOf(remaining, size));
+    }
+
+    public long[] toArray() {
+        long[] ids = new long[cardinality];
+        int size = 0;
+
+        for (int i = 0; i < keys.length; i++) {
+            long base = (long) keys[i] << 16;
+
+            if (containers[i] instanceof char[] values) {
+                for (char value : values) {
+                    ids[size++] = base | value;
+                }
+                continue;
+            }
+
+            long[] words = (long[]) containers[i];
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    ids[size++] = base | ((long) word << 6) | Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        return ids;
+    }
+
+    private static RosterBitmap fromSorted(long[] ids) {
+        if (ids.length == 0) {
+            return EMPTY;
+        }
+
+        int groups = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || high(ids[i]) != high(ids[i - 1])) {
+                groups++;
+            }
+        }
+
+        char[] keys = new char[groups];
+        Object[] containers = new Object[groups];
+        int[] counts = new int[groups];
+
+        int group = 0;
+        int start = 0;
+        for (int i = 1; i <= ids.length; i++) {
+            if (i < ids.length && high(ids[i]) == high(ids[start])) {
+                continue;
+            }
+
+            keys[group] = high(ids[start]);
+            counts[group] = i - start;
+            containers[group] = i - start > ARRAY_LIMIT
+                    ? bitmapContainer(ids, start, i)
+                    : arrayContainer(ids, start, i);
+
+            group++;
+            start = i;
+        }
+
+        return new RosterBitmap(keys, containers, counts, ids.length);
+    }
+
+    private static char[] arrayContainer(long[] ids, int from, int to) {
+        char[] values = new char[to - from];
+        for (int i = from; i < to; i++) {
+            values[i - from] = low(ids[i]);
+        }
+        return values;
+    }
+
+    private static long[] bitmapContainer(long[] ids, int from, int to) {
+        long[] words = new long[BITMAP_WORDS];
+        for (int i = from; i < to; i++) {
+            char low = low(ids[i]);
+            words[low >>> 6] |= 1L << low;
+        }
+        return words;
+    }
+
+    private static boolean containerContains(Object container, char low) {
+        if (container instanceof char[] values) {
+            return Arrays.binarySearch(values, low) >= 0;
+        }
+
+        return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+    }
+
+    private static Object addToContainer(Object container, int count, char low) {
+        if (container instanceof long[] words) {
+            long[] next = words.clone();
+            next[low >>> 6] |= 1L << low;
+            return next;
+        }
+
+        char[] values = (char[]) container;
+        if (count + 1 > ARRAY_LIMIT) {
+            long[] words = new long[BITMAP_WORDS];
+            for (char value : values) {
+                words[value >>> 6] |= 1L << value;
+            }
+            words[low >>> 6] |= 1L << low;
+            return words;
+        }
+
+        return insert(values, -Arrays.binarySearch(values, low) - 1, low);
+    }
+
+    private static Object removeFromContainer(Object container, int count, char low) {
+        if (container instanceof char[] values) {
+            return remove(values, Arrays.binarySearch(values, low));
+        }
+
+        long[] words = ((long[]) container).clone();
+        words[low >>> 6] &= ~(1L << low);
+        if (count - 1 > ARRAY_LIMIT) {
+            return words;
+        }
+
+        char[] values = new char[count - 1];
+        int size = 0;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long bits = words[word];
+            while (bits != 0) {
+                values[size++] = (char) ((word << 6) | Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return values;
+    }
+
+    private static int intersectionCount(Object left, Object right) {
+        if (left instanceof long[] leftWords && right instanceof long[] rightWords) {
+            int count = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                count += Long.bitCount(leftWords[word] & rightWords[word]);
+            }
+            return count;
+        }
+
+        if (left instanceof char[] leftValues && right instanceof char[] rightValues) {
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < leftValues.length && j < rightValues.length) {
+                if (leftValues[i] < rightValues[j]) {
+                    i++;
+                } else if (leftValues[i] > rightValues[j]) {
+                    j++;
+                } else {
+                    count++;
+                    i++;
+                    j++;
+                }
+            }
+            return count;
+        }
+
+        char[] values = left instanceof char[] leftValues ? leftValues : (char[]) right;
+        Object bitmap = left instanceof char[] ? right : left;
+        int count = 0;
+        for (char value : values) {
+            if (containerContains(bitmap, value)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long checkId(Long id) {
+        if (id == null || id < 0 || id > MAX_ID) {
+            throw new IllegalArgumentException("Student id out of bitmap range: " + id);
+        }
+        return id;
+    }
+
+    private static char high(long id) {
+        return (char) (id >>> 16);
+    }
+
+    private static char low(long id) {
+        return (char) id;
+    }
+
+    private static char[] insert(char[] array, int index, char value) {
+        char[] next = new char[array.length + 1];
+        System.arraycopy(array, 0, next, 0, index);
+        next[index] = value;
+        System.arraycopy(array, index, next, index + 1, array.length - index);
+        return next;
+    }
+
+    private static Object[] insert(Object[] array, int index, Object value) {
+        Object[] next = new Object[array.length + 1];
+        System.arraycopy(array, 0, next, 0, index);
+        next[index] = value;
+        System.arraycopy(array, index, next, index + 1, array.length - index);
+        return next;
+    }
+
+    private static int[] insert(int[] array, int index, int value) {
+        int[] next = new int[array.length + 1];
+        System.arraycopy(array, 0, next, 0, index);
+        next[index] = value;
+        System.arraycopy(array, index, next, index + 1, array.length - index);
+        return next;
+    }
+
+    private static char[] remove(char[] array, int index) {
+        char[] next = new char[array.length - 1];
+        System.arraycopy(array, 0, next, 0, index);
+        System.arraycopy(array, index + 1, next, index, array.length - index - 1);
+        return next;
+    }
+
+    private static Object[] remove(Object[] array, int index) {
+        Object[] next = new Object[array.length - 1];
+        System.arraycopy(array, 0, next, 0, index);
+        System.arraycopy(array, index + 1, next, index, array.length - index - 1);
+        return next;
+    }
+
+    private static int[] remove(int[] array, int index) {
+        int[] next = new int[array.length - 1];
+        System.arraycopy(array, 0, next, 0, index);
+        System.arraycopy(array, index + 1, next, index, array.length - index - 1);
+        return next;
+    }
+}
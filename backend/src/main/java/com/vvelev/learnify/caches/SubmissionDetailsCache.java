@@ -0,0 +1,49 @@
+package com.vvelev.learnify.caches;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vvelev.learnify.dtos.submission.SubmissionDetailsDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+@Component
+public class SubmissionDetailsCache {
+    private final ObjectMapper objectMapper;
+    private final Cache<SubmissionDetailsKey, byte[]> cache;
+
+    public SubmissionDetailsCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${SUBMISSION_DETAILS_CACHE_MAX_BYTES:67108864}") long maximumBytes
+    ) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((SubmissionDetailsKey key, byte[] json) -> json.length)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "submissionDetails");
+    }
+
+    public byte[] get(Long submissionId, long keyVersion, Supplier<SubmissionDetailsDto> loader) {
+        return cache.get(new SubmissionDetailsKey(submissionId, keyVersion), key -> serialize(loader.get()));
+    }
+
+    public byte[] serialize(SubmissionDetailsDto details) {
+        try {
+            return objectMapper.writeValueAsBytes(details);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Could not serialize submission details", exception);
+        }
+    }
+
+    private record SubmissionDetailsKey(Long submissionId, long keyVersion) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.vvelev.learnify.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@EnableAsync
+@Configuration
+public class AsyncConfig {
+    public static final String SUBMISSION_GRADING_EXECUTOR = "submissionGradingExecutor";
+    public static final String BACKGROUND_JOB_EXECUTOR = "backgroundJobExecutor";
+
+    @Value("${SUBMISSION_GRADING_WORKERS:4}")
+    private int gradingWorkers;
+
+    @Value("${SUBMISSION_GRADING_QUEUE_CAPACITY:1000}")
+    private int gradingQueueCapacity;
+
+    @Value("${BACKGROUND_JOB_WORKERS:2}")
+    private int backgroundJobWorkers;
+
+    @Bean(name = SUBMISSION_GRADING_EXECUTOR)
+    public ThreadPoolTaskExecutor submissionGradingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("grading-");
+        executor.setCorePoolSize(gradingWorkers);
+        executor.setMaxPoolSize(gradingWorkers);
+        executor.setQueueCapacity(gradingQueueCapacity);
+        // A full queue rejects the task; intake answers 503 and the pending reaper picks up anything dropped.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean(name = BACKGROUND_JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor backgroundJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("job-");
+        executor.setCorePoolSize(backgroundJobWorkers);
+        executor.setMaxPoolSize(backgroundJobWorkers);
+        executor.setQueueCapacity(100);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -3,6 +3,7 @@ package com.vvelev.learnify.config;
 import com.vvelev.learnify.constants.ApiPaths;
 import com.vvelev.learnify.entities.Role;
 import com.vvelev.learnify.filters.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -55,6 +56,8 @@ public class SecurityConfig {
                 )
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(c -> c
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         .requestMatchers(HttpMethod.POST, ApiPaths.AUTH_LOGIN, ApiPaths.AUTH_REFRESH, ApiPaths.USERS).permitAll()
 
                         .requestMatchers(HttpMethod.GET, ApiPaths.USERS, ApiPaths.USER_BY_ID, ApiPaths.ENROLLMENTS).hasRole(Role.ADMIN.name())
@@ -64,7 +67,15 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET,
                                 ApiPaths.COURSES_CREATED_ME,
                                 ApiPaths.COURSE_PROGRESSIONS,
-                                ApiPaths.QUIZ_SUBMISSIONS
+                                ApiPaths.COURSE_GRADEBOOK,
+                                ApiPaths.COURSE_ROSTER,
+                                ApiPaths.COURSE_ROSTER_OVERLAP,
+                                ApiPaths.QUIZ_SUBMISSIONS,
+                                ApiPaths.QUIZ_SUBMISSIONS_EXPORT,
+                                ApiPaths.QUIZ_MISSING_SUBMISSIONS,
+                                ApiPaths.QUIZ_STATISTICS,
+                                ApiPaths.JOB_BY_ID,
+                                ApiPaths.COURSE_JOBS
                         ).hasRole(Role.TEACHER.name())
 
                         .requestMatchers(HttpMethod.POST,
@@ -73,7 +84,8 @@ public class SecurityConfig {
                                 ApiPaths.LESSON_MATERIALS,
                                 ApiPaths.LESSON_QUIZZES,
                                 ApiPaths.QUIZ_QUESTIONS,
-                                ApiPaths.QUESTION_ANSWERS
+                                ApiPaths.QUESTION_ANSWERS,
+                                ApiPaths.QUIZ_STATISTICS_REBUILD
                         ).hasRole(Role.TEACHER.name())
 
                         .requestMatchers(HttpMethod.PUT,
@@ -96,6 +108,7 @@ public class SecurityConfig {
 
                         .requestMatchers(HttpMethod.GET,
                                 ApiPaths.COURSE_PROGRESSION_ME,
+                                ApiPaths.COURSE_LEADERBOARD_ME,
                                 ApiPaths.ENROLLMENTS_ME,
                                 ApiPaths.QUIZ_SUBMISSIONS_ME
                         ).hasRole(Role.STUDENT.name())
@@ -116,7 +129,11 @@ public class SecurityConfig {
                                 ApiPaths.QUIZ_BY_ID,
                                 ApiPaths.QUIZ_QUESTIONS,
                                 ApiPaths.QUESTION_ANSWERS,
-                                ApiPaths.SUBMISSION_BY_ID
+                                ApiPaths.SUBMISSION_BY_ID,
+                                ApiPaths.SUBMISSION_STATUS,
+                                ApiPaths.QUIZ_SCORE_DISTRIBUTION,
+                                ApiPaths.COURSE_SCORE_DISTRIBUTION,
+                                ApiPaths.COURSE_LEADERBOARD
                         ).hasAnyRole(Role.STUDENT.name(), Role.TEACHER.name())
 
                         .anyRequest().authenticated()
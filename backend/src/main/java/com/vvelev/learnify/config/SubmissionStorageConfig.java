@@ -0,0 +1,24 @@
+package com.vvelev.learnify.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Configuration
+public class SubmissionStorageConfig {
+    @Value("${SUBMISSION_ANSWER_VECTORS:false}")
+    private boolean answerVectorsEnabled;
+
+    @Value("${SUBMISSION_DATABASE_SCORING:false}")
+    private boolean databaseScoringEnabled;
+
+    @Value("${SUBMISSION_ADVISORY_LOCKS:false}")
+    private boolean advisoryLocksEnabled;
+}
@@ -36,6 +36,9 @@ public final class ApiPaths {
     public static final String QUIZZES = API_BASE + "/quizzes";
     public static final String QUIZ_BY_ID = QUIZZES + "/{id}";
     public static final String LESSON_QUIZZES = LESSONS + "/{id}/quizzes";
+    public static final String QUIZ_STATISTICS = QUIZ_BY_ID + "/statistics";
+    public static final String QUIZ_STATISTICS_REBUILD = QUIZ_STATISTICS + "/rebuild";
+    public static final String QUIZ_SCORE_DISTRIBUTION = QUIZ_BY_ID + "/score-distribution";
 
     public static final String QUESTIONS = API_BASE + "/questions";
     public static final String QUESTION_BY_ID = QUESTIONS + "/{id}";
@@ -47,10 +50,23 @@ public final class ApiPaths {
 
     public static final String SUBMISSIONS = API_BASE + "/submissions";
     public static final String SUBMISSION_BY_ID = SUBMISSIONS + "/{id}";
+    public static final String SUBMISSION_STATUS = SUBMISSION_BY_ID + "/status";
     public static final String QUIZ_SUBMIT = QUIZZES + "/{id}/submit";
     public static final String QUIZ_SUBMISSIONS = QUIZZES + "/{id}/submissions";
     public static final String QUIZ_SUBMISSIONS_ME = QUIZ_SUBMISSIONS + "/me";
+    public static final String QUIZ_SUBMISSIONS_EXPORT = QUIZ_SUBMISSIONS + "/export";
+    public static final String QUIZ_MISSING_SUBMISSIONS = QUIZ_BY_ID + "/missing-submissions";
 
     public static final String COURSE_PROGRESSIONS = COURSES + "/{id}/progressions";
     public static final String COURSE_PROGRESSION_ME = COURSES + "/{id}/progression/me";
+    public static final String COURSE_GRADEBOOK = COURSES + "/{id}/gradebook";
+    public static final String COURSE_SCORE_DISTRIBUTION = COURSES + "/{id}/score-distribution";
+    public static final String COURSE_LEADERBOARD = COURSES + "/{id}/leaderboard";
+    public static final String COURSE_LEADERBOARD_ME = COURSE_LEADERBOARD + "/me";
+    public static final String COURSE_ROSTER = COURSES + "/{id}/roster";
+    public static final String COURSE_ROSTER_OVERLAP = COURSE_ROSTER + "/overlap/{otherId}";
+
+    public static final String JOBS = API_BASE + "/jobs";
+    public static final String JOB_BY_ID = JOBS + "/{id}";
+    public static final String COURSE_JOBS = COURSES + "/{id}/jobs";
 }
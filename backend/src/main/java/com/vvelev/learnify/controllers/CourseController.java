@@ -4,8 +4,18 @@ import com.vvelev.learnify.constants.ApiPaths;
 import com.vvelev.learnify.dtos.course.CourseDto;
 import com.vvelev.learnify.dtos.course.CreateCourseDto;
 import com.vvelev.learnify.dtos.course.UpdateCourseDto;
+import com.vvelev.learnify.dtos.gradebook.GradebookDto;
+import com.vvelev.learnify.dtos.leaderboard.LeaderboardEntryDto;
+import com.vvelev.learnify.dtos.leaderboard.LeaderboardStandingDto;
+import com.vvelev.learnify.dtos.roster.RosterOverlapDto;
+import com.vvelev.learnify.dtos.roster.RosterSummaryDto;
+import com.vvelev.learnify.dtos.statistics.ScoreDistributionDto;
 import com.vvelev.learnify.dtos.studentprogression.StudentProgressionDto;
 import com.vvelev.learnify.services.CourseService;
+import com.vvelev.learnify.services.GradebookService;
+import com.vvelev.learnify.services.LeaderboardService;
+import com.vvelev.learnify.services.RosterService;
+import com.vvelev.learnify.services.ScoreDistributionService;
 import com.vvelev.learnify.services.StudentProgressionService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -21,6 +31,10 @@ import java.util.List;
 public class CourseController {
     private CourseService courseService;
     private StudentProgressionService studentProgressionService;
+    private GradebookService gradebookService;
+    private ScoreDistributionService scoreDistributionService;
+    private LeaderboardService leaderboardService;
+    private RosterService rosterService;
 
     @PostMapping(ApiPaths.COURSES)
     public ResponseEntity<CourseDto> createCourse(
@@ -60,6 +74,39 @@ public class CourseController {
         return studentProgressionService.getCourseProgressions(id);
     }
 
+    @GetMapping(ApiPaths.COURSE_GRADEBOOK)
+    public GradebookDto getCourseGradebook(@PathVariable Long id) {
+        return gradebookService.getCourseGradebook(id);
+    }
+
+    @GetMapping(ApiPaths.COURSE_SCORE_DISTRIBUTION)
+    public ScoreDistributionDto getCourseScoreDistribution(@PathVariable Long id) {
+        return scoreDistributionService.getCourseDistribution(id);
+    }
+
+    @GetMapping(ApiPaths.COURSE_LEADERBOARD)
+    public List<LeaderboardEntryDto> getCourseLeaderboard(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return leaderboardService.getTopStudents(id, limit);
+    }
+
+    @GetMapping(ApiPaths.COURSE_LEADERBOARD_ME)
+    public LeaderboardStandingDto getMyLeaderboardStanding(@PathVariable Long id) {
+        return leaderboardService.getMyStanding(id);
+    }
+
+    @GetMapping(ApiPaths.COURSE_ROSTER)
+    public RosterSummaryDto getCourseRoster(@PathVariable Long id) {
+        return rosterService.getRosterSummary(id);
+    }
+
+    @GetMapping(ApiPaths.COURSE_ROSTER_OVERLAP)
+    public RosterOverlapDto getCourseRosterOverlap(@PathVariable Long id, @PathVariable Long otherId) {
+        return rosterService.getRosterOverlap(id, otherId);
+    }
+
     @PutMapping(ApiPaths.COURSE_BY_ID)
     public ResponseEntity<CourseDto> updateCourse(
             @PathVariable Long id,
@@ -0,0 +1,28 @@
+package com.vvelev.learnify.controllers;
+
+import com.vvelev.learnify.constants.ApiPaths;
+import com.vvelev.learnify.dtos.job.JobDto;
+import com.vvelev.learnify.services.JobService;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@AllArgsConstructor
+@RestController
+public class JobController {
+    private final JobService jobService;
+
+    @GetMapping(ApiPaths.JOB_BY_ID)
+    public JobDto getJob(@PathVariable UUID id) {
+        return jobService.getJob(id);
+    }
+
+    @GetMapping(ApiPaths.COURSE_JOBS)
+    public List<JobDto> getCourseJobs(@PathVariable Long id) {
+        return jobService.getCourseJobs(id);
+    }
+}
@@ -1,12 +1,20 @@
 package com.vvelev.learnify.controllers;
 
 import com.vvelev.learnify.constants.ApiPaths;
+import com.vvelev.learnify.dtos.job.JobDto;
 import com.vvelev.learnify.dtos.quiz.CreateQuizDto;
 import com.vvelev.learnify.dtos.quiz.QuizDto;
 import com.vvelev.learnify.dtos.quiz.UpdateQuizDto;
+import com.vvelev.learnify.dtos.roster.RosterStudentDto;
+import com.vvelev.learnify.dtos.statistics.QuestionStatisticsDto;
+import com.vvelev.learnify.dtos.statistics.ScoreDistributionDto;
+import com.vvelev.learnify.services.ItemStatisticsService;
 import com.vvelev.learnify.services.QuizService;
+import com.vvelev.learnify.services.RosterService;
+import com.vvelev.learnify.services.ScoreDistributionService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -18,6 +26,9 @@ import java.util.List;
 @RestController
 public class QuizController {
     private final QuizService quizService;
+    private final ItemStatisticsService itemStatisticsService;
+    private final ScoreDistributionService scoreDistributionService;
+    private final RosterService rosterService;
 
     @PostMapping(ApiPaths.LESSON_QUIZZES)
     public ResponseEntity<QuizDto> createQuiz(
@@ -56,4 +67,25 @@ public class QuizController {
         quizService.deleteQuiz(id);
         return ResponseEntity.noContent().build();
     }
+
+    @GetMapping(ApiPaths.QUIZ_STATISTICS)
+    public List<QuestionStatisticsDto> getQuizStatistics(@PathVariable Long id) {
+        return itemStatisticsService.getQuizStatistics(id);
+    }
+
+    @PostMapping(ApiPaths.QUIZ_STATISTICS_REBUILD)
+    public ResponseEntity<JobDto> rebuildQuizStatistics(@PathVariable Long id) {
+        JobDto jobDto = itemStatisticsService.rebuildQuizStatistics(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(jobDto);
+    }
+
+    @GetMapping(ApiPaths.QUIZ_SCORE_DISTRIBUTION)
+    public ScoreDistributionDto getQuizScoreDistribution(@PathVariable Long id) {
+        return scoreDistributionService.getQuizDistribution(id);
+    }
+
+    @GetMapping(ApiPaths.QUIZ_MISSING_SUBMISSIONS)
+    public List<RosterStudentDto> getStudentsMissingSubmission(@PathVariable Long id) {
+        return rosterService.getStudentsMissingSubmission(id);
+    }
 }
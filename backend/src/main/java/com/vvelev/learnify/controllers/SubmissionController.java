@@ -1,34 +1,90 @@
 package com.vvelev.learnify.controllers;
 
 import com.vvelev.learnify.constants.ApiPaths;
-import com.vvelev.learnify.dtos.submission.SubmissionDetailsDto;
+import com.vvelev.learnify.constants.ExportFormat;
 import com.vvelev.learnify.dtos.submission.SubmissionDto;
+import com.vvelev.learnify.dtos.submission.SubmissionPageDto;
+import com.vvelev.learnify.dtos.submission.SubmissionStatusDto;
 import com.vvelev.learnify.dtos.submissionanswer.SubmissionAnswerDto;
+import com.vvelev.learnify.services.SubmissionExportService;
 import com.vvelev.learnify.services.SubmissionService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 @AllArgsConstructor
 @RestController
 public class SubmissionController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final SubmissionService submissionService;
+    private final SubmissionExportService submissionExportService;
 
     @PostMapping(ApiPaths.QUIZ_SUBMIT)
-    public ResponseEntity<SubmissionDto> submitQuiz(
+    public ResponseEntity<?> submitQuiz(
             @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean async,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody List<SubmissionAnswerDto> answers
     ) {
-        SubmissionDto submissionDto = submissionService.submitQuiz(id, answers);
+        if (async) {
+            SubmissionStatusDto statusDto = submissionService.submitQuizAsync(id, answers, idempotencyKey);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(statusDto);
+        }
+
+        SubmissionDto submissionDto = submissionService.submitQuiz(id, answers, idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED).body(submissionDto);
     }
 
     @GetMapping(ApiPaths.QUIZ_SUBMISSIONS)
-    public List<SubmissionDto> getQuizSubmissions(@PathVariable Long id) {
-        return submissionService.getQuizSubmissions(id);
+    public ResponseEntity<List<SubmissionDto>> getQuizSubmissions(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long studentId,
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(required = false) Double maxScore,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        SubmissionPageDto page = submissionService.getQuizSubmissions(id, studentId, minScore, maxScore, cursor, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+
+        return response.body(page.getItems());
+    }
+
+    @GetMapping(ApiPaths.QUIZ_SUBMISSIONS_EXPORT)
+    public ResponseEntity<StreamingResponseBody> exportQuizSubmissions(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        StreamingResponseBody body = submissionExportService.exportQuizSubmissions(id, exportFormat, gzip);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment()
+                                .filename("quiz-" + id + "-submissions." + exportFormat.getExtension())
+                                .build()
+                                .toString()
+                );
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response.body(body);
     }
 
     @GetMapping(ApiPaths.QUIZ_SUBMISSIONS_ME)
@@ -37,8 +93,15 @@ public class SubmissionController {
     }
 
     @GetMapping(ApiPaths.SUBMISSION_BY_ID)
-    public ResponseEntity<?> getSubmission(@PathVariable Long id) {
-        SubmissionDetailsDto submissionDto = submissionService.getSubmission(id);
-        return ResponseEntity.ok(submissionDto);
+    public ResponseEntity<byte[]> getSubmission(@PathVariable Long id) {
+        byte[] submissionJson = submissionService.getSubmissionJson(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(submissionJson);
+    }
+
+    @GetMapping(ApiPaths.SUBMISSION_STATUS)
+    public SubmissionStatusDto getSubmissionStatus(@PathVariable Long id) {
+        return submissionService.getSubmissionStatus(id);
     }
 }
@@ -0,0 +1,15 @@
+package com.vvelev.learnify.dtos.gradebook;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter
+@AllArgsConstructor
+public class GradebookDto {
+    private Long courseId;
+    private List<GradebookQuizDto> quizzes;
+    private List<GradebookStudentDto> students;
+}
@@ -0,0 +1,13 @@
+package com.vvelev.learnify.dtos.gradebook;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+@AllArgsConstructor
+public class GradebookQuizDto {
+    private Long id;
+    private String title;
+    private Long lessonId;
+}
@@ -0,0 +1,15 @@
+package com.vvelev.learnify.dtos.gradebook;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+@AllArgsConstructor
+public class GradebookStudentDto {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private Double[] bestScores;
+    private Double[] latestScores;
+}
@@ -0,0 +1,26 @@
+package com.vvelev.learnify.dtos.job;
+
+import com.vvelev.learnify.jobs.JobStatus;
+import com.vvelev.learnify.jobs.JobType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter @Setter
+@AllArgsConstructor
+public class JobDto {
+    private UUID id;
+    private JobType type;
+    private JobStatus status;
+    private Long courseId;
+    private Long quizId;
+    private long totalItems;
+    private long processedItems;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
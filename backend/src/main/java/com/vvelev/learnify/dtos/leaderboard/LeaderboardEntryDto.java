@@ -0,0 +1,15 @@
+package com.vvelev.learnify.dtos.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+@AllArgsConstructor
+public class LeaderboardEntryDto {
+    private int rank;
+    private Long studentId;
+    private String firstName;
+    private String lastName;
+    private double averageScore;
+}
@@ -0,0 +1,13 @@
+package com.vvelev.learnify.dtos.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+@AllArgsConstructor
+public class LeaderboardStandingDto {
+    private int rank;
+    private int studentCount;
+    private double averageScore;
+}
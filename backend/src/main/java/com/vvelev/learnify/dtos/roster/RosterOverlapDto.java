@@ -0,0 +1,15 @@
+package com.vvelev.learnify.dtos.roster;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+@AllArgsConstructor
+public class RosterOverlapDto {
+    private Long courseId;
+    private Long otherCourseId;
+    private int studentCount;
+    private int otherStudentCount;
+    private int sharedStudentCount;
+}
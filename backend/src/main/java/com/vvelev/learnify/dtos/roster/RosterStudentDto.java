@@ -0,0 +1,13 @@
+package com.vvelev.learnify.dtos.roster;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+@AllArgsConstructor
+public class RosterStudentDto {
+    private Long id;
+    private String firstName;
+    private String lastName;
+}
@@ -0,0 +1,12 @@
+package com.vvelev.learnify.dtos.roster;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+@AllArgsConstructor
+public class RosterSummaryDto {
+    private Long courseId;
+    private int studentCount;
+}
@@ -0,0 +1,15 @@
+package com.vvelev.learnify.dtos.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+@AllArgsConstructor
+public class AnswerChoiceStatisticsDto {
+    private Long answerId;
+    private String text;
+    private boolean correct;
+    private long pickCount;
+    private Double pickPercent;
+}
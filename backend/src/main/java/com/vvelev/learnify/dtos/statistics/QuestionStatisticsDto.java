@@ -0,0 +1,18 @@
+package com.vvelev.learnify.dtos.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter
+@AllArgsConstructor
+public class QuestionStatisticsDto {
+    private Long questionId;
+    private String text;
+    private long responseCount;
+    private Double percentCorrect;
+    private Double pointBiserial;
+    private List<AnswerChoiceStatisticsDto> choices;
+}
@@ -0,0 +1,13 @@
+package com.vvelev.learnify.dtos.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+@AllArgsConstructor
+public class ScoreBucketDto {
+    private int minScore;
+    private int maxScore;
+    private long submissionCount;
+}
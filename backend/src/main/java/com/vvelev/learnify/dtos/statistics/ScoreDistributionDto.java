@@ -0,0 +1,18 @@
+package com.vvelev.learnify.dtos.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter
+@AllArgsConstructor
+public class ScoreDistributionDto {
+    private long submissionCount;
+    private Double p10;
+    private Double p50;
+    private Double p90;
+    private Double percentileRank;
+    private List<ScoreBucketDto> buckets;
+}
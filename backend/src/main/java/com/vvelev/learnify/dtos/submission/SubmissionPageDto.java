@@ -0,0 +1,14 @@
+package com.vvelev.learnify.dtos.submission;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter
+@AllArgsConstructor
+public class SubmissionPageDto {
+    private List<SubmissionDto> items;
+    private String nextCursor;
+}
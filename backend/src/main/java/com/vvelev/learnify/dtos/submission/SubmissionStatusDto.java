@@ -0,0 +1,14 @@
+package com.vvelev.learnify.dtos.submission;
+
+import com.vvelev.learnify.entities.SubmissionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+@AllArgsConstructor
+public class SubmissionStatusDto {
+    private Long id;
+    private SubmissionStatus status;
+    private Double score;
+}
@@ -0,0 +1,25 @@
+package com.vvelev.learnify.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "answer_statistics")
+public class AnswerStatistics {
+    @Id
+    @Column(name = "answer_id")
+    private Long answerId;
+
+    @Column(name = "pick_count")
+    private long pickCount;
+}
@@ -0,0 +1,37 @@
+package com.vvelev.learnify.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "question_statistics")
+public class QuestionStatistics {
+    @Id
+    @Column(name = "question_id")
+    private Long questionId;
+
+    @Column(name = "response_count")
+    private long responseCount;
+
+    @Column(name = "correct_count")
+    private long correctCount;
+
+    @Column(name = "score_sum")
+    private double scoreSum;
+
+    @Column(name = "score_square_sum")
+    private double scoreSquareSum;
+
+    @Column(name = "correct_score_sum")
+    private double correctScoreSum;
+}
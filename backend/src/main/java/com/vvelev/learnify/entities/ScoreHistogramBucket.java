@@ -0,0 +1,24 @@
+package com.vvelev.learnify.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "score_histograms")
+public class ScoreHistogramBucket {
+    @EmbeddedId
+    private ScoreHistogramBucketId id;
+
+    @Column(name = "submission_count")
+    private long submissionCount;
+}
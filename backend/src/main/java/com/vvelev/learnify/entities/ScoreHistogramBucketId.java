@@ -0,0 +1,38 @@
+package com.vvelev.learnify.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Objects;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class ScoreHistogramBucketId {
+    @Column(name = "quiz_id")
+    private Long quizId;
+
+    @Column(name = "bucket")
+    private Integer bucket;
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ScoreHistogramBucketId that = (ScoreHistogramBucketId) o;
+        return Objects.equals(quizId, that.quizId) && Objects.equals(bucket, that.bucket);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(quizId, bucket);
+    }
+}
@@ -27,6 +27,15 @@ public class StudentProgression {
     @Column(name = "average_score")
     private Double averageScore;
 
+    @Column(name = "score_sum")
+    private Double scoreSum;
+
+    @Column(name = "submission_count")
+    private Integer submissionCount;
+
+    @Column(name = "quizzes_attempted")
+    private Integer quizzesAttempted;
+
     @ManyToOne
     @JoinColumn(name = "student_id")
     private User student;
@@ -26,6 +26,19 @@ public class Submission {
     @Column(name = "score")
     private Double score;
 
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    private SubmissionStatus status;
+
+    @Column(name = "pending_answers")
+    private String pendingAnswers;
+
+    @Column(name = "idempotency_key", updatable = false)
+    private String idempotencyKey;
+
+    @Column(name = "answer_vector")
+    private byte[] answerVector;
+
     @CreationTimestamp
     @Column(name = "submitted_at", updatable = false)
     private LocalDateTime submittedAt;
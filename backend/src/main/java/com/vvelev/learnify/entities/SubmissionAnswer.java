@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 @Getter
 @Setter
@@ -12,7 +13,7 @@ import lombok.Setter;
 @AllArgsConstructor
 @Entity
 @Table(name = "submission_answers")
-public class SubmissionAnswer {
+public class SubmissionAnswer implements Persistable<SubmissionAnswerId> {
     @EmbeddedId
     private SubmissionAnswerId id;
 
@@ -29,4 +30,21 @@ public class SubmissionAnswer {
     @ManyToOne
     @JoinColumn(name = "answer_id")
     private Answer answer;
+
+    @Column(name = "student_id", updatable = false)
+    private Long studentId;
+
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    private void markPersisted() {
+        persisted = true;
+    }
 }
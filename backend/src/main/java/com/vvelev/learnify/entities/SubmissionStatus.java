@@ -0,0 +1,7 @@
+package com.vvelev.learnify.entities;
+
+public enum SubmissionStatus {
+    PENDING,
+    GRADED,
+    FAILED
+}
@@ -0,0 +1,10 @@
+package com.vvelev.learnify.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SubmissionReceivedEvent {
+    private final Long submissionId;
+}
@@ -0,0 +1,7 @@
+package com.vvelev.learnify.exceptions;
+
+public class AnswerInUseException extends RuntimeException {
+    public AnswerInUseException() {
+        super("An answer that students have already chosen cannot be deleted; mark it as incorrect instead");
+    }
+}
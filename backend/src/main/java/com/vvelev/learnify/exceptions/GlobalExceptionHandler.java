@@ -112,6 +112,65 @@ public class GlobalExceptionHandler {
         return ResponseEntity.notFound().build();
     }
 
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<Void> handleJobNotFoundException() {
+        return ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyReusedException(
+            IdempotencyKeyReusedException exception
+    ) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(
+                Map.of("error", exception.getMessage())
+        );
+    }
+
+    @ExceptionHandler(AnswerInUseException.class)
+    public ResponseEntity<Map<String, String>> handleAnswerInUseException(
+            AnswerInUseException exception
+    ) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                Map.of("error", exception.getMessage())
+        );
+    }
+
+    @ExceptionHandler(SubmissionInProgressException.class)
+    public ResponseEntity<Map<String, String>> handleSubmissionInProgressException(
+            SubmissionInProgressException exception
+    ) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                Map.of("error", exception.getMessage())
+        );
+    }
+
+    @ExceptionHandler(GradingQueueFullException.class)
+    public ResponseEntity<Map<String, String>> handleGradingQueueFullException(
+            GradingQueueFullException exception
+    ) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(
+                Map.of("error", exception.getMessage())
+        );
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursorException(
+            InvalidCursorException exception
+    ) {
+        return ResponseEntity.badRequest().body(
+                Map.of("error", exception.getMessage())
+        );
+    }
+
+    @ExceptionHandler(UnsupportedExportFormatException.class)
+    public ResponseEntity<Map<String, String>> handleUnsupportedExportFormatException(
+            UnsupportedExportFormatException exception
+    ) {
+        return ResponseEntity.badRequest().body(
+                Map.of("error", exception.getMessage())
+        );
+    }
+
     @ExceptionHandler(UnansweredQuestionsException.class)
     public ResponseEntity<Map<String, String>> handleUnansweredQuestionsException(
             UnansweredQuestionsException exception
@@ -0,0 +1,7 @@
+package com.vvelev.learnify.exceptions;
+
+public class GradingQueueFullException extends RuntimeException {
+    public GradingQueueFullException() {
+        super("Too many submissions are waiting to be graded, please retry shortly");
+    }
+}
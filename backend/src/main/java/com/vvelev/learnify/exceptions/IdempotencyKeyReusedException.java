@@ -0,0 +1,7 @@
+package com.vvelev.learnify.exceptions;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException() {
+        super("Idempotency key was already used for a different quiz");
+    }
+}
@@ -0,0 +1,7 @@
+package com.vvelev.learnify.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException() {
+        super("Invalid pagination cursor");
+    }
+}
@@ -0,0 +1,5 @@
+package com.vvelev.learnify.exceptions;
+
+public class JobNotFoundException extends RuntimeException {
+    public JobNotFoundException() {}
+}
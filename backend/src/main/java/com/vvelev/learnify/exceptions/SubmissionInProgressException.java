@@ -0,0 +1,7 @@
+package com.vvelev.learnify.exceptions;
+
+public class SubmissionInProgressException extends RuntimeException {
+    public SubmissionInProgressException() {
+        super("A submission for this quiz is already being processed");
+    }
+}
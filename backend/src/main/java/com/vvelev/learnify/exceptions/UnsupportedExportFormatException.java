@@ -0,0 +1,7 @@
+package com.vvelev.learnify.exceptions;
+
+public class UnsupportedExportFormatException extends RuntimeException {
+    public UnsupportedExportFormatException() {
+        super("Export format must be csv or ndjson");
+    }
+}
@@ -1,7 +1,9 @@
 package com.vvelev.learnify.filters;
 
+import com.vvelev.learnify.caches.ActiveUserCache;
 import com.vvelev.learnify.services.Jwt;
 import com.vvelev.learnify.services.JwtService;
+import com.vvelev.learnify.utils.AuthenticatedUser;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,6 +23,7 @@ import java.util.List;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
+    private final ActiveUserCache activeUserCache;
 
     @Override
     protected void doFilterInternal(
@@ -34,13 +37,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = authHeader.replace("Bearer ", "");
         Jwt jwt = jwtService.parseToken(token);
-        if (jwt == null || jwt.isExpired()) {
+        if (jwt == null || jwt.isExpired() || !activeUserCache.isActive(jwt.getId())) {
             filterChain.doFilter(request, response);
             return;
         }
 
+        AuthenticatedUser principal = new AuthenticatedUser(jwt.getId(), jwt.getRole());
+
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                jwt.getId(),
+                principal,
                 null,
                 List.of(new SimpleGrantedAuthority("ROLE_" + jwt.getRole()))
         );
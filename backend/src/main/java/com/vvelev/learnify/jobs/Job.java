@@ -0,0 +1,56 @@
+package com.vvelev.learnify.jobs;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class Job {
+    private final UUID id;
+    private final JobType type;
+    private final Long courseId;
+    private final Long quizId;
+    private final LocalDateTime createdAt;
+    private volatile JobStatus status;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long totalItems;
+    private final AtomicLong processedItems = new AtomicLong();
+    private volatile String error;
+
+    public Job(JobType type, Long courseId, Long quizId) {
+        this.id = UUID.randomUUID();
+        this.type = type;
+        this.courseId = courseId;
+        this.quizId = quizId;
+        this.createdAt = LocalDateTime.now();
+        this.status = JobStatus.QUEUED;
+    }
+
+    public long getProcessedItems() {
+        return processedItems.get();
+    }
+
+    public void start(long totalItems) {
+        this.totalItems = totalItems;
+        this.startedAt = LocalDateTime.now();
+        this.status = JobStatus.RUNNING;
+    }
+
+    public void advance(long items) {
+        processedItems.addAndGet(items);
+    }
+
+    public void complete() {
+        this.finishedAt = LocalDateTime.now();
+        this.status = JobStatus.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.status = JobStatus.FAILED;
+    }
+}
@@ -0,0 +1,87 @@
+package com.vvelev.learnify.jobs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vvelev.learnify.config.AsyncConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+public class JobRegistry {
+    private final Executor executor;
+    private final Cache<UUID, Job> jobs;
+
+    public JobRegistry(
+            @Qualifier(AsyncConfig.BACKGROUND_JOB_EXECUTOR) Executor executor,
+            @Value("${JOB_RETENTION_HOURS:24}") long retentionHours
+    ) {
+        this.executor = executor;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofHours(retentionHours))
+                .maximumSize(10_000)
+                .build();
+    }
+
+    public synchronized Job enqueue(JobType type, Long courseId, Long quizId, Consumer<Job> task) {
+        Optional<Job> queued = jobs
+                .asMap()
+                .values()
+                .stream()
+                .filter(job -> job.getType() == type && job.getCourseId().equals(courseId))
+                .filter(job -> Objects.equals(job.getQuizId(), quizId))
+                .filter(job -> job.getStatus() == JobStatus.QUEUED)
+                .findFirst();
+
+        if (queued.isPresent()) {
+            return queued.get();
+        }
+
+        Job job = new Job(type, courseId, quizId);
+        jobs.put(job.getId(), job);
+
+        try {
+            executor.execute(() -> run(job, task));
+        } catch (TaskRejectedException exception) {
+            job.fail("Job queue is full");
+        }
+
+        return job;
+    }
+
+    public Optional<Job> find(UUID id) {
+        return Optional.ofNullable(jobs.getIfPresent(id));
+    }
+
+    public List<Job> findByCourseId(Long courseId) {
+        return jobs
+                .asMap()
+                .values()
+                .stream()
+                .filter(job -> job.getCourseId().equals(courseId))
+                .sorted(Comparator.comparing(Job::getCreatedAt).reversed())
+                .toList();
+    }
+
+    private void run(Job job, Consumer<Job> task) {
+        try {
+            task.accept(job);
+            job.complete();
+        } catch (RuntimeException exception) {
+            log.error("Job {} ({}) for course {} failed", job.getId(), job.getType(), job.getCourseId(), exception);
+            job.fail(exception.getMessage());
+        }
+    }
+}
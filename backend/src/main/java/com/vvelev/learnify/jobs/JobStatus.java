@@ -0,0 +1,8 @@
+package com.vvelev.learnify.jobs;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.vvelev.learnify.jobs;
+
+public enum JobType {
+    PROGRESSION_RECOMPUTE,
+    QUIZ_RESCORE,
+    ITEM_STATISTICS_REBUILD
+}
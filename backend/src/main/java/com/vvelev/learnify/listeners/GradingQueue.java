@@ -0,0 +1,19 @@
+package com.vvelev.learnify.listeners;
+
+import com.vvelev.learnify.config.AsyncConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+@Component
+public class GradingQueue {
+    private final ThreadPoolTaskExecutor executor;
+
+    public GradingQueue(@Qualifier(AsyncConfig.SUBMISSION_GRADING_EXECUTOR) ThreadPoolTaskExecutor executor) {
+        this.executor = executor;
+    }
+
+    public boolean hasCapacity() {
+        return executor.getThreadPoolExecutor().getQueue().remainingCapacity() > 0;
+    }
+}
@@ -0,0 +1,77 @@
+package com.vvelev.learnify.listeners;
+
+import com.vvelev.learnify.config.AsyncConfig;
+import com.vvelev.learnify.entities.SubmissionStatus;
+import com.vvelev.learnify.events.SubmissionReceivedEvent;
+import com.vvelev.learnify.repositories.SubmissionRepository;
+import com.vvelev.learnify.services.SubmissionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+public class SubmissionGradingListener {
+    private final SubmissionService submissionService;
+    private final SubmissionRepository submissionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long stalePendingSeconds;
+
+    public SubmissionGradingListener(
+            SubmissionService submissionService,
+            SubmissionRepository submissionRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${SUBMISSION_PENDING_STALE_SECONDS:120}") long stalePendingSeconds
+    ) {
+        this.submissionService = submissionService;
+        this.submissionRepository = submissionRepository;
+        this.eventPublisher = eventPublisher;
+        this.stalePendingSeconds = stalePendingSeconds;
+    }
+
+    @Async(AsyncConfig.SUBMISSION_GRADING_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubmissionReceived(SubmissionReceivedEvent event) {
+        Long submissionId = event.getSubmissionId();
+
+        try {
+            submissionService.gradePendingSubmission(submissionId);
+        } catch (RuntimeException exception) {
+            log.error("Grading of submission {} failed", submissionId, exception);
+            submissionService.markSubmissionFailed(submissionId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingSubmissions() {
+        requeuePendingSubmissions(LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${SUBMISSION_PENDING_REAPER_INTERVAL_MS:60000}")
+    public void requeueStalePendingSubmissions() {
+        requeuePendingSubmissions(LocalDateTime.now().minusSeconds(stalePendingSeconds));
+    }
+
+    private void requeuePendingSubmissions(LocalDateTime submittedBefore) {
+        List<Long> ids = submissionRepository.findIdsByStatusAndSubmittedAtBefore(SubmissionStatus.PENDING, submittedBefore);
+
+        for (Long id : ids) {
+            try {
+                eventPublisher.publishEvent(new SubmissionReceivedEvent(id));
+            } catch (TaskRejectedException exception) {
+                log.warn("Grading queue is full, deferring {} pending submissions to the next sweep", ids.size());
+                return;
+            }
+        }
+    }
+}
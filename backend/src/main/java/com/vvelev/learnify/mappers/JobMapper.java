@@ -0,0 +1,10 @@
+package com.vvelev.learnify.mappers;
+
+import com.vvelev.learnify.dtos.job.JobDto;
+import com.vvelev.learnify.jobs.Job;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface JobMapper {
+    JobDto toDto(Job job);
+}
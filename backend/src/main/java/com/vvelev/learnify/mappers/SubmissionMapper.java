@@ -2,15 +2,17 @@ package com.vvelev.learnify.mappers;
 
 import com.vvelev.learnify.dtos.submission.SubmissionDetailsDto;
 import com.vvelev.learnify.dtos.submission.SubmissionDto;
+import com.vvelev.learnify.dtos.submission.SubmissionStatusDto;
 import com.vvelev.learnify.dtos.submissionanswer.SubmissionAnswerDetailsDto;
-import com.vvelev.learnify.entities.Answer;
 import com.vvelev.learnify.entities.Submission;
-import com.vvelev.learnify.entities.SubmissionAnswer;
+import com.vvelev.learnify.repositories.projections.SubmissionAnswerDetailsRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Mapper(componentModel = "spring")
 public interface SubmissionMapper {
@@ -20,34 +22,40 @@ public interface SubmissionMapper {
     @Mapping(target = "studentLastName", source = "student.lastName")
     SubmissionDto toDto(Submission submission);
 
-    @Mapping(target = "quizId", source = "quiz.id")
-    @Mapping(target = "studentId", source = "student.id")
-    @Mapping(target = "answers", source = "submissionAnswers")
-    SubmissionDetailsDto toDetailsDto(Submission submission);
+    @Mapping(target = "id", source = "submission.id")
+    @Mapping(target = "score", source = "submission.score")
+    @Mapping(target = "submittedAt", source = "submission.submittedAt")
+    @Mapping(target = "quizId", source = "submission.quiz.id")
+    @Mapping(target = "studentId", source = "submission.student.id")
+    @Mapping(target = "answers", source = "answers")
+    SubmissionDetailsDto toDetailsDto(Submission submission, List<SubmissionAnswerDetailsRow> answers);
 
-    default SubmissionAnswerDetailsDto toAnswerDetailsDto(SubmissionAnswer sa) {
-        Answer correctAnswer = sa.getQuestion().getAnswers().stream()
-                .filter(Answer::isCorrect)
-                .findFirst()
-                .orElse(null);
+    SubmissionStatusDto toStatusDto(Submission submission);
 
+    default SubmissionAnswerDetailsDto toAnswerDetailsDto(SubmissionAnswerDetailsRow row) {
         return new SubmissionAnswerDetailsDto(
-                sa.getQuestion().getId(),
-                sa.getQuestion().getText(),
-                sa.getAnswer().getId(),
-                sa.getAnswer().getText(),
-                sa.getAnswer().isCorrect(),
-                correctAnswer != null ? correctAnswer.getId() : null,
-                correctAnswer != null ? correctAnswer.getText() : "Correct answer not found"
+                row.getQuestionId(),
+                row.getQuestionText(),
+                row.getChosenAnswerId(),
+                row.getChosenAnswerText(),
+                Boolean.TRUE.equals(row.getChosenCorrect()),
+                row.getCorrectAnswerId(),
+                row.getCorrectAnswerId() != null ? row.getCorrectAnswerText() : "Correct answer not found"
         );
     }
 
     default List<SubmissionAnswerDetailsDto> mapSubmissionAnswers(
-            List<SubmissionAnswer> answers
+            List<SubmissionAnswerDetailsRow> rows
     ) {
-        return answers.stream()
-                .map(this::toAnswerDetailsDto)
+        Map<Long, SubmissionAnswerDetailsDto> answersByQuestion = new LinkedHashMap<>();
+
+        for (SubmissionAnswerDetailsRow row : rows) {
+            answersByQuestion.putIfAbsent(row.getQuestionId(), toAnswerDetailsDto(row));
+        }
+
+        return answersByQuestion.values()
+                .stream()
                 .sorted(Comparator.comparing(SubmissionAnswerDetailsDto::getQuestionId))
                 .toList();
     }
-}
\ No newline at end of file
+}
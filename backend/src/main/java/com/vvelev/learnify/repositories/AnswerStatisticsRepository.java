@@ -0,0 +1,64 @@
+package com.vvelev.learnify.repositories;
+
+import com.vvelev.learnify.entities.AnswerStatistics;
+import com.vvelev.learnify.repositories.projections.AnswerChoiceRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AnswerStatisticsRepository extends JpaRepository<AnswerStatistics, Long> {
+    @Query(value = """
+        SELECT a.id AS answerId,
+               a.question_id AS questionId,
+               a.text AS text,
+               a.is_correct AS correct,
+               COALESCE(ans.pick_count, 0) AS pickCount
+        FROM answers a
+        JOIN questions q ON q.id = a.question_id
+        LEFT JOIN answer_statistics ans ON ans.answer_id = a.id
+        WHERE q.quiz_id = :quizId
+        ORDER BY a.question_id, a.id
+    """, nativeQuery = true)
+    List<AnswerChoiceRow> findChoicesByQuizId(Long quizId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO answer_statistics AS ans (answer_id, pick_count)
+        SELECT sa.answer_id, 1
+        FROM submission_choices sa
+        WHERE sa.submission_id = :submissionId
+        AND sa.answer_id IS NOT NULL
+        ON CONFLICT (answer_id) DO UPDATE SET
+            pick_count = ans.pick_count + EXCLUDED.pick_count
+    """, nativeQuery = true)
+    int recordSubmission(Long submissionId);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM answer_statistics
+        WHERE answer_id IN (
+            SELECT a.id
+            FROM answers a
+            JOIN questions q ON q.id = a.question_id
+            WHERE q.quiz_id = :quizId
+        )
+    """, nativeQuery = true)
+    int deleteByQuizId(Long quizId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO answer_statistics (answer_id, pick_count)
+        SELECT sa.answer_id, COUNT(*)
+        FROM submissions s
+        JOIN submission_choices sa ON sa.submission_id = s.id AND sa.student_id = s.student_id
+        WHERE s.quiz_id = :quizId
+        AND s.status = 'GRADED'
+        AND sa.answer_id IS NOT NULL
+        GROUP BY sa.answer_id
+    """, nativeQuery = true)
+    int rebuildByQuizId(Long quizId);
+}
@@ -2,11 +2,16 @@ package com.vvelev.learnify.repositories;
 
 import com.vvelev.learnify.entities.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByCreatedById(Long id);
+
+    @Query("SELECT c.createdBy.id FROM Course c WHERE c.id = :courseId")
+    Optional<Long> findCreatorIdById(Long courseId);
 }
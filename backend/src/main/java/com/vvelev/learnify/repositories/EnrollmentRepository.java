@@ -2,9 +2,13 @@ package com.vvelev.learnify.repositories;
 
 import com.vvelev.learnify.entities.Enrollment;
 import com.vvelev.learnify.entities.EnrollmentId;
+import com.vvelev.learnify.repositories.projections.GradebookStudentRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -12,4 +16,24 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Enrollme
     List<Enrollment> findByIdStudentId(Long studentId);
     List<Enrollment> findByIdCourseId(Long studentId);
     void deleteByIdStudentIdAndIdCourseId(Long studentId, Long courseId);
+
+    @Query("SELECT e.id.studentId FROM Enrollment e WHERE e.id.courseId = :courseId")
+    List<Long> findStudentIdsByCourseId(Long courseId);
+
+    @Query("""
+        SELECT u.id AS id, u.firstName AS firstName, u.lastName AS lastName
+        FROM Enrollment e
+        JOIN e.student u
+        WHERE e.id.courseId = :courseId
+        ORDER BY u.lastName, u.firstName, u.id
+    """)
+    List<GradebookStudentRow> findGradebookStudentsByCourseId(Long courseId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO enrollments (student_id, course_id, enrolled_at)
+        VALUES (:studentId, :courseId, :enrolledAt)
+        ON CONFLICT (student_id, course_id) DO NOTHING
+    """, nativeQuery = true)
+    int insertIfAbsent(Long studentId, Long courseId, LocalDateTime enrolledAt);
 }
@@ -1,7 +1,9 @@
 package com.vvelev.learnify.repositories;
 
 import com.vvelev.learnify.entities.Question;
+import com.vvelev.learnify.repositories.projections.AnswerKeyEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +12,12 @@ import java.util.List;
 public interface QuestionRepository extends JpaRepository<Question, Long> {
     List<Question> findByQuizIdOrderById(Long quizId);
     long countByQuizId(Long quizId);
+
+    @Query("""
+        SELECT q.id AS questionId, a.id AS answerId, a.isCorrect AS correct
+        FROM Question q
+        LEFT JOIN q.answers a
+        WHERE q.quiz.id = :quizId
+    """)
+    List<AnswerKeyEntry> findAnswerKeyByQuizId(Long quizId);
 }
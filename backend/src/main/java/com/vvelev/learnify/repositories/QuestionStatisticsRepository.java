@@ -0,0 +1,79 @@
+package com.vvelev.learnify.repositories;
+
+import com.vvelev.learnify.entities.QuestionStatistics;
+import com.vvelev.learnify.repositories.projections.QuestionStatisticsRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QuestionStatisticsRepository extends JpaRepository<QuestionStatistics, Long> {
+    @Query(value = """
+        SELECT q.id AS questionId,
+               q.text AS text,
+               COALESCE(qs.response_count, 0) AS responseCount,
+               COALESCE(qs.correct_count, 0) AS correctCount,
+               COALESCE(qs.score_sum, 0) AS scoreSum,
+               COALESCE(qs.score_square_sum, 0) AS scoreSquareSum,
+               COALESCE(qs.correct_score_sum, 0) AS correctScoreSum
+        FROM questions q
+        LEFT JOIN question_statistics qs ON qs.question_id = q.id
+        WHERE q.quiz_id = :quizId
+        ORDER BY q.id
+    """, nativeQuery = true)
+    List<QuestionStatisticsRow> findRowsByQuizId(Long quizId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO question_statistics AS qs (
+            question_id, response_count, correct_count, score_sum, score_square_sum, correct_score_sum
+        )
+        SELECT sa.question_id,
+               1,
+               CASE WHEN a.is_correct THEN 1 ELSE 0 END,
+               s.score,
+               s.score * s.score,
+               CASE WHEN a.is_correct THEN s.score ELSE 0 END
+        FROM submission_choices sa
+        JOIN submissions s ON s.id = sa.submission_id AND s.student_id = sa.student_id
+        LEFT JOIN answers a ON a.id = sa.answer_id
+        WHERE sa.submission_id = :submissionId
+        ON CONFLICT (question_id) DO UPDATE SET
+            response_count = qs.response_count + EXCLUDED.response_count,
+            correct_count = qs.correct_count + EXCLUDED.correct_count,
+            score_sum = qs.score_sum + EXCLUDED.score_sum,
+            score_square_sum = qs.score_square_sum + EXCLUDED.score_square_sum,
+            correct_score_sum = qs.correct_score_sum + EXCLUDED.correct_score_sum
+    """, nativeQuery = true)
+    int recordSubmission(Long submissionId);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM question_statistics
+        WHERE question_id IN (SELECT q.id FROM questions q WHERE q.quiz_id = :quizId)
+    """, nativeQuery = true)
+    int deleteByQuizId(Long quizId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO question_statistics (
+            question_id, response_count, correct_count, score_sum, score_square_sum, correct_score_sum
+        )
+        SELECT sa.question_id,
+               COUNT(*),
+               COUNT(*) FILTER (WHERE a.is_correct),
+               COALESCE(SUM(s.score), 0),
+               COALESCE(SUM(s.score * s.score), 0),
+               COALESCE(SUM(s.score) FILTER (WHERE a.is_correct), 0)
+        FROM submissions s
+        JOIN submission_choices sa ON sa.submission_id = s.id AND sa.student_id = s.student_id
+        LEFT JOIN answers a ON a.id = sa.answer_id
+        WHERE s.quiz_id = :quizId
+        AND s.status = 'GRADED'
+        GROUP BY sa.question_id
+    """, nativeQuery = true)
+    int rebuildByQuizId(Long quizId);
+}
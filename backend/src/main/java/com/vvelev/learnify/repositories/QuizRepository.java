@@ -1,7 +1,9 @@
 package com.vvelev.learnify.repositories;
 
 import com.vvelev.learnify.entities.Quiz;
+import com.vvelev.learnify.repositories.projections.GradebookQuizRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +12,12 @@ import java.util.List;
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
     List<Quiz> findByLessonIdOrderById(Long lessonId);
     long countByLessonCourseId(Long courseId);
+
+    @Query("""
+        SELECT q.id AS id, q.title AS title, q.lesson.id AS lessonId
+        FROM Quiz q
+        WHERE q.lesson.course.id = :courseId
+        ORDER BY q.lesson.id, q.id
+    """)
+    List<GradebookQuizRow> findGradebookQuizzesByCourseId(Long courseId);
 }
@@ -0,0 +1,60 @@
+package com.vvelev.learnify.repositories;
+
+import com.vvelev.learnify.entities.ScoreHistogramBucket;
+import com.vvelev.learnify.entities.ScoreHistogramBucketId;
+import com.vvelev.learnify.repositories.projections.ScoreBucketRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ScoreHistogramRepository extends JpaRepository<ScoreHistogramBucket, ScoreHistogramBucketId> {
+    @Query(value = """
+        SELECT sh.bucket AS bucket,
+               sh.submission_count AS submissionCount
+        FROM score_histograms sh
+        WHERE sh.quiz_id = :quizId
+    """, nativeQuery = true)
+    List<ScoreBucketRow> findBucketsByQuizId(Long quizId);
+
+    @Query(value = """
+        SELECT sh.bucket AS bucket,
+               SUM(sh.submission_count) AS submissionCount
+        FROM score_histograms sh
+        JOIN quizzes q ON q.id = sh.quiz_id
+        JOIN lessons l ON l.id = q.lesson_id
+        WHERE l.course_id = :courseId
+        GROUP BY sh.bucket
+    """, nativeQuery = true)
+    List<ScoreBucketRow> findBucketsByCourseId(Long courseId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO score_histograms AS sh (quiz_id, bucket, submission_count)
+        VALUES (:quizId, :bucket, :count)
+        ON CONFLICT (quiz_id, bucket) DO UPDATE SET
+            submission_count = sh.submission_count + EXCLUDED.submission_count
+    """, nativeQuery = true)
+    int addToBucket(Long quizId, int bucket, long count);
+
+    @Modifying
+    @Query(value = "DELETE FROM score_histograms WHERE quiz_id = :quizId", nativeQuery = true)
+    int deleteByQuizId(Long quizId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO score_histograms (quiz_id, bucket, submission_count)
+        SELECT s.quiz_id,
+               LEAST(GREATEST(FLOOR(s.score), 0), 100),
+               COUNT(*)
+        FROM submissions s
+        WHERE s.quiz_id = :quizId
+        AND s.status = 'GRADED'
+        AND s.score IS NOT NULL
+        GROUP BY s.quiz_id, LEAST(GREATEST(FLOOR(s.score), 0), 100)
+    """, nativeQuery = true)
+    int rebuildByQuizId(Long quizId);
+}
@@ -1,9 +1,17 @@
 package com.vvelev.learnify.repositories;
 
 import com.vvelev.learnify.entities.StudentProgression;
+import com.vvelev.learnify.repositories.projections.LeaderboardRow;
+import com.vvelev.learnify.repositories.projections.ProgressionKeyRow;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +21,259 @@ public interface StudentProgressionRepository extends JpaRepository<StudentProgr
     List<StudentProgression> findByCourseId(Long courseId);
     List<StudentProgression> findByStudentId(Long studentId);
     void deleteByStudentIdAndCourseId(Long studentId, Long courseId);
+    long countByCourseId(Long courseId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM StudentProgression p WHERE p.student.id = :studentId AND p.course.id = :courseId")
+    Optional<StudentProgression> findByStudentIdAndCourseIdForUpdate(Long studentId, Long courseId);
+
+    @Query("""
+        SELECT p.id
+        FROM StudentProgression p
+        WHERE p.course.id = :courseId
+        AND p.id > :afterId
+        ORDER BY p.id
+    """)
+    List<Long> findIdsByCourseIdAfter(Long courseId, Long afterId, Limit limit);
+
+    @Query("""
+        SELECT p.id
+        FROM StudentProgression p
+        WHERE p.course.id = :courseId
+        AND p.student.id IN :studentIds
+    """)
+    List<Long> findIdsByCourseIdAndStudentIdIn(Long courseId, Collection<Long> studentIds);
+
+    @Query("""
+        SELECT p.course.id AS courseId, p.student.id AS studentId, p.averageScore AS averageScore
+        FROM StudentProgression p
+    """)
+    List<LeaderboardRow> findLeaderboardRows();
+
+    @Query("""
+        SELECT p.course.id AS courseId, p.student.id AS studentId, p.averageScore AS averageScore
+        FROM StudentProgression p
+        WHERE p.course.id = :courseId
+    """)
+    List<LeaderboardRow> findLeaderboardRowsByCourseId(Long courseId);
+
+    @Query("""
+        SELECT p.course.id AS courseId, p.student.id AS studentId, p.averageScore AS averageScore
+        FROM StudentProgression p
+        WHERE p.course.id = :courseId
+        AND p.student.id IN :studentIds
+    """)
+    List<LeaderboardRow> findLeaderboardRowsByCourseIdAndStudentIdIn(Long courseId, Collection<Long> studentIds);
+
+    // Same order as drainProgressionDeltas, so a recompute and a drain never deadlock on these rows.
+    @Query(value = """
+        SELECT CAST(id AS bigint)
+        FROM student_progressions
+        WHERE id IN (:ids)
+        ORDER BY student_id, course_id
+        FOR UPDATE
+    """, nativeQuery = true)
+    List<Long> lockByIdIn(List<Long> ids);
+
+    // Submissions that still have a queued delta are left to the drain, which adds them on top of this total.
+    // quizzes_attempted uses the same filter as restoreAttemptedQuizzesByIdIn, so it matches the attempted_quizzes rows.
+    @Modifying
+    @Query(value = """
+        UPDATE student_progressions sp
+        SET score_sum = totals.score_sum,
+            submission_count = totals.submission_count,
+            quizzes_attempted = totals.quizzes_attempted,
+            average_score = CASE
+                WHEN totals.submission_count = 0 THEN 0
+                ELSE totals.score_sum / totals.submission_count
+            END,
+            progression_percent = CASE
+                WHEN :totalQuizzes = 0 THEN 0
+                ELSE totals.quizzes_attempted * 100.0 / :totalQuizzes
+            END
+        FROM (
+            SELECT p.id,
+                   COALESCE(SUM(s.score) FILTER (WHERE pending.submission_id IS NULL), 0) AS score_sum,
+                   COUNT(s.id) FILTER (WHERE pending.submission_id IS NULL) AS submission_count,
+                   COUNT(DISTINCT s.quiz_id) FILTER (WHERE pending.submission_id IS NULL) AS quizzes_attempted
+            FROM student_progressions p
+            LEFT JOIN lessons l ON l.course_id = p.course_id
+            LEFT JOIN quizzes q ON q.lesson_id = l.id
+            LEFT JOIN submissions s
+                ON s.quiz_id = q.id
+                AND s.student_id = p.student_id
+                AND s.status = 'GRADED'
+            LEFT JOIN progression_deltas pending
+                ON pending.submission_id = s.id
+                AND pending.student_id = s.student_id
+            WHERE p.id IN (:ids)
+            GROUP BY p.id
+        ) totals
+        WHERE sp.id = totals.id
+    """, nativeQuery = true)
+    int recomputeAggregates(List<Long> ids, long totalQuizzes);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM attempted_quizzes aq
+        USING student_progressions p, quizzes q, lessons l
+        WHERE p.id IN (:ids)
+        AND aq.student_id = p.student_id
+        AND q.id = aq.quiz_id
+        AND l.id = q.lesson_id
+        AND l.course_id = p.course_id
+    """, nativeQuery = true)
+    void deleteAttemptedQuizzesByIdIn(List<Long> ids);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO attempted_quizzes (student_id, quiz_id)
+        SELECT DISTINCT s.student_id, s.quiz_id
+        FROM student_progressions p
+        JOIN lessons l ON l.course_id = p.course_id
+        JOIN quizzes q ON q.lesson_id = l.id
+        JOIN submissions s
+            ON s.quiz_id = q.id
+            AND s.student_id = p.student_id
+            AND s.status = 'GRADED'
+        WHERE p.id IN (:ids)
+        AND NOT EXISTS (
+            SELECT 1
+            FROM progression_deltas pending
+            WHERE pending.submission_id = s.id
+            AND pending.student_id = s.student_id
+        )
+        ORDER BY s.student_id, s.quiz_id
+        ON CONFLICT DO NOTHING
+    """, nativeQuery = true)
+    void restoreAttemptedQuizzesByIdIn(List<Long> ids);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM attempted_quizzes aq
+        USING quizzes q, lessons l
+        WHERE aq.student_id = :studentId
+        AND q.id = aq.quiz_id
+        AND l.id = q.lesson_id
+        AND l.course_id = :courseId
+    """, nativeQuery = true)
+    void deleteAttemptedQuizzes(Long studentId, Long courseId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO attempted_quizzes (student_id, quiz_id)
+        SELECT DISTINCT s.student_id, s.quiz_id
+        FROM submissions s
+        JOIN quizzes q ON q.id = s.quiz_id
+        JOIN lessons l ON l.id = q.lesson_id
+        WHERE s.student_id = :studentId
+        AND s.status = 'GRADED'
+        AND l.course_id = :courseId
+        AND NOT EXISTS (
+            SELECT 1
+            FROM progression_deltas pending
+            WHERE pending.submission_id = s.id
+            AND pending.student_id = s.student_id
+        )
+        ORDER BY s.student_id, s.quiz_id
+        ON CONFLICT DO NOTHING
+    """, nativeQuery = true)
+    void restoreAttemptedQuizzes(Long studentId, Long courseId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO progression_deltas (submission_id, student_id, course_id)
+        VALUES (:submissionId, :studentId, :courseId)
+    """, nativeQuery = true)
+    void enqueueProgressionDelta(Long submissionId, Long studentId, Long courseId);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM progression_deltas
+        WHERE student_id = :studentId
+        AND course_id = :courseId
+    """, nativeQuery = true)
+    void deleteProgressionDeltas(Long studentId, Long courseId);
+
+    @Query(value = """
+        WITH drained AS (
+            DELETE FROM progression_deltas d
+            WHERE (d.submission_id, d.student_id) IN (
+                SELECT p.submission_id, p.student_id
+                FROM progression_deltas p
+                WHERE (CAST(:studentId AS integer) IS NULL OR p.student_id = :studentId)
+                AND (CAST(:courseId AS integer) IS NULL OR p.course_id = :courseId)
+                ORDER BY p.submission_id
+                LIMIT :batchSize
+                FOR UPDATE
+            )
+            RETURNING d.submission_id, d.student_id, d.course_id
+        ),
+        totals AS (
+            SELECT dr.student_id,
+                   dr.course_id,
+                   SUM(s.score) AS score_sum,
+                   COUNT(s.id) AS submission_count
+            FROM drained dr
+            JOIN submissions s ON s.id = dr.submission_id AND s.student_id = dr.student_id
+            GROUP BY dr.student_id, dr.course_id
+        ),
+        first_attempts AS (
+            INSERT INTO attempted_quizzes (student_id, quiz_id)
+            SELECT DISTINCT s.student_id, s.quiz_id
+            FROM drained dr
+            JOIN submissions s ON s.id = dr.submission_id AND s.student_id = dr.student_id
+            ORDER BY s.student_id, s.quiz_id
+            ON CONFLICT DO NOTHING
+            RETURNING student_id, quiz_id
+        ),
+        new_quizzes AS (
+            SELECT fa.student_id,
+                   l.course_id,
+                   COUNT(*) AS quizzes_attempted
+            FROM first_attempts fa
+            JOIN quizzes q ON q.id = fa.quiz_id
+            JOIN lessons l ON l.id = q.lesson_id
+            GROUP BY fa.student_id, l.course_id
+        )
+        INSERT INTO student_progressions AS sp (
+            student_id, course_id, score_sum, submission_count, quizzes_attempted, average_score, progression_percent
+        )
+        SELECT t.student_id,
+               t.course_id,
+               t.score_sum,
+               t.submission_count,
+               COALESCE(n.quizzes_attempted, 0),
+               t.score_sum / t.submission_count,
+               CASE
+                   WHEN course_quizzes.total = 0 THEN 0
+                   ELSE COALESCE(n.quizzes_attempted, 0) * 100.0 / course_quizzes.total
+               END
+        FROM totals t
+        LEFT JOIN new_quizzes n ON n.student_id = t.student_id AND n.course_id = t.course_id
+        CROSS JOIN LATERAL (
+            SELECT COUNT(*) AS total
+            FROM quizzes q
+            JOIN lessons l ON l.id = q.lesson_id
+            WHERE l.course_id = t.course_id
+        ) course_quizzes
+        ORDER BY t.student_id, t.course_id
+        ON CONFLICT (student_id, course_id) DO UPDATE SET
+            score_sum = sp.score_sum + EXCLUDED.score_sum,
+            submission_count = sp.submission_count + EXCLUDED.submission_count,
+            quizzes_attempted = sp.quizzes_attempted + EXCLUDED.quizzes_attempted,
+            average_score = (sp.score_sum + EXCLUDED.score_sum) / (sp.submission_count + EXCLUDED.submission_count),
+            progression_percent = CASE
+                WHEN EXCLUDED.quizzes_attempted = 0 THEN sp.progression_percent
+                ELSE (sp.quizzes_attempted + EXCLUDED.quizzes_attempted) * 100.0 / (
+                    SELECT COUNT(*)
+                    FROM quizzes q
+                    JOIN lessons l ON l.id = q.lesson_id
+                    WHERE l.course_id = sp.course_id
+                )
+            END
+        RETURNING CAST(sp.student_id AS bigint) AS studentId,
+                  CAST(sp.course_id AS bigint) AS courseId
+    """, nativeQuery = true)
+    List<ProgressionKeyRow> drainProgressionDeltas(Long studentId, Long courseId, int batchSize);
 }
@@ -2,9 +2,46 @@ package com.vvelev.learnify.repositories;
 
 import com.vvelev.learnify.entities.SubmissionAnswer;
 import com.vvelev.learnify.entities.SubmissionAnswerId;
+import com.vvelev.learnify.repositories.projections.SubmissionAnswerDetailsRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface SubmissionAnswerRepository extends JpaRepository<SubmissionAnswer, SubmissionAnswerId> {
+    @Query("""
+        SELECT q.id AS questionId,
+               q.text AS questionText,
+               a.id AS chosenAnswerId,
+               a.text AS chosenAnswerText,
+               a.isCorrect AS chosenCorrect,
+               ca.id AS correctAnswerId,
+               ca.text AS correctAnswerText
+        FROM SubmissionAnswer sa
+        JOIN sa.question q
+        JOIN sa.answer a
+        LEFT JOIN q.answers ca ON ca.isCorrect = true
+        WHERE sa.submission.id = :submissionId
+        ORDER BY q.id, ca.id
+    """)
+    List<SubmissionAnswerDetailsRow> findDetailsBySubmissionId(Long submissionId);
+
+    @Query("""
+        SELECT q.id AS questionId,
+               q.text AS questionText,
+               a.id AS chosenAnswerId,
+               a.text AS chosenAnswerText,
+               a.isCorrect AS chosenCorrect,
+               ca.id AS correctAnswerId,
+               ca.text AS correctAnswerText
+        FROM Answer a
+        JOIN a.question q
+        LEFT JOIN q.answers ca ON ca.isCorrect = true
+        WHERE a.id IN :answerIds
+        ORDER BY q.id, ca.id
+    """)
+    List<SubmissionAnswerDetailsRow> findDetailsByAnswerIds(Collection<Long> answerIds);
 }
@@ -0,0 +1,45 @@
+package com.vvelev.learnify.repositories;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+
+@Repository
+public class SubmissionExportRepository {
+    private static final String QUIZ_ANSWERS_SQL = """
+        SELECT s.id AS submission_id,
+               s.student_id,
+               u.email AS student_email,
+               u.first_name AS student_first_name,
+               u.last_name AS student_last_name,
+               s.score,
+               s.submitted_at,
+               sa.question_id,
+               sa.answer_id,
+               a.is_correct
+        FROM submissions s
+        JOIN users u ON u.id = s.student_id
+        LEFT JOIN submission_choices sa ON sa.submission_id = s.id AND sa.student_id = s.student_id
+        LEFT JOIN answers a ON a.id = sa.answer_id
+        WHERE s.quiz_id = ?
+        AND s.status = 'GRADED'
+        ORDER BY s.id, sa.question_id
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SubmissionExportRepository(
+            DataSource dataSource,
+            @Value("${SUBMISSION_EXPORT_FETCH_SIZE:1000}") int fetchSize
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public void streamQuizAnswers(Long quizId, RowCallbackHandler rowHandler) {
+        jdbcTemplate.query(QUIZ_ANSWERS_SQL, rowHandler, quizId);
+    }
+}
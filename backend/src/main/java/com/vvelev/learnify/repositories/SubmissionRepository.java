@@ -1,32 +1,270 @@
 package com.vvelev.learnify.repositories;
 
 import com.vvelev.learnify.entities.Submission;
+import com.vvelev.learnify.entities.SubmissionStatus;
+import com.vvelev.learnify.repositories.projections.GradebookScoreRow;
+import com.vvelev.learnify.repositories.projections.GradedSubmissionRow;
+import com.vvelev.learnify.repositories.projections.ProgressionTotals;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
-    List<Submission> findByQuizIdOrderBySubmittedAtDesc(Long quizId);
     List<Submission> findByQuizIdAndStudentIdOrderBySubmittedAtDesc(Long quizId, Long studentId);
     List<Submission> findByStudentIdAndQuizLessonCourseId(Long studentId, Long courseId);
     void deleteByStudentIdAndQuizLessonCourseId(Long studentId, Long courseId);
+    Optional<Submission> findByStudentIdAndIdempotencyKey(Long studentId, String idempotencyKey);
 
     @Query("""
-        SELECT COUNT(DISTINCT s.quiz.id)
+        SELECT MAX(s.score)
         FROM Submission s
-        WHERE s.student.id = :studentId
-        AND s.quiz.lesson.course.id = :courseId
+        WHERE s.quiz.id = :quizId
+        AND s.student.id = :studentId
+        AND s.status = :status
     """)
-    long countDistinctQuizByStudentIdAndCourseId(Long studentId, Long courseId);
+    Optional<Double> findBestScore(Long quizId, Long studentId, SubmissionStatus status);
 
     @Query("""
-        SELECT AVG(s.score)
+        SELECT s
         FROM Submission s
-        WHERE s.student.id = :studentId
-        AND s.quiz.lesson.course.id = :courseId
+        JOIN FETCH s.student
+        WHERE s.quiz.id = :quizId
+        AND (:studentId IS NULL OR s.student.id = :studentId)
+        AND (:minScore IS NULL OR s.score >= :minScore)
+        AND (:maxScore IS NULL OR s.score <= :maxScore)
+        ORDER BY s.submittedAt DESC, s.id DESC
     """)
-    Double findAverageScoreByStudentIdAndCourseId(Long studentId, Long courseId);
+    List<Submission> findQuizSubmissionsPage(
+            Long quizId,
+            Long studentId,
+            Double minScore,
+            Double maxScore,
+            Limit limit
+    );
+
+    @Query("""
+        SELECT s
+        FROM Submission s
+        JOIN FETCH s.student
+        WHERE s.quiz.id = :quizId
+        AND (:studentId IS NULL OR s.student.id = :studentId)
+        AND (:minScore IS NULL OR s.score >= :minScore)
+        AND (:maxScore IS NULL OR s.score <= :maxScore)
+        AND (s.submittedAt, s.id) < (:submittedAt, :id)
+        ORDER BY s.submittedAt DESC, s.id DESC
+    """)
+    List<Submission> findQuizSubmissionsPageBefore(
+            Long quizId,
+            Long studentId,
+            Double minScore,
+            Double maxScore,
+            LocalDateTime submittedAt,
+            Long id,
+            Limit limit
+    );
+
+    @EntityGraph(attributePaths = "quiz.lesson.course")
+    Optional<Submission> findWithCourseById(Long id);
+
+    @Query(value = """
+        SELECT CAST(COALESCE(SUM(s.score) FILTER (WHERE pending.submission_id IS NULL), 0) AS double precision) AS scoreSum,
+               COUNT(s.id) FILTER (WHERE pending.submission_id IS NULL) AS submissionCount,
+               COUNT(DISTINCT s.quiz_id) FILTER (WHERE pending.submission_id IS NULL) AS quizzesAttempted
+        FROM submissions s
+        LEFT JOIN progression_deltas pending
+            ON pending.submission_id = s.id
+            AND pending.student_id = s.student_id
+        WHERE s.student_id = :studentId
+        AND s.status = 'GRADED'
+        AND s.quiz_id IN (
+            SELECT q.id
+            FROM quizzes q
+            JOIN lessons l ON l.id = q.lesson_id
+            WHERE l.course_id = :courseId
+        )
+    """, nativeQuery = true)
+    ProgressionTotals findProgressionTotalsByStudentIdAndCourseId(Long studentId, Long courseId);
+
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Submission s WHERE s.id = :id")
+    Optional<Submission> findByIdForUpdate(Long id);
+
+    @Query("""
+        SELECT s.id
+        FROM Submission s
+        WHERE s.status = :status
+        AND s.submittedAt < :before
+        ORDER BY s.id
+    """)
+    List<Long> findIdsByStatusAndSubmittedAtBefore(SubmissionStatus status, LocalDateTime before);
+
+    long countByQuizIdAndStatus(Long quizId, SubmissionStatus status);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM submission_choices sc WHERE sc.answer_id = :answerId)", nativeQuery = true)
+    boolean existsChoiceByAnswerId(Long answerId);
+
+    @Query("""
+        SELECT s.id
+        FROM Submission s
+        WHERE s.quiz.id = :quizId
+        AND s.status = :status
+        AND s.id > :afterId
+        ORDER BY s.id
+    """)
+    List<Long> findIdsByQuizIdAndStatusAfter(Long quizId, SubmissionStatus status, Long afterId, Limit limit);
+
+    @Query("SELECT DISTINCT s.student.id FROM Submission s WHERE s.id IN :ids")
+    List<Long> findDistinctStudentIdsByIdIn(Collection<Long> ids);
+
+    @Query(value = """
+        SELECT CAST(s.student_id AS bigint)
+        FROM submissions s
+        WHERE s.quiz_id = :quizId
+        AND s.status <> 'FAILED'
+    """, nativeQuery = true)
+    List<Long> findSubmitterIdsByQuizId(Long quizId);
+
+    @Query(value = """
+        SELECT s.student_id AS studentId,
+               s.quiz_id AS quizId,
+               MAX(s.score) AS bestScore,
+               (ARRAY_AGG(s.score ORDER BY s.submitted_at DESC, s.id DESC))[1] AS latestScore
+        FROM submissions s
+        JOIN quizzes q ON q.id = s.quiz_id
+        JOIN lessons l ON l.id = q.lesson_id
+        WHERE l.course_id = :courseId
+        AND s.status = 'GRADED'
+        GROUP BY s.student_id, s.quiz_id
+    """, nativeQuery = true)
+    List<GradebookScoreRow> findGradebookScoresByCourseId(Long courseId);
+
+    @Modifying
+    @Query(value = """
+        UPDATE submissions s
+        SET score = totals.score
+        FROM (
+            SELECT sub.id,
+                   CASE
+                       WHEN COUNT(sa.question_id) = 0 THEN 0
+                       ELSE COUNT(sa.question_id) FILTER (WHERE a.is_correct) * 100.0 / COUNT(sa.question_id)
+                   END AS score
+            FROM submissions sub
+            LEFT JOIN submission_choices sa ON sa.submission_id = sub.id AND sa.student_id = sub.student_id
+            LEFT JOIN answers a ON a.id = sa.answer_id
+            WHERE sub.id IN (:ids)
+            GROUP BY sub.id
+        ) totals
+        WHERE s.id = totals.id
+        AND s.score IS DISTINCT FROM ROUND(totals.score, 2)
+    """, nativeQuery = true)
+    int rescore(Collection<Long> ids);
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(CAST(:studentId AS integer), CAST(:quizId AS integer))", nativeQuery = true)
+    boolean tryLockStudentQuiz(Long studentId, Long quizId);
+
+    @Query(value = """
+        WITH submitted AS (
+            SELECT CAST(split_part(pair, ':', 1) AS bigint) AS question_id,
+                   CAST(split_part(pair, ':', 2) AS bigint) AS answer_id
+            FROM unnest(string_to_array(CAST(:answers AS text), ',')) AS pair
+        ),
+        graded AS (
+            SELECT COUNT(*) AS answered,
+                   COUNT(*) FILTER (WHERE a.is_correct) AS correct
+            FROM submitted sub
+            JOIN answers a ON a.id = sub.answer_id AND a.question_id = sub.question_id
+            JOIN questions q ON q.id = a.question_id
+            WHERE q.quiz_id = :quizId
+        ),
+        inserted AS (
+            INSERT INTO submissions (quiz_id, student_id, score, status, idempotency_key)
+            SELECT :quizId,
+                   :studentId,
+                   CASE WHEN g.answered = 0 THEN 0 ELSE ROUND(g.correct * 100.0 / g.answered, 2) END,
+                   'GRADED',
+                   CAST(:idempotencyKey AS varchar)
+            FROM graded g
+            WHERE g.answered = :answerCount
+            RETURNING id, score, submitted_at
+        ),
+        inserted_answers AS (
+            INSERT INTO submission_answers (submission_id, student_id, question_id, answer_id)
+            SELECT i.id, :studentId, sub.question_id, sub.answer_id
+            FROM inserted i
+            CROSS JOIN submitted sub
+        )
+        SELECT i.id AS id,
+               CAST(i.score AS double precision) AS score,
+               i.submitted_at AS submittedAt
+        FROM inserted i
+    """, nativeQuery = true)
+    Optional<GradedSubmissionRow> insertGradedSubmission(
+            Long quizId,
+            Long studentId,
+            String idempotencyKey,
+            String answers,
+            int answerCount
+    );
+
+    @Query(value = """
+        SELECT s.id
+        FROM submissions s
+        WHERE s.status = 'GRADED'
+        AND s.submitted_at < :cutoff
+        AND s.id > :afterId
+        AND s.answer_vector IS NULL
+        AND EXISTS (
+            SELECT 1
+            FROM submission_answers sa
+            WHERE sa.submission_id = s.id
+            AND sa.student_id = s.student_id
+        )
+        AND NOT EXISTS (
+            SELECT 1
+            FROM submission_answers sa
+            WHERE sa.submission_id = s.id
+            AND sa.student_id = s.student_id
+            AND sa.answer_id IS NULL
+        )
+        ORDER BY s.id
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Long> findArchivableIds(LocalDateTime cutoff, Long afterId, int limit);
+
+    @Modifying
+    @Query(value = """
+        WITH compacted AS (
+            UPDATE submissions s
+            SET answer_vector = packed.answer_vector
+            FROM (
+                SELECT sa.submission_id,
+                       sa.student_id,
+                       answer_vector_encode(ARRAY_AGG(DISTINCT sa.answer_id ORDER BY sa.answer_id)) AS answer_vector
+                FROM submission_answers sa
+                WHERE sa.submission_id IN (:ids)
+                GROUP BY sa.submission_id, sa.student_id
+            ) packed
+            WHERE s.id = packed.submission_id
+            AND s.student_id = packed.student_id
+            AND s.answer_vector IS NULL
+            RETURNING s.id, s.student_id
+        )
+        DELETE FROM submission_answers sa
+        USING compacted c
+        WHERE sa.submission_id = c.id
+        AND sa.student_id = c.student_id
+    """, nativeQuery = true)
+    int archive(Collection<Long> ids);
 }
@@ -0,0 +1,9 @@
+package com.vvelev.learnify.repositories.projections;
+
+public interface AnswerChoiceRow {
+    Long getAnswerId();
+    Long getQuestionId();
+    String getText();
+    Boolean getCorrect();
+    Long getPickCount();
+}
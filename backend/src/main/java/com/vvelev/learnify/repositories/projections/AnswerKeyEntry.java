@@ -0,0 +1,7 @@
+package com.vvelev.learnify.repositories.projections;
+
+public interface AnswerKeyEntry {
+    Long getQuestionId();
+    Long getAnswerId();
+    Boolean getCorrect();
+}
@@ -0,0 +1,7 @@
+package com.vvelev.learnify.repositories.projections;
+
+public interface GradebookQuizRow {
+    Long getId();
+    String getTitle();
+    Long getLessonId();
+}
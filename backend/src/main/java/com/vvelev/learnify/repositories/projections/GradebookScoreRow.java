@@ -0,0 +1,8 @@
+package com.vvelev.learnify.repositories.projections;
+
+public interface GradebookScoreRow {
+    Long getStudentId();
+    Long getQuizId();
+    Double getBestScore();
+    Double getLatestScore();
+}
@@ -0,0 +1,7 @@
+package com.vvelev.learnify.repositories.projections;
+
+public interface GradebookStudentRow {
+    Long getId();
+    String getFirstName();
+    String getLastName();
+}
@@ -0,0 +1,9 @@
+package com.vvelev.learnify.repositories.projections;
+
+import java.time.LocalDateTime;
+
+public interface GradedSubmissionRow {
+    Long getId();
+    Double getScore();
+    LocalDateTime getSubmittedAt();
+}
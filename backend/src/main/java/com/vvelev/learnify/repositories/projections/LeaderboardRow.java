@@ -0,0 +1,7 @@
+package com.vvelev.learnify.repositories.projections;
+
+public interface LeaderboardRow {
+    Long getCourseId();
+    Long getStudentId();
+    Double getAverageScore();
+}
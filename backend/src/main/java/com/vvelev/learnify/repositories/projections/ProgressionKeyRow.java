@@ -0,0 +1,6 @@
+package com.vvelev.learnify.repositories.projections;
+
+public interface ProgressionKeyRow {
+    Long getStudentId();
+    Long getCourseId();
+}
@@ -0,0 +1,7 @@
+package com.vvelev.learnify.repositories.projections;
+
+public interface ProgressionTotals {
+    Double getScoreSum();
+    Long getSubmissionCount();
+    Long getQuizzesAttempted();
+}
@@ -0,0 +1,11 @@
+package com.vvelev.learnify.repositories.projections;
+
+public interface QuestionStatisticsRow {
+    Long getQuestionId();
+    String getText();
+    Long getResponseCount();
+    Long getCorrectCount();
+    Double getScoreSum();
+    Double getScoreSquareSum();
+    Double getCorrectScoreSum();
+}
@@ -0,0 +1,6 @@
+package com.vvelev.learnify.repositories.projections;
+
+public interface ScoreBucketRow {
+    Integer getBucket();
+    Long getSubmissionCount();
+}
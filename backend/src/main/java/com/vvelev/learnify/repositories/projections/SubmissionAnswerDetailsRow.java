@@ -0,0 +1,11 @@
+package com.vvelev.learnify.repositories.projections;
+
+public interface SubmissionAnswerDetailsRow {
+    Long getQuestionId();
+    String getQuestionText();
+    Long getChosenAnswerId();
+    String getChosenAnswerText();
+    Boolean getChosenCorrect();
+    Long getCorrectAnswerId();
+    String getCorrectAnswerText();
+}
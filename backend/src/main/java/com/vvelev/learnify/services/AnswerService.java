@@ -1,19 +1,21 @@
 package com.vvelev.learnify.services;
 
+import com.vvelev.learnify.caches.QuizAnswerKeyCache;
 import com.vvelev.learnify.dtos.answer.TeacherAnswerDto;
 import com.vvelev.learnify.dtos.answer.CreateAnswerDto;
 import com.vvelev.learnify.dtos.answer.UpdateAnswerDto;
 import com.vvelev.learnify.entities.Answer;
 import com.vvelev.learnify.entities.Course;
-import com.vvelev.learnify.entities.EnrollmentId;
 import com.vvelev.learnify.entities.Question;
 import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.exceptions.AnswerInUseException;
 import com.vvelev.learnify.exceptions.AnswerNotFoundException;
 import com.vvelev.learnify.exceptions.QuestionNotFoundException;
 import com.vvelev.learnify.mappers.AnswerMapper;
 import com.vvelev.learnify.repositories.AnswerRepository;
-import com.vvelev.learnify.repositories.EnrollmentRepository;
 import com.vvelev.learnify.repositories.QuestionRepository;
+import com.vvelev.learnify.repositories.SubmissionRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -25,22 +27,26 @@ import java.util.List;
 public class AnswerService {
     private final AnswerRepository answerRepository;
     private final QuestionRepository questionRepository;
-    private final EnrollmentRepository enrollmentRepository;
+    private final SubmissionRepository submissionRepository;
+    private final QuizAnswerKeyCache quizAnswerKeyCache;
+    private final QuizRescoringService quizRescoringService;
     private final AnswerMapper answerMapper;
     private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
 
     public TeacherAnswerDto createAnswer(Long questionId, CreateAnswerDto request) {
         Question question = getQuestionOrThrow(questionId);
         Course course = question.getQuiz().getLesson().getCourse();
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
         Answer answer = answerMapper.toEntity(request);
         answer.setQuestion(question);
         answerRepository.save(answer);
+        quizAnswerKeyCache.invalidate(question.getQuiz().getId());
 
         return answerMapper.toTeacherDto(answer);
     }
@@ -51,7 +57,7 @@ public class AnswerService {
 
         Long userId = securityUtils.getCurrentUserId();
 
-        if (isCourseCreator(course, userId)) {
+        if (accessPolicy.isCourseCreator(course, userId)) {
             return answerRepository
                     .findByQuestionIdOrderById(questionId)
                     .stream()
@@ -59,7 +65,7 @@ public class AnswerService {
                     .toList();
         }
 
-        if (isStudentEnrolled(userId, course.getId())) {
+        if (accessPolicy.isStudentEnrolled(userId, course.getId())) {
             return answerRepository
                     .findByQuestionIdOrderById(questionId)
                     .stream()
@@ -75,12 +81,19 @@ public class AnswerService {
         Course course = answer.getQuestion().getQuiz().getLesson().getCourse();
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
+        boolean wasCorrect = answer.isCorrect();
+
         answerMapper.update(request, answer);
         answerRepository.save(answer);
+        quizAnswerKeyCache.invalidate(answer.getQuestion().getQuiz().getId());
+
+        if (answer.isCorrect() != wasCorrect) {
+            quizRescoringService.scheduleQuizRescore(course.getId(), answer.getQuestion().getQuiz().getId());
+        }
 
         return answerMapper.toTeacherDto(answer);
     }
@@ -90,11 +103,18 @@ public class AnswerService {
         Course course = answer.getQuestion().getQuiz().getLesson().getCourse();
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
+        // Deleting a chosen answer cascades away the choice, and a rescore would then drop that question from the
+        // submission's denominator and inflate the score. submission_choices covers both storage modes.
+        if (submissionRepository.existsChoiceByAnswerId(answerId)) {
+            throw new AnswerInUseException();
+        }
+
         answerRepository.delete(answer);
+        quizAnswerKeyCache.invalidate(answer.getQuestion().getQuiz().getId());
     }
 
     private Question getQuestionOrThrow(Long questionId) {
@@ -108,12 +128,4 @@ public class AnswerService {
                 .findById(answerId)
                 .orElseThrow(AnswerNotFoundException::new);
     }
-
-    private boolean isStudentEnrolled(Long studentId, Long courseId) {
-        return enrollmentRepository.existsById(new EnrollmentId(studentId, courseId));
-    }
-
-    private boolean isCourseCreator(Course course, Long teacherId) {
-        return course.getCreatedBy().getId().equals(teacherId);
-    }
 }
@@ -7,10 +7,9 @@ import com.vvelev.learnify.entities.Course;
 import com.vvelev.learnify.entities.User;
 import com.vvelev.learnify.exceptions.AccessDeniedException;
 import com.vvelev.learnify.exceptions.CourseNotFoundException;
-import com.vvelev.learnify.exceptions.UserNotFoundException;
 import com.vvelev.learnify.mappers.CourseMapper;
 import com.vvelev.learnify.repositories.CourseRepository;
-import com.vvelev.learnify.repositories.UserRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -21,13 +20,12 @@ import java.util.List;
 @Service
 public class CourseService {
     private final CourseRepository courseRepository;
-    private final UserRepository userRepository;
     private final CourseMapper courseMapper;
     private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
 
     public CourseDto createCourse(CreateCourseDto request) {
-        Long teacherId = securityUtils.getCurrentUserId();
-        User teacher = getUserOrThrow(teacherId);
+        User teacher = securityUtils.getCurrentUserReference();
 
         Course course = courseMapper.toEntity(request);
         course.setCreatedBy(teacher);
@@ -63,7 +61,7 @@ public class CourseService {
         Course course = getCourseOrThrow(courseId);
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
@@ -77,17 +75,12 @@ public class CourseService {
         Course course = getCourseOrThrow(courseId);
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
         courseRepository.delete(course);
-    }
-
-    private User getUserOrThrow(Long userId) {
-        return userRepository
-                .findById(userId)
-                .orElseThrow(UserNotFoundException::new);
+        accessPolicy.evictCourse(courseId);
     }
 
     private Course getCourseOrThrow(Long courseId) {
@@ -95,8 +88,4 @@ public class CourseService {
                 .findById(courseId)
                 .orElseThrow(CourseNotFoundException::new);
     }
-
-    private boolean isCourseCreator(Course course, Long teacherId) {
-        return course.getCreatedBy().getId().equals(teacherId);
-    }
 }
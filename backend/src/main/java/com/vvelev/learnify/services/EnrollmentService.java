@@ -1,5 +1,7 @@
 package com.vvelev.learnify.services;
 
+import com.vvelev.learnify.buffers.ProgressionDeltaBuffer;
+import com.vvelev.learnify.caches.CourseLeaderboard;
 import com.vvelev.learnify.dtos.enrollment.EnrollmentCourseSummaryDto;
 import com.vvelev.learnify.dtos.enrollment.EnrollmentDto;
 import com.vvelev.learnify.dtos.enrollment.EnrollmentStudentSummaryDto;
@@ -7,11 +9,14 @@ import com.vvelev.learnify.entities.*;
 import com.vvelev.learnify.exceptions.*;
 import com.vvelev.learnify.mappers.EnrollmentMapper;
 import com.vvelev.learnify.repositories.*;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.AuthenticatedUser;
 import com.vvelev.learnify.utils.SecurityUtils;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -20,28 +25,34 @@ import java.util.Map;
 public class EnrollmentService {
     private final StudentProgressionService studentProgressionService;
     private final CourseRepository courseRepository;
-    private final UserRepository userRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final SubmissionRepository submissionRepository;
     private final StudentProgressionRepository studentProgressionRepository;
+    private final ProgressionDeltaBuffer progressionDeltaBuffer;
+    private final CourseLeaderboard courseLeaderboard;
     private final EnrollmentMapper enrollmentMapper;
     private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
 
+    @Transactional
     public EnrollmentDto enrollInCourse(Long courseId) {
         Course course = getCourseOrThrow(courseId);
 
-        Long studentId = securityUtils.getCurrentUserId();
-        if (isStudentEnrolled(studentId, courseId)) {
+        User student = securityUtils.getCurrentUserReference();
+        Long studentId = student.getId();
+
+        LocalDateTime enrolledAt = LocalDateTime.now();
+        if (enrollmentRepository.insertIfAbsent(studentId, courseId, enrolledAt) == 0) {
             throw new StudentAlreadyEnrolledException();
         }
 
-        User student = getUserOrThrow(studentId);
+        accessPolicy.studentEnrolled(courseId, studentId);
 
         Enrollment enrollment = new Enrollment();
         enrollment.setId(new EnrollmentId(studentId, courseId));
+        enrollment.setEnrolledAt(enrolledAt);
         enrollment.setStudent(student);
         enrollment.setCourse(course);
-        enrollmentRepository.save(enrollment);
 
         return enrollmentMapper.toDto(enrollment);
     }
@@ -69,7 +80,7 @@ public class EnrollmentService {
         Course course = getCourseOrThrow(courseId);
 
         Long userId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, userId) && !isStudentEnrolled(userId, courseId)) {
+        if (!accessPolicy.isCourseCreator(course, userId) && !accessPolicy.isStudentEnrolled(userId, courseId)) {
             throw new AccessDeniedException();
         }
 
@@ -96,13 +107,13 @@ public class EnrollmentService {
         }
 
         Course course = getCourseOrThrow(courseId);
-        Long currentUserId = securityUtils.getCurrentUserId();
-        User currentUser = getUserOrThrow(currentUserId);
+        AuthenticatedUser currentUser = securityUtils.getCurrentUser();
+        Long currentUserId = currentUser.id();
 
-        Role userRole = currentUser.getRole();
+        Role userRole = currentUser.role();
 
         boolean isStudentDeletingOwn = currentUserId.equals(studentId);
-        boolean isTeacherCourseCreator = userRole == Role.TEACHER && isCourseCreator(course, currentUserId);
+        boolean isTeacherCourseCreator = userRole == Role.TEACHER && accessPolicy.isCourseCreator(course, currentUserId);
         boolean isAdmin = userRole == Role.ADMIN;
 
         if (!isStudentDeletingOwn && !isTeacherCourseCreator && !isAdmin) {
@@ -110,8 +121,12 @@ public class EnrollmentService {
         }
 
         submissionRepository.deleteByStudentIdAndQuizLessonCourseId(studentId, courseId);
+        progressionDeltaBuffer.discard(studentId, courseId);
+        studentProgressionRepository.deleteAttemptedQuizzes(studentId, courseId);
         studentProgressionRepository.deleteByStudentIdAndCourseId(studentId, courseId);
+        courseLeaderboard.remove(courseId, studentId);
         enrollmentRepository.deleteByIdStudentIdAndIdCourseId(studentId, courseId);
+        accessPolicy.studentUnenrolled(courseId, studentId);
     }
 
     private Course getCourseOrThrow(Long courseId) {
@@ -119,18 +134,4 @@ public class EnrollmentService {
                 .findById(courseId)
                 .orElseThrow(CourseNotFoundException::new);
     }
-
-    private User getUserOrThrow(Long userId) {
-        return userRepository
-                .findById(userId)
-                .orElseThrow(UserNotFoundException::new);
-    }
-
-    private boolean isStudentEnrolled(Long studentId, Long courseId) {
-        return enrollmentRepository.existsById(new EnrollmentId(studentId, courseId));
-    }
-
-    private boolean isCourseCreator(Course course, Long teacherId) {
-        return course.getCreatedBy().getId().equals(teacherId);
-    }
 }
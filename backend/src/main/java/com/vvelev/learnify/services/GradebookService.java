@@ -0,0 +1,109 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.dtos.gradebook.GradebookDto;
+import com.vvelev.learnify.dtos.gradebook.GradebookQuizDto;
+import com.vvelev.learnify.dtos.gradebook.GradebookStudentDto;
+import com.vvelev.learnify.entities.Course;
+import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.exceptions.CourseNotFoundException;
+import com.vvelev.learnify.repositories.CourseRepository;
+import com.vvelev.learnify.repositories.EnrollmentRepository;
+import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.repositories.SubmissionRepository;
+import com.vvelev.learnify.repositories.projections.GradebookQuizRow;
+import com.vvelev.learnify.repositories.projections.GradebookScoreRow;
+import com.vvelev.learnify.repositories.projections.GradebookStudentRow;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.SecurityUtils;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@AllArgsConstructor
+@Service
+public class GradebookService {
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final QuizRepository quizRepository;
+    private final SubmissionRepository submissionRepository;
+    private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
+
+    public GradebookDto getCourseGradebook(Long courseId) {
+        Course course = courseRepository
+                .findById(courseId)
+                .orElseThrow(CourseNotFoundException::new);
+
+        Long teacherId = securityUtils.getCurrentUserId();
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
+            throw new AccessDeniedException();
+        }
+
+        List<GradebookQuizRow> quizzes = quizRepository.findGradebookQuizzesByCourseId(courseId);
+        List<GradebookStudentRow> students = enrollmentRepository.findGradebookStudentsByCourseId(courseId);
+
+        Map<Long, Integer> quizColumns = indexById(quizzes.stream().map(GradebookQuizRow::getId).toList());
+        Map<Long, Integer> studentRows = indexById(students.stream().map(GradebookStudentRow::getId).toList());
+
+        int columns = quizzes.size();
+        double[] bestScores = new double[students.size() * columns];
+        double[] latestScores = new double[students.size() * columns];
+        Arrays.fill(bestScores, Double.NaN);
+        Arrays.fill(latestScores, Double.NaN);
+
+        for (GradebookScoreRow score : submissionRepository.findGradebookScoresByCourseId(courseId)) {
+            Integer row = studentRows.get(score.getStudentId());
+            Integer column = quizColumns.get(score.getQuizId());
+            if (row == null || column == null) {
+                continue;
+            }
+
+            int cell = row * columns + column;
+            bestScores[cell] = score.getBestScore() == null ? Double.NaN : score.getBestScore();
+            latestScores[cell] = score.getLatestScore() == null ? Double.NaN : score.getLatestScore();
+        }
+
+        List<GradebookStudentDto> studentDtos = new ArrayList<>(students.size());
+        for (int row = 0; row < students.size(); row++) {
+            GradebookStudentRow student = students.get(row);
+            studentDtos.add(new GradebookStudentDto(
+                    student.getId(),
+                    student.getFirstName(),
+                    student.getLastName(),
+                    rowScores(bestScores, row, columns),
+                    rowScores(latestScores, row, columns)
+            ));
+        }
+
+        List<GradebookQuizDto> quizDtos = quizzes
+                .stream()
+                .map(quiz -> new GradebookQuizDto(quiz.getId(), quiz.getTitle(), quiz.getLessonId()))
+                .toList();
+
+        return new GradebookDto(courseId, quizDtos, studentDtos);
+    }
+
+    private Map<Long, Integer> indexById(List<Long> ids) {
+        Map<Long, Integer> index = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            index.put(ids.get(i), i);
+        }
+
+        return index;
+    }
+
+    private Double[] rowScores(double[] matrix, int row, int columns) {
+        Double[] scores = new Double[columns];
+        for (int column = 0; column < columns; column++) {
+            double score = matrix[row * columns + column];
+            scores[column] = Double.isNaN(score) ? null : score;
+        }
+
+        return scores;
+    }
+}
@@ -0,0 +1,195 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.dtos.job.JobDto;
+import com.vvelev.learnify.dtos.statistics.AnswerChoiceStatisticsDto;
+import com.vvelev.learnify.dtos.statistics.QuestionStatisticsDto;
+import com.vvelev.learnify.entities.Course;
+import com.vvelev.learnify.entities.Quiz;
+import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.exceptions.QuizNotFoundException;
+import com.vvelev.learnify.jobs.Job;
+import com.vvelev.learnify.jobs.JobRegistry;
+import com.vvelev.learnify.jobs.JobType;
+import com.vvelev.learnify.mappers.JobMapper;
+import com.vvelev.learnify.repositories.AnswerStatisticsRepository;
+import com.vvelev.learnify.repositories.QuestionStatisticsRepository;
+import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.repositories.projections.AnswerChoiceRow;
+import com.vvelev.learnify.repositories.projections.QuestionStatisticsRow;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.SecurityUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class ItemStatisticsService {
+    private final JobRegistry jobRegistry;
+    private final QuestionStatisticsRepository questionStatisticsRepository;
+    private final AnswerStatisticsRepository answerStatisticsRepository;
+    private final QuizRepository quizRepository;
+    private final JobMapper jobMapper;
+    private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
+    private final TransactionTemplate transactionTemplate;
+
+    public ItemStatisticsService(
+            JobRegistry jobRegistry,
+            QuestionStatisticsRepository questionStatisticsRepository,
+            AnswerStatisticsRepository answerStatisticsRepository,
+            QuizRepository quizRepository,
+            JobMapper jobMapper,
+            SecurityUtils securityUtils,
+            AccessPolicy accessPolicy,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.jobRegistry = jobRegistry;
+        this.questionStatisticsRepository = questionStatisticsRepository;
+        this.answerStatisticsRepository = answerStatisticsRepository;
+        this.quizRepository = quizRepository;
+        this.jobMapper = jobMapper;
+        this.securityUtils = securityUtils;
+        this.accessPolicy = accessPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void recordSubmission(Long submissionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applySubmission(submissionId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applySubmission(submissionId);
+            }
+        });
+    }
+
+    public List<QuestionStatisticsDto> getQuizStatistics(Long quizId) {
+        getOwnedQuizOrThrow(quizId);
+
+        Map<Long, List<AnswerChoiceRow>> choicesByQuestion = new HashMap<>();
+        for (AnswerChoiceRow choice : answerStatisticsRepository.findChoicesByQuizId(quizId)) {
+            choicesByQuestion
+                    .computeIfAbsent(choice.getQuestionId(), questionId -> new ArrayList<>())
+                    .add(choice);
+        }
+
+        return questionStatisticsRepository
+                .findRowsByQuizId(quizId)
+                .stream()
+                .map(row -> toDto(row, choicesByQuestion.getOrDefault(row.getQuestionId(), List.of())))
+                .toList();
+    }
+
+    public JobDto rebuildQuizStatistics(Long quizId) {
+        Quiz quiz = getOwnedQuizOrThrow(quizId);
+        Long courseId = quiz.getLesson().getCourse().getId();
+
+        Job job = jobRegistry.enqueue(
+                JobType.ITEM_STATISTICS_REBUILD,
+                courseId,
+                quizId,
+                queued -> rebuildQuiz(queued, quizId)
+        );
+
+        return jobMapper.toDto(job);
+    }
+
+    public void rebuildQuiz(Job job, Long quizId) {
+        job.start(1);
+
+        rebuildQuiz(quizId);
+
+        job.advance(1);
+    }
+
+    public void rebuildQuiz(Long quizId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            questionStatisticsRepository.deleteByQuizId(quizId);
+            questionStatisticsRepository.rebuildByQuizId(quizId);
+            answerStatisticsRepository.deleteByQuizId(quizId);
+            answerStatisticsRepository.rebuildByQuizId(quizId);
+        });
+    }
+
+    private void applySubmission(Long submissionId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                questionStatisticsRepository.recordSubmission(submissionId);
+                answerStatisticsRepository.recordSubmission(submissionId);
+            });
+        } catch (RuntimeException exception) {
+            log.error("Could not record item statistics for submission {}", submissionId, exception);
+        }
+    }
+
+    private Quiz getOwnedQuizOrThrow(Long quizId) {
+        Quiz quiz = quizRepository
+                .findById(quizId)
+                .orElseThrow(QuizNotFoundException::new);
+        Course course = quiz.getLesson().getCourse();
+
+        Long teacherId = securityUtils.getCurrentUserId();
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
+            throw new AccessDeniedException();
+        }
+
+        return quiz;
+    }
+
+    private QuestionStatisticsDto toDto(QuestionStatisticsRow row, List<AnswerChoiceRow> choices) {
+        long responses = row.getResponseCount();
+
+        List<AnswerChoiceStatisticsDto> choiceDtos = choices
+                .stream()
+                .map(choice -> new AnswerChoiceStatisticsDto(
+                        choice.getAnswerId(),
+                        choice.getText(),
+                        Boolean.TRUE.equals(choice.getCorrect()),
+                        choice.getPickCount(),
+                        responses == 0 ? null : choice.getPickCount() * 100.0 / responses
+                ))
+                .toList();
+
+        return new QuestionStatisticsDto(
+                row.getQuestionId(),
+                row.getText(),
+                responses,
+                responses == 0 ? null : row.getCorrectCount() * 100.0 / responses,
+                pointBiserial(row),
+                choiceDtos
+        );
+    }
+
+    private Double pointBiserial(QuestionStatisticsRow row) {
+        long responses = row.getResponseCount();
+        long correct = row.getCorrectCount();
+        if (responses < 2 || correct == 0 || correct == responses) {
+            return null;
+        }
+
+        double mean = row.getScoreSum() / responses;
+        double variance = row.getScoreSquareSum() / responses - mean * mean;
+        if (variance <= 0) {
+            return null;
+        }
+
+        double correctMean = row.getCorrectScoreSum() / correct;
+        double incorrectMean = (row.getScoreSum() - row.getCorrectScoreSum()) / (responses - correct);
+        double p = (double) correct / responses;
+
+        return (correctMean - incorrectMean) / Math.sqrt(variance) * Math.sqrt(p * (1 - p));
+    }
+}
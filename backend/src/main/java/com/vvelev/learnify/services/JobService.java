@@ -0,0 +1,64 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.dtos.job.JobDto;
+import com.vvelev.learnify.entities.Course;
+import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.exceptions.CourseNotFoundException;
+import com.vvelev.learnify.exceptions.JobNotFoundException;
+import com.vvelev.learnify.jobs.Job;
+import com.vvelev.learnify.jobs.JobRegistry;
+import com.vvelev.learnify.mappers.JobMapper;
+import com.vvelev.learnify.repositories.CourseRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.SecurityUtils;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Service
+public class JobService {
+    private final JobRegistry jobRegistry;
+    private final CourseRepository courseRepository;
+    private final JobMapper jobMapper;
+    private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
+
+    public JobDto getJob(UUID jobId) {
+        Job job = jobRegistry
+                .find(jobId)
+                .orElseThrow(JobNotFoundException::new);
+
+        Course course = getCourseOrThrow(job.getCourseId());
+
+        Long teacherId = securityUtils.getCurrentUserId();
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
+            throw new AccessDeniedException();
+        }
+
+        return jobMapper.toDto(job);
+    }
+
+    public List<JobDto> getCourseJobs(Long courseId) {
+        Course course = getCourseOrThrow(courseId);
+
+        Long teacherId = securityUtils.getCurrentUserId();
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
+            throw new AccessDeniedException();
+        }
+
+        return jobRegistry
+                .findByCourseId(courseId)
+                .stream()
+                .map(jobMapper::toDto)
+                .toList();
+    }
+
+    private Course getCourseOrThrow(Long courseId) {
+        return courseRepository
+                .findById(courseId)
+                .orElseThrow(CourseNotFoundException::new);
+    }
+}
@@ -1,17 +1,29 @@
 package com.vvelev.learnify.services;
 
+import com.vvelev.learnify.caches.VerifiedTokenCache;
 import com.vvelev.learnify.config.JwtConfig;
 import com.vvelev.learnify.entities.User;
 import io.jsonwebtoken.*;
-import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
 import java.util.Date;
 
-@AllArgsConstructor
 @Service
 public class JwtService {
     private final JwtConfig jwtConfig;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final SecretKey secretKey;
+    private final JwtParser parser;
+
+    public JwtService(JwtConfig jwtConfig, VerifiedTokenCache verifiedTokenCache) {
+        this.jwtConfig = jwtConfig;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.secretKey = jwtConfig.getSecretKey();
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+    }
 
     private Jwt generateToken(User user, long tokenExpiration) {
         Claims claims = Jwts.claims()
@@ -24,7 +36,7 @@ public class JwtService {
                 .expiration(new Date(System.currentTimeMillis() + 1000 * tokenExpiration))
                 .build();
 
-        return new Jwt(claims, jwtConfig.getSecretKey());
+        return new Jwt(claims, secretKey);
     }
 
     public Jwt generateAccessToken(User user) {
@@ -37,16 +49,14 @@ public class JwtService {
 
     public Jwt parseToken(String token) {
         try {
-            return new Jwt(getClaims(token),  jwtConfig.getSecretKey());
+            return new Jwt(verifiedTokenCache.get(token, this::getClaims), secretKey);
         }  catch (JwtException e) {
             return null;
         }
     }
 
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(jwtConfig.getSecretKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -0,0 +1,87 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.buffers.ProgressionDeltaBuffer;
+import com.vvelev.learnify.caches.CourseLeaderboard;
+import com.vvelev.learnify.dtos.leaderboard.LeaderboardEntryDto;
+import com.vvelev.learnify.dtos.leaderboard.LeaderboardStandingDto;
+import com.vvelev.learnify.entities.User;
+import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.exceptions.CourseNotFoundException;
+import com.vvelev.learnify.exceptions.StudentProgressionNotFoundException;
+import com.vvelev.learnify.repositories.UserRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.SecurityUtils;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@AllArgsConstructor
+@Service
+public class LeaderboardService {
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 100;
+
+    private final CourseLeaderboard courseLeaderboard;
+    private final ProgressionDeltaBuffer progressionDeltaBuffer;
+    private final UserRepository userRepository;
+    private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
+
+    public List<LeaderboardEntryDto> getTopStudents(Long courseId, Integer limit) {
+        if (!accessPolicy.courseExists(courseId)) {
+            throw new CourseNotFoundException();
+        }
+
+        Long userId = securityUtils.getCurrentUserId();
+        if (!accessPolicy.isCourseCreator(courseId, userId) && !accessPolicy.isStudentEnrolled(userId, courseId)) {
+            throw new AccessDeniedException();
+        }
+
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<CourseLeaderboard.Standing> standings = courseLeaderboard.top(courseId, pageSize);
+
+        Map<Long, User> students = userRepository
+                .findAllById(standings.stream().map(CourseLeaderboard.Standing::studentId).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return standings
+                .stream()
+                .filter(standing -> students.containsKey(standing.studentId()))
+                .map(standing -> toDto(standing, students.get(standing.studentId())))
+                .toList();
+    }
+
+    public LeaderboardStandingDto getMyStanding(Long courseId) {
+        if (!accessPolicy.courseExists(courseId)) {
+            throw new CourseNotFoundException();
+        }
+
+        Long studentId = securityUtils.getCurrentUserId();
+        if (!accessPolicy.isStudentEnrolled(studentId, courseId)) {
+            throw new AccessDeniedException();
+        }
+
+        progressionDeltaBuffer.flush(studentId, courseId);
+
+        CourseLeaderboard.Standing standing = courseLeaderboard
+                .standing(courseId, studentId)
+                .orElseThrow(StudentProgressionNotFoundException::new);
+
+        return new LeaderboardStandingDto(standing.rank(), standing.studentCount(), standing.averageScore());
+    }
+
+    private LeaderboardEntryDto toDto(CourseLeaderboard.Standing standing, User student) {
+        return new LeaderboardEntryDto(
+                standing.rank(),
+                student.getId(),
+                student.getFirstName(),
+                student.getLastName(),
+                standing.averageScore()
+        );
+    }
+}
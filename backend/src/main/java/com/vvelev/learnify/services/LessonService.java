@@ -4,15 +4,14 @@ import com.vvelev.learnify.dtos.lesson.CreateLessonDto;
 import com.vvelev.learnify.dtos.lesson.LessonDto;
 import com.vvelev.learnify.dtos.lesson.UpdateLessonDto;
 import com.vvelev.learnify.entities.Course;
-import com.vvelev.learnify.entities.EnrollmentId;
 import com.vvelev.learnify.entities.Lesson;
 import com.vvelev.learnify.exceptions.AccessDeniedException;
 import com.vvelev.learnify.exceptions.CourseNotFoundException;
 import com.vvelev.learnify.exceptions.LessonNotFoundException;
 import com.vvelev.learnify.mappers.LessonMapper;
 import com.vvelev.learnify.repositories.CourseRepository;
-import com.vvelev.learnify.repositories.EnrollmentRepository;
 import com.vvelev.learnify.repositories.LessonRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -24,15 +23,16 @@ import java.util.List;
 public class LessonService {
     private final LessonRepository lessonRepository;
     private final CourseRepository courseRepository;
-    private final EnrollmentRepository enrollmentRepository;
+    private final ProgressionRecomputeService progressionRecomputeService;
     private final LessonMapper lessonMapper;
     private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
 
     public LessonDto createLesson(Long courseId, CreateLessonDto request) {
         Course course = getCourseOrThrow(courseId);
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
@@ -47,7 +47,7 @@ public class LessonService {
         Course course = getCourseOrThrow(courseId);
 
         Long userId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, userId) && !isStudentEnrolled(userId, courseId)) {
+        if (!accessPolicy.isCourseCreator(course, userId) && !accessPolicy.isStudentEnrolled(userId, courseId)) {
             throw new AccessDeniedException();
         }
 
@@ -63,7 +63,7 @@ public class LessonService {
         Course course = lesson.getCourse();
 
         Long userId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, userId) && !isStudentEnrolled(userId, course.getId())) {
+        if (!accessPolicy.isCourseCreator(course, userId) && !accessPolicy.isStudentEnrolled(userId, course.getId())) {
             throw new AccessDeniedException();
         }
 
@@ -75,7 +75,7 @@ public class LessonService {
         Course course = lesson.getCourse();
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
@@ -90,11 +90,13 @@ public class LessonService {
         Course course = lesson.getCourse();
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
         lessonRepository.delete(lesson);
+
+        progressionRecomputeService.scheduleCourseRecompute(course.getId());
     }
 
     private Course getCourseOrThrow(Long courseId) {
@@ -108,12 +110,4 @@ public class LessonService {
                 .findById(lessonId)
                 .orElseThrow(LessonNotFoundException::new);
     }
-
-    private boolean isStudentEnrolled(Long studentId, Long courseId) {
-        return enrollmentRepository.existsById(new EnrollmentId(studentId, courseId));
-    }
-
-    private boolean isCourseCreator(Course course, Long teacherId) {
-        return course.getCreatedBy().getId().equals(teacherId);
-    }
 }
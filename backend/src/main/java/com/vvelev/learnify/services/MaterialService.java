@@ -4,16 +4,15 @@ import com.vvelev.learnify.dtos.material.CreateMaterialDto;
 import com.vvelev.learnify.dtos.material.MaterialDto;
 import com.vvelev.learnify.dtos.material.UpdateMaterialDto;
 import com.vvelev.learnify.entities.Course;
-import com.vvelev.learnify.entities.EnrollmentId;
 import com.vvelev.learnify.entities.Lesson;
 import com.vvelev.learnify.entities.Material;
 import com.vvelev.learnify.exceptions.AccessDeniedException;
 import com.vvelev.learnify.exceptions.LessonNotFoundException;
 import com.vvelev.learnify.exceptions.MaterialNotFoundException;
 import com.vvelev.learnify.mappers.MaterialMapper;
-import com.vvelev.learnify.repositories.EnrollmentRepository;
 import com.vvelev.learnify.repositories.LessonRepository;
 import com.vvelev.learnify.repositories.MaterialRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -25,16 +24,16 @@ import java.util.List;
 public class MaterialService {
     private final MaterialRepository materialRepository;
     private final LessonRepository lessonRepository;
-    private final EnrollmentRepository enrollmentRepository;
     private final MaterialMapper materialMapper;
     private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
 
     public MaterialDto createMaterial(Long lessonId, CreateMaterialDto request) {
         Lesson lesson = getLessonOrThrow(lessonId);
         Course course = lesson.getCourse();
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
@@ -50,7 +49,7 @@ public class MaterialService {
         Course course = lesson.getCourse();
 
         Long userId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, userId) && !isStudentEnrolled(userId, course.getId())) {
+        if (!accessPolicy.isCourseCreator(course, userId) && !accessPolicy.isStudentEnrolled(userId, course.getId())) {
             throw new AccessDeniedException();
         }
 
@@ -66,7 +65,7 @@ public class MaterialService {
         Course course = material.getLesson().getCourse();
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
@@ -81,7 +80,7 @@ public class MaterialService {
         Course course = material.getLesson().getCourse();
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
@@ -99,12 +98,4 @@ public class MaterialService {
                 .findById(materialId)
                 .orElseThrow(MaterialNotFoundException::new);
     }
-
-    private boolean isStudentEnrolled(Long studentId, Long courseId) {
-        return enrollmentRepository.existsById(new EnrollmentId(studentId, courseId));
-    }
-
-    private boolean isCourseCreator(Course course, Long teacherId) {
-        return course.getCreatedBy().getId().equals(teacherId);
-    }
 }
@@ -0,0 +1,115 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.buffers.ProgressionDeltaBuffer;
+import com.vvelev.learnify.caches.CourseLeaderboard;
+import com.vvelev.learnify.jobs.Job;
+import com.vvelev.learnify.jobs.JobRegistry;
+import com.vvelev.learnify.jobs.JobType;
+import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.repositories.StudentProgressionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class ProgressionRecomputeService {
+    private final JobRegistry jobRegistry;
+    private final ProgressionDeltaBuffer progressionDeltaBuffer;
+    private final CourseLeaderboard courseLeaderboard;
+    private final StudentProgressionRepository studentProgressionRepository;
+    private final QuizRepository quizRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ProgressionRecomputeService(
+            JobRegistry jobRegistry,
+            ProgressionDeltaBuffer progressionDeltaBuffer,
+            CourseLeaderboard courseLeaderboard,
+            StudentProgressionRepository studentProgressionRepository,
+            QuizRepository quizRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${PROGRESSION_RECOMPUTE_CHUNK_SIZE:1000}") int chunkSize
+    ) {
+        this.jobRegistry = jobRegistry;
+        this.progressionDeltaBuffer = progressionDeltaBuffer;
+        this.courseLeaderboard = courseLeaderboard;
+        this.studentProgressionRepository = studentProgressionRepository;
+        this.quizRepository = quizRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public void scheduleCourseRecompute(Long courseId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(courseId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(courseId);
+            }
+        });
+    }
+
+    public void recomputeCourse(Job job, Long courseId) {
+        progressionDeltaBuffer.flushCourse(courseId);
+
+        job.start(studentProgressionRepository.countByCourseId(courseId));
+        long totalQuizzes = quizRepository.countByLessonCourseId(courseId);
+
+        Long afterId = 0L;
+        while (true) {
+            List<Long> ids = studentProgressionRepository.findIdsByCourseIdAfter(courseId, afterId, Limit.of(chunkSize));
+            if (ids.isEmpty()) {
+                courseLeaderboard.reloadCourse(courseId);
+                return;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> recomputeLocked(ids, totalQuizzes));
+
+            job.advance(ids.size());
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    public void recomputeStudents(Long courseId, Collection<Long> studentIds) {
+        long totalQuizzes = quizRepository.countByLessonCourseId(courseId);
+
+        List<Long> remainingStudentIds = new ArrayList<>(studentIds);
+        for (int from = 0; from < remainingStudentIds.size(); from += chunkSize) {
+            List<Long> chunk = remainingStudentIds.subList(from, Math.min(from + chunkSize, remainingStudentIds.size()));
+
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Long> ids = studentProgressionRepository.findIdsByCourseIdAndStudentIdIn(courseId, chunk);
+                if (!ids.isEmpty()) {
+                    recomputeLocked(ids, totalQuizzes);
+                }
+            });
+        }
+
+        courseLeaderboard.refresh(courseId, studentIds);
+    }
+
+    // Locking first waits out any drain already applying to these rows, and the recompute then runs on a fresh snapshot
+    // that skips still-queued deltas, so every graded submission and first attempt is counted exactly once.
+    private void recomputeLocked(List<Long> ids, long totalQuizzes) {
+        studentProgressionRepository.lockByIdIn(ids);
+        studentProgressionRepository.deleteAttemptedQuizzesByIdIn(ids);
+        studentProgressionRepository.restoreAttemptedQuizzesByIdIn(ids);
+        studentProgressionRepository.recomputeAggregates(ids, totalQuizzes);
+    }
+
+    private Job enqueue(Long courseId) {
+        return jobRegistry.enqueue(JobType.PROGRESSION_RECOMPUTE, courseId, null, job -> recomputeCourse(job, courseId));
+    }
+}
@@ -1,5 +1,6 @@
 package com.vvelev.learnify.services;
 
+import com.vvelev.learnify.caches.QuizAnswerKeyCache;
 import com.vvelev.learnify.dtos.question.CreateQuestionDto;
 import com.vvelev.learnify.dtos.question.QuestionDto;
 import com.vvelev.learnify.dtos.question.UpdateQuestionDto;
@@ -8,9 +9,9 @@ import com.vvelev.learnify.exceptions.AccessDeniedException;
 import com.vvelev.learnify.exceptions.QuestionNotFoundException;
 import com.vvelev.learnify.exceptions.QuizNotFoundException;
 import com.vvelev.learnify.mappers.QuestionMapper;
-import com.vvelev.learnify.repositories.EnrollmentRepository;
 import com.vvelev.learnify.repositories.QuestionRepository;
 import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -22,22 +23,25 @@ import java.util.List;
 public class QuestionService {
     private final QuestionRepository questionRepository;
     private final QuizRepository quizRepository;
-    private final EnrollmentRepository enrollmentRepository;
+    private final QuizAnswerKeyCache quizAnswerKeyCache;
+    private final QuizRescoringService quizRescoringService;
     private final QuestionMapper questionMapper;
     private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
 
     public QuestionDto createQuestion(Long quizId, CreateQuestionDto request) {
         Quiz quiz = getQuizOrThrow(quizId);
         Course course = quiz.getLesson().getCourse();
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
         Question question = questionMapper.toEntity(request);
         question.setQuiz(quiz);
         questionRepository.save(question);
+        quizAnswerKeyCache.invalidate(quizId);
 
         return questionMapper.toDto(question);
     }
@@ -47,7 +51,7 @@ public class QuestionService {
         Course course = quiz.getLesson().getCourse();
 
         Long userId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, userId) && !isStudentEnrolled(userId, course.getId())) {
+        if (!accessPolicy.isCourseCreator(course, userId) && !accessPolicy.isStudentEnrolled(userId, course.getId())) {
             throw new AccessDeniedException();
         }
 
@@ -63,12 +67,13 @@ public class QuestionService {
         Course course = question.getQuiz().getLesson().getCourse();
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
         questionMapper.update(request, question);
         questionRepository.save(question);
+        quizAnswerKeyCache.invalidate(question.getQuiz().getId());
 
         return questionMapper.toDto(question);
     }
@@ -78,11 +83,14 @@ public class QuestionService {
         Course course = question.getQuiz().getLesson().getCourse();
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
         questionRepository.delete(question);
+        quizAnswerKeyCache.invalidate(question.getQuiz().getId());
+
+        quizRescoringService.scheduleQuizRescore(course.getId(), question.getQuiz().getId());
     }
 
     private Quiz getQuizOrThrow(Long quizId) {
@@ -96,12 +104,4 @@ public class QuestionService {
                 .findById(questionId)
                 .orElseThrow(QuestionNotFoundException::new);
     }
-
-    private boolean isStudentEnrolled(Long studentId, Long courseId) {
-        return enrollmentRepository.existsById(new EnrollmentId(studentId, courseId));
-    }
-
-    private boolean isCourseCreator(Course course, Long teacherId) {
-        return course.getCreatedBy().getId().equals(teacherId);
-    }
 }
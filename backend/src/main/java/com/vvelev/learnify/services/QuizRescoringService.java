@@ -0,0 +1,107 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.buffers.ProgressionDeltaBuffer;
+import com.vvelev.learnify.caches.QuizAnswerKeyCache;
+import com.vvelev.learnify.entities.SubmissionStatus;
+import com.vvelev.learnify.jobs.Job;
+import com.vvelev.learnify.jobs.JobRegistry;
+import com.vvelev.learnify.jobs.JobType;
+import com.vvelev.learnify.repositories.SubmissionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class QuizRescoringService {
+    private final JobRegistry jobRegistry;
+    private final ProgressionRecomputeService progressionRecomputeService;
+    private final ProgressionDeltaBuffer progressionDeltaBuffer;
+    private final ItemStatisticsService itemStatisticsService;
+    private final ScoreDistributionService scoreDistributionService;
+    private final QuizAnswerKeyCache quizAnswerKeyCache;
+    private final SubmissionRepository submissionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public QuizRescoringService(
+            JobRegistry jobRegistry,
+            ProgressionRecomputeService progressionRecomputeService,
+            ProgressionDeltaBuffer progressionDeltaBuffer,
+            ItemStatisticsService itemStatisticsService,
+            ScoreDistributionService scoreDistributionService,
+            QuizAnswerKeyCache quizAnswerKeyCache,
+            SubmissionRepository submissionRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${RESCORE_CHUNK_SIZE:1000}") int chunkSize
+    ) {
+        this.jobRegistry = jobRegistry;
+        this.progressionRecomputeService = progressionRecomputeService;
+        this.progressionDeltaBuffer = progressionDeltaBuffer;
+        this.itemStatisticsService = itemStatisticsService;
+        this.scoreDistributionService = scoreDistributionService;
+        this.quizAnswerKeyCache = quizAnswerKeyCache;
+        this.submissionRepository = submissionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public void scheduleQuizRescore(Long courseId, Long quizId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(courseId, quizId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(courseId, quizId);
+            }
+        });
+    }
+
+    public void rescoreQuiz(Job job, Long courseId, Long quizId) {
+        quizAnswerKeyCache.invalidate(quizId);
+        progressionDeltaBuffer.flushCourse(courseId);
+
+        job.start(submissionRepository.countByQuizIdAndStatus(quizId, SubmissionStatus.GRADED));
+
+        Set<Long> studentIds = new HashSet<>();
+        Long afterId = 0L;
+        while (true) {
+            List<Long> ids = submissionRepository.findIdsByQuizIdAndStatusAfter(
+                    quizId,
+                    SubmissionStatus.GRADED,
+                    afterId,
+                    Limit.of(chunkSize)
+            );
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                submissionRepository.rescore(ids);
+                studentIds.addAll(submissionRepository.findDistinctStudentIdsByIdIn(ids));
+            });
+
+            job.advance(ids.size());
+            afterId = ids.get(ids.size() - 1);
+        }
+
+        quizAnswerKeyCache.invalidate(quizId);
+        itemStatisticsService.rebuildQuiz(quizId);
+        scoreDistributionService.rebuildQuiz(quizId);
+        progressionRecomputeService.recomputeStudents(courseId, studentIds);
+    }
+
+    private Job enqueue(Long courseId, Long quizId) {
+        return jobRegistry.enqueue(JobType.QUIZ_RESCORE, courseId, quizId, job -> rescoreQuiz(job, courseId, quizId));
+    }
+}
@@ -1,14 +1,15 @@
 package com.vvelev.learnify.services;
 
+import com.vvelev.learnify.caches.QuizAnswerKeyCache;
 import com.vvelev.learnify.dtos.quiz.CreateQuizDto;
 import com.vvelev.learnify.dtos.quiz.QuizDto;
 import com.vvelev.learnify.dtos.quiz.UpdateQuizDto;
 import com.vvelev.learnify.entities.*;
 import com.vvelev.learnify.exceptions.*;
 import com.vvelev.learnify.mappers.QuizMapper;
-import com.vvelev.learnify.repositories.EnrollmentRepository;
 import com.vvelev.learnify.repositories.LessonRepository;
 import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -20,16 +21,18 @@ import java.util.List;
 public class QuizService {
     private final QuizRepository quizRepository;
     private final LessonRepository lessonRepository;
-    private final EnrollmentRepository enrollmentRepository;
+    private final QuizAnswerKeyCache quizAnswerKeyCache;
+    private final ProgressionRecomputeService progressionRecomputeService;
     private final QuizMapper quizMapper;
     private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
 
     public QuizDto createQuiz(Long lessonId, CreateQuizDto request) {
         Lesson lesson = getLessonOrThrow(lessonId);
         Course course = lesson.getCourse();
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
@@ -37,6 +40,8 @@ public class QuizService {
         quiz.setLesson(lesson);
         quizRepository.save(quiz);
 
+        progressionRecomputeService.scheduleCourseRecompute(course.getId());
+
         return quizMapper.toDto(quiz);
     }
 
@@ -45,7 +50,7 @@ public class QuizService {
         Course course = lesson.getCourse();
 
         Long userId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, userId) && !isStudentEnrolled(userId, course.getId())) {
+        if (!accessPolicy.isCourseCreator(course, userId) && !accessPolicy.isStudentEnrolled(userId, course.getId())) {
             throw new AccessDeniedException();
         }
 
@@ -61,7 +66,7 @@ public class QuizService {
         Course course = quiz.getLesson().getCourse();
 
         Long userId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, userId) && !isStudentEnrolled(userId, course.getId())) {
+        if (!accessPolicy.isCourseCreator(course, userId) && !accessPolicy.isStudentEnrolled(userId, course.getId())) {
             throw new AccessDeniedException();
         }
 
@@ -73,7 +78,7 @@ public class QuizService {
         Course course = quiz.getLesson().getCourse();
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
@@ -88,11 +93,14 @@ public class QuizService {
         Course course = quiz.getLesson().getCourse();
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
         quizRepository.delete(quiz);
+        quizAnswerKeyCache.invalidate(quizId);
+
+        progressionRecomputeService.scheduleCourseRecompute(course.getId());
     }
 
     private Lesson getLessonOrThrow(Long lessonId) {
@@ -106,12 +114,4 @@ public class QuizService {
                 .findById(quizId)
                 .orElseThrow(QuizNotFoundException::new);
     }
-
-    private boolean isStudentEnrolled(Long studentId, Long courseId) {
-        return enrollmentRepository.existsById(new EnrollmentId(studentId, courseId));
-    }
-
-    private boolean isCourseCreator(Course course, Long teacherId) {
-        return course.getCreatedBy().getId().equals(teacherId);
-    }
 }
@@ -0,0 +1,97 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.caches.RosterBitmap;
+import com.vvelev.learnify.dtos.roster.RosterOverlapDto;
+import com.vvelev.learnify.dtos.roster.RosterStudentDto;
+import com.vvelev.learnify.dtos.roster.RosterSummaryDto;
+import com.vvelev.learnify.entities.Course;
+import com.vvelev.learnify.entities.Quiz;
+import com.vvelev.learnify.entities.User;
+import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.exceptions.CourseNotFoundException;
+import com.vvelev.learnify.exceptions.QuizNotFoundException;
+import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.repositories.SubmissionRepository;
+import com.vvelev.learnify.repositories.UserRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.SecurityUtils;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+@AllArgsConstructor
+@Service
+public class RosterService {
+    private final QuizRepository quizRepository;
+    private final SubmissionRepository submissionRepository;
+    private final UserRepository userRepository;
+    private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
+
+    public RosterSummaryDto getRosterSummary(Long courseId) {
+        RosterBitmap roster = getOwnedRosterOrThrow(courseId, securityUtils.getCurrentUserId());
+        return new RosterSummaryDto(courseId, roster.cardinality());
+    }
+
+    public RosterOverlapDto getRosterOverlap(Long courseId, Long otherCourseId) {
+        Long teacherId = securityUtils.getCurrentUserId();
+        RosterBitmap roster = getOwnedRosterOrThrow(courseId, teacherId);
+        RosterBitmap otherRoster = getOwnedRosterOrThrow(otherCourseId, teacherId);
+
+        return new RosterOverlapDto(
+                courseId,
+                otherCourseId,
+                roster.cardinality(),
+                otherRoster.cardinality(),
+                roster.andCardinality(otherRoster)
+        );
+    }
+
+    public List<RosterStudentDto> getStudentsMissingSubmission(Long quizId) {
+        Quiz quiz = quizRepository
+                .findById(quizId)
+                .orElseThrow(QuizNotFoundException::new);
+        Course course = quiz.getLesson().getCourse();
+
+        if (!accessPolicy.isCourseCreator(course, securityUtils.getCurrentUserId())) {
+            throw new AccessDeniedException();
+        }
+
+        RosterBitmap roster = accessPolicy
+                .roster(course.getId())
+                .orElseThrow(CourseNotFoundException::new);
+        if (roster.isEmpty()) {
+            return List.of();
+        }
+
+        RosterBitmap submitters = RosterBitmap.of(submissionRepository.findSubmitterIdsByQuizId(quizId));
+        long[] missingIds = roster.andNot(submitters).toArray();
+        if (missingIds.length == 0) {
+            return List.of();
+        }
+
+        return userRepository
+                .findAllById(Arrays.stream(missingIds).boxed().toList())
+                .stream()
+                .sorted(Comparator.comparing(User::getId))
+                .map(student -> new RosterStudentDto(student.getId(), student.getFirstName(), student.getLastName()))
+                .toList();
+    }
+
+    private RosterBitmap getOwnedRosterOrThrow(Long courseId, Long teacherId) {
+        if (!accessPolicy.courseExists(courseId)) {
+            throw new CourseNotFoundException();
+        }
+
+        if (!accessPolicy.isCourseCreator(courseId, teacherId)) {
+            throw new AccessDeniedException();
+        }
+
+        return accessPolicy
+                .roster(courseId)
+                .orElseThrow(CourseNotFoundException::new);
+    }
+}
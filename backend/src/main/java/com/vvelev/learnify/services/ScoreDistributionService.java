@@ -0,0 +1,179 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.buffers.ScoreHistogramBuffer;
+import com.vvelev.learnify.dtos.statistics.ScoreBucketDto;
+import com.vvelev.learnify.dtos.statistics.ScoreDistributionDto;
+import com.vvelev.learnify.entities.Course;
+import com.vvelev.learnify.entities.Quiz;
+import com.vvelev.learnify.entities.Submission;
+import com.vvelev.learnify.entities.SubmissionStatus;
+import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.exceptions.CourseNotFoundException;
+import com.vvelev.learnify.exceptions.QuizNotFoundException;
+import com.vvelev.learnify.repositories.CourseRepository;
+import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.repositories.ScoreHistogramRepository;
+import com.vvelev.learnify.repositories.SubmissionRepository;
+import com.vvelev.learnify.repositories.projections.ScoreBucketRow;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.SecurityUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class ScoreDistributionService {
+    private static final int BUCKET_WIDTH = 10;
+
+    private final ScoreHistogramBuffer scoreHistogramBuffer;
+    private final ScoreHistogramRepository scoreHistogramRepository;
+    private final SubmissionRepository submissionRepository;
+    private final QuizRepository quizRepository;
+    private final CourseRepository courseRepository;
+    private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
+    private final TransactionTemplate transactionTemplate;
+
+    public ScoreDistributionService(
+            ScoreHistogramBuffer scoreHistogramBuffer,
+            ScoreHistogramRepository scoreHistogramRepository,
+            SubmissionRepository submissionRepository,
+            QuizRepository quizRepository,
+            CourseRepository courseRepository,
+            SecurityUtils securityUtils,
+            AccessPolicy accessPolicy,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.scoreHistogramBuffer = scoreHistogramBuffer;
+        this.scoreHistogramRepository = scoreHistogramRepository;
+        this.submissionRepository = submissionRepository;
+        this.quizRepository = quizRepository;
+        this.courseRepository = courseRepository;
+        this.securityUtils = securityUtils;
+        this.accessPolicy = accessPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void recordSubmission(Submission submission) {
+        scoreHistogramBuffer.add(submission.getQuiz().getId(), submission.getScore());
+    }
+
+    public ScoreDistributionDto getQuizDistribution(Long quizId) {
+        Quiz quiz = quizRepository
+                .findById(quizId)
+                .orElseThrow(QuizNotFoundException::new);
+        Course course = quiz.getLesson().getCourse();
+
+        Long userId = securityUtils.getCurrentUserId();
+        boolean creator = accessPolicy.isCourseCreator(course, userId);
+        if (!creator && !accessPolicy.isStudentEnrolled(userId, course.getId())) {
+            throw new AccessDeniedException();
+        }
+
+        long[] counts = toCounts(scoreHistogramRepository.findBucketsByQuizId(quizId));
+
+        Double bestScore = creator
+                ? null
+                : submissionRepository.findBestScore(quizId, userId, SubmissionStatus.GRADED).orElse(null);
+
+        return toDto(counts, bestScore);
+    }
+
+    public ScoreDistributionDto getCourseDistribution(Long courseId) {
+        Course course = courseRepository
+                .findById(courseId)
+                .orElseThrow(CourseNotFoundException::new);
+
+        Long userId = securityUtils.getCurrentUserId();
+        if (!accessPolicy.isCourseCreator(course, userId) && !accessPolicy.isStudentEnrolled(userId, courseId)) {
+            throw new AccessDeniedException();
+        }
+
+        return toDto(toCounts(scoreHistogramRepository.findBucketsByCourseId(courseId)), null);
+    }
+
+    public void rebuildQuiz(Long quizId) {
+        scoreHistogramBuffer.discardQuiz(quizId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            scoreHistogramRepository.deleteByQuizId(quizId);
+            scoreHistogramRepository.rebuildByQuizId(quizId);
+        });
+    }
+
+    private long[] toCounts(List<ScoreBucketRow> rows) {
+        long[] counts = new long[ScoreHistogramBuffer.BUCKETS];
+
+        for (ScoreBucketRow row : rows) {
+            int bucket = row.getBucket();
+            if (bucket >= 0 && bucket < counts.length) {
+                counts[bucket] += row.getSubmissionCount();
+            }
+        }
+
+        return counts;
+    }
+
+    private ScoreDistributionDto toDto(long[] counts, Double score) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+
+        int maxBucket = counts.length - 1;
+        List<ScoreBucketDto> buckets = new ArrayList<>();
+        for (int min = 0; min < maxBucket; min += BUCKET_WIDTH) {
+            int max = min + BUCKET_WIDTH >= maxBucket ? maxBucket : min + BUCKET_WIDTH - 1;
+
+            long count = 0;
+            for (int bucket = min; bucket <= max; bucket++) {
+                count += counts[bucket];
+            }
+
+            buckets.add(new ScoreBucketDto(min, max, count));
+        }
+
+        return new ScoreDistributionDto(
+                total,
+                quantile(counts, total, 0.1),
+                quantile(counts, total, 0.5),
+                quantile(counts, total, 0.9),
+                score == null ? null : percentileRank(counts, total, score),
+                buckets
+        );
+    }
+
+    private Double quantile(long[] counts, long total, double q) {
+        if (total == 0) {
+            return null;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return (double) bucket;
+            }
+        }
+
+        return (double) counts.length - 1;
+    }
+
+    private Double percentileRank(long[] counts, long total, double score) {
+        if (total == 0) {
+            return null;
+        }
+
+        int bucket = ScoreHistogramBuffer.bucketOf(score);
+        long below = 0;
+        for (int i = 0; i < bucket; i++) {
+            below += counts[i];
+        }
+
+        return (below + counts[bucket] / 2.0) * 100 / total;
+    }
+}
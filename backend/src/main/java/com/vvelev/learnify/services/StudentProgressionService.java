@@ -1,16 +1,21 @@
 package com.vvelev.learnify.services;
 
+import com.vvelev.learnify.buffers.ProgressionDeltaBuffer;
+import com.vvelev.learnify.caches.CourseLeaderboard;
 import com.vvelev.learnify.dtos.studentprogression.StudentProgressionDto;
 import com.vvelev.learnify.entities.Course;
-import com.vvelev.learnify.entities.EnrollmentId;
 import com.vvelev.learnify.entities.StudentProgression;
+import com.vvelev.learnify.entities.Submission;
 import com.vvelev.learnify.entities.User;
 import com.vvelev.learnify.exceptions.AccessDeniedException;
 import com.vvelev.learnify.exceptions.CourseNotFoundException;
 import com.vvelev.learnify.exceptions.StudentProgressionNotFoundException;
 import com.vvelev.learnify.mappers.StudentProgressionMapper;
 import com.vvelev.learnify.repositories.*;
+import com.vvelev.learnify.repositories.projections.ProgressionTotals;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
+import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -21,27 +26,40 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 @Service
 public class StudentProgressionService {
+    private final ProgressionDeltaBuffer progressionDeltaBuffer;
+    private final CourseLeaderboard courseLeaderboard;
     private final StudentProgressionRepository studentProgressionRepository;
     private final SubmissionRepository submissionRepository;
     private final QuizRepository quizRepository;
     private final CourseRepository courseRepository;
-    private final EnrollmentRepository enrollmentRepository;
     private final StudentProgressionMapper studentProgressionMapper;
     private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
 
-    public void updateProgression(User student, Course course) {
+    public void recordSubmission(Submission submission) {
+        Long studentId = submission.getStudent().getId();
+        Long courseId = submission.getQuiz().getLesson().getCourse().getId();
+
+        progressionDeltaBuffer.add(submission.getId(), studentId, courseId);
+    }
+
+    @Transactional
+    public void recomputeProgression(User student, Course course) {
         StudentProgression progression = getOrCreateProgression(student, course);
 
-        long totalQuizzes = quizRepository.countByLessonCourseId(course.getId());
-        long submittedQuizzes = submissionRepository.countDistinctQuizByStudentIdAndCourseId(student.getId(), course.getId());
+        studentProgressionRepository.deleteAttemptedQuizzes(student.getId(), course.getId());
+        studentProgressionRepository.restoreAttemptedQuizzes(student.getId(), course.getId());
+
+        ProgressionTotals totals = submissionRepository.findProgressionTotalsByStudentIdAndCourseId(student.getId(), course.getId());
 
-        double progressionPercent = calculateProgressionPercent(submittedQuizzes, totalQuizzes);
-        double averageScore = calculateAverageScore(student.getId(), course.getId());
+        progression.setScoreSum(totals.getScoreSum());
+        progression.setSubmissionCount(totals.getSubmissionCount().intValue());
+        progression.setQuizzesAttempted(totals.getQuizzesAttempted().intValue());
 
-        progression.setProgressionPercent(progressionPercent);
-        progression.setAverageScore(averageScore);
+        applyAggregates(progression, course.getId());
 
         studentProgressionRepository.save(progression);
+        courseLeaderboard.refresh(course.getId(), List.of(student.getId()));
     }
 
     public StudentProgressionDto getMyProgression(Long courseId) {
@@ -50,10 +68,12 @@ public class StudentProgressionService {
         }
 
         Long studentId = securityUtils.getCurrentUserId();
-        if (!isStudentEnrolled(studentId, courseId)) {
+        if (!accessPolicy.isStudentEnrolled(studentId, courseId)) {
             throw new AccessDeniedException();
         }
 
+        progressionDeltaBuffer.flush(studentId, courseId);
+
         StudentProgression progression = getProgressionOrThrow(studentId, courseId);
 
         return studentProgressionMapper.toDto(progression);
@@ -62,6 +82,8 @@ public class StudentProgressionService {
     public Map<Long, Double> getMyProgressions() {
         Long studentId = securityUtils.getCurrentUserId();
 
+        progressionDeltaBuffer.flushStudent(studentId);
+
         return studentProgressionRepository
                 .findByStudentId(studentId)
                 .stream()
@@ -75,10 +97,12 @@ public class StudentProgressionService {
         Course course = getCourseOrThrow(courseId);
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(course, teacherId)) {
+        if (!accessPolicy.isCourseCreator(course, teacherId)) {
             throw new AccessDeniedException();
         }
 
+        progressionDeltaBuffer.flushCourse(courseId);
+
         return studentProgressionRepository
                 .findByCourseId(courseId)
                 .stream()
@@ -98,11 +122,14 @@ public class StudentProgressionService {
 
     private StudentProgression getOrCreateProgression(User student, Course course) {
         return studentProgressionRepository
-                .findByStudentIdAndCourseId(student.getId(), course.getId())
+                .findByStudentIdAndCourseIdForUpdate(student.getId(), course.getId())
                 .orElseGet(() -> {
                     StudentProgression progression = new StudentProgression();
                     progression.setStudent(student);
                     progression.setCourse(course);
+                    progression.setScoreSum(0.0);
+                    progression.setSubmissionCount(0);
+                    progression.setQuizzesAttempted(0);
                     return progression;
                 });
     }
@@ -113,6 +140,13 @@ public class StudentProgressionService {
                 .orElseThrow(StudentProgressionNotFoundException::new);
     }
 
+    private void applyAggregates(StudentProgression progression, Long courseId) {
+        long totalQuizzes = quizRepository.countByLessonCourseId(courseId);
+
+        progression.setProgressionPercent(calculateProgressionPercent(progression.getQuizzesAttempted(), totalQuizzes));
+        progression.setAverageScore(calculateAverageScore(progression.getScoreSum(), progression.getSubmissionCount()));
+    }
+
     private double calculateProgressionPercent(long submittedQuizzes, long totalQuizzes) {
         if (totalQuizzes == 0) {
             return 0;
@@ -121,16 +155,11 @@ public class StudentProgressionService {
         return ((double) submittedQuizzes / totalQuizzes) * 100;
     }
 
-    private double calculateAverageScore(Long studentId, Long courseId) {
-        Double averageScore = submissionRepository.findAverageScoreByStudentIdAndCourseId(studentId, courseId);
-        return averageScore != null ? averageScore : 0;
-    }
-
-    private boolean isStudentEnrolled(Long studentId, Long courseId) {
-        return enrollmentRepository.existsById(new EnrollmentId(studentId, courseId));
-    }
+    private double calculateAverageScore(double scoreSum, int submissionCount) {
+        if (submissionCount == 0) {
+            return 0;
+        }
 
-    private boolean isCourseCreator(Course course, Long teacherId) {
-        return course.getCreatedBy().getId().equals(teacherId);
+        return scoreSum / submissionCount;
     }
 }
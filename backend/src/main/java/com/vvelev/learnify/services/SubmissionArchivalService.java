@@ -0,0 +1,56 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.repositories.SubmissionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+public class SubmissionArchivalService {
+    private final SubmissionRepository submissionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long archiveAfterDays;
+    private final int chunkSize;
+
+    public SubmissionArchivalService(
+            SubmissionRepository submissionRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${SUBMISSION_ARCHIVE_AFTER_DAYS:365}") long archiveAfterDays,
+            @Value("${SUBMISSION_ARCHIVE_CHUNK_SIZE:1000}") int chunkSize
+    ) {
+        this.submissionRepository = submissionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveAfterDays = archiveAfterDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${SUBMISSION_ARCHIVE_CRON:0 30 3 * * *}")
+    public void archiveOldAttempts() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(archiveAfterDays);
+
+        long archived = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> ids = submissionRepository.findArchivableIds(cutoff, afterId, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> submissionRepository.archive(ids));
+
+            archived += ids.size();
+            afterId = ids.get(ids.size() - 1);
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} submissions older than {} into answer vectors", archived, cutoff);
+        }
+    }
+}
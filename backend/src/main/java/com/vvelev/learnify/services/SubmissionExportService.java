@@ -0,0 +1,199 @@
+package com.vvelev.learnify.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vvelev.learnify.constants.ExportFormat;
+import com.vvelev.learnify.entities.Quiz;
+import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.exceptions.QuizNotFoundException;
+import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.repositories.SubmissionExportRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.SecurityUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class SubmissionExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER =
+            "submission_id,student_id,student_email,student_first_name,student_last_name,"
+                    + "score,submitted_at,question_id,answer_id,correct\n";
+
+    private final QuizRepository quizRepository;
+    private final SubmissionExportRepository submissionExportRepository;
+    private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public SubmissionExportService(
+            QuizRepository quizRepository,
+            SubmissionExportRepository submissionExportRepository,
+            SecurityUtils securityUtils,
+            AccessPolicy accessPolicy,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.quizRepository = quizRepository;
+        this.submissionExportRepository = submissionExportRepository;
+        this.securityUtils = securityUtils;
+        this.accessPolicy = accessPolicy;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportQuizSubmissions(Long quizId, ExportFormat format, boolean gzip) {
+        Quiz quiz = quizRepository
+                .findById(quizId)
+                .orElseThrow(QuizNotFoundException::new);
+
+        Long teacherId = securityUtils.getCurrentUserId();
+        if (!accessPolicy.isCourseCreator(quiz.getLesson().getCourse(), teacherId)) {
+            throw new AccessDeniedException();
+        }
+
+        return outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+                writeExport(quizId, format, gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                writeExport(quizId, format, outputStream);
+            }
+        };
+    }
+
+    private void writeExport(Long quizId, ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            stream(quizId, resultSet -> writeCsvRow(writer, resultSet));
+            writer.flush();
+            return;
+        }
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.setRootValueSeparator(null);
+        stream(quizId, resultSet -> writeJsonRow(generator, resultSet));
+        generator.flush();
+    }
+
+    private void stream(Long quizId, ExportRowWriter rowWriter) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    submissionExportRepository.streamQuizAnswers(quizId, resultSet -> {
+                        try {
+                            rowWriter.write(resultSet);
+                        } catch (IOException exception) {
+                            throw new UncheckedIOException(exception);
+                        }
+                    })
+            );
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private void writeCsvRow(Writer writer, ResultSet resultSet) throws SQLException, IOException {
+        writer.write(resultSet.getString("submission_id"));
+        writer.write(',');
+        writer.write(resultSet.getString("student_id"));
+        writer.write(',');
+        writeCsvValue(writer, resultSet.getString("student_email"));
+        writer.write(',');
+        writeCsvValue(writer, resultSet.getString("student_first_name"));
+        writer.write(',');
+        writeCsvValue(writer, resultSet.getString("student_last_name"));
+        writer.write(',');
+        writeCsvValue(writer, resultSet.getString("score"));
+        writer.write(',');
+        writeCsvValue(writer, formatTimestamp(resultSet.getTimestamp("submitted_at")));
+        writer.write(',');
+        writeCsvValue(writer, resultSet.getString("question_id"));
+        writer.write(',');
+        writeCsvValue(writer, resultSet.getString("answer_id"));
+        writer.write(',');
+        writeCsvValue(writer, resultSet.getString("answer_id") == null ? null : String.valueOf(resultSet.getBoolean("is_correct")));
+        writer.write('\n');
+    }
+
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void writeJsonRow(JsonGenerator generator, ResultSet resultSet) throws SQLException, IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("submissionId", resultSet.getLong("submission_id"));
+        generator.writeNumberField("studentId", resultSet.getLong("student_id"));
+        generator.writeStringField("studentEmail", resultSet.getString("student_email"));
+        generator.writeStringField("studentFirstName", resultSet.getString("student_first_name"));
+        generator.writeStringField("studentLastName", resultSet.getString("student_last_name"));
+        writeNullableNumber(generator, "score", resultSet.getDouble("score"), resultSet.wasNull());
+        generator.writeStringField("submittedAt", formatTimestamp(resultSet.getTimestamp("submitted_at")));
+        writeNullableNumber(generator, "questionId", resultSet.getLong("question_id"), resultSet.wasNull());
+        writeNullableNumber(generator, "answerId", resultSet.getLong("answer_id"), resultSet.wasNull());
+
+        boolean correct = resultSet.getBoolean("is_correct");
+        if (resultSet.wasNull()) {
+            generator.writeNullField("correct");
+        } else {
+            generator.writeBooleanField("correct", correct);
+        }
+
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeNullableNumber(JsonGenerator generator, String field, double value, boolean isNull) throws IOException {
+        if (isNull) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    private void writeNullableNumber(JsonGenerator generator, String field, long value, boolean isNull) throws IOException {
+        if (isNull) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    private String formatTimestamp(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime().toString();
+    }
+
+    @FunctionalInterface
+    private interface ExportRowWriter {
+        void write(ResultSet resultSet) throws SQLException, IOException;
+    }
+}
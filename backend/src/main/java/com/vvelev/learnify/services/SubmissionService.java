@@ -1,73 +1,172 @@
 package com.vvelev.learnify.services;
 
+import com.vvelev.learnify.caches.IdempotencyKeyIndex;
+import com.vvelev.learnify.caches.InFlightSubmissionRegistry;
+import com.vvelev.learnify.caches.QuizAnswerKey;
+import com.vvelev.learnify.caches.QuizAnswerKeyCache;
+import com.vvelev.learnify.caches.SubmissionDetailsCache;
+import com.vvelev.learnify.config.SubmissionStorageConfig;
 import com.vvelev.learnify.dtos.submission.SubmissionDetailsDto;
 import com.vvelev.learnify.dtos.submission.SubmissionDto;
+import com.vvelev.learnify.dtos.submission.SubmissionPageDto;
+import com.vvelev.learnify.dtos.submission.SubmissionStatusDto;
 import com.vvelev.learnify.dtos.submissionanswer.SubmissionAnswerDto;
 import com.vvelev.learnify.entities.*;
+import com.vvelev.learnify.events.SubmissionReceivedEvent;
 import com.vvelev.learnify.exceptions.*;
+import com.vvelev.learnify.listeners.GradingQueue;
 import com.vvelev.learnify.mappers.SubmissionMapper;
 import com.vvelev.learnify.repositories.*;
+import com.vvelev.learnify.repositories.projections.GradedSubmissionRow;
+import com.vvelev.learnify.repositories.projections.SubmissionAnswerDetailsRow;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.AnswerVectorCodec;
 import com.vvelev.learnify.utils.SecurityUtils;
+import com.vvelev.learnify.utils.SubmissionCursor;
+import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @Service
 public class SubmissionService {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final StudentProgressionService studentProgressionService;
+    private final ItemStatisticsService itemStatisticsService;
+    private final ScoreDistributionService scoreDistributionService;
     private final QuizRepository quizRepository;
     private final SubmissionRepository submissionRepository;
     private final SubmissionAnswerRepository submissionAnswerRepository;
-    private final EnrollmentRepository enrollmentRepository;
-    private final UserRepository userRepository;
     private final AnswerRepository answerRepository;
     private final QuestionRepository questionRepository;
+    private final QuizAnswerKeyCache quizAnswerKeyCache;
+    private final IdempotencyKeyIndex idempotencyKeyIndex;
+    private final InFlightSubmissionRegistry inFlightSubmissionRegistry;
+    private final SubmissionDetailsCache submissionDetailsCache;
+    private final GradingQueue gradingQueue;
+    private final SubmissionStorageConfig submissionStorageConfig;
     private final SubmissionMapper submissionMapper;
     private final SecurityUtils securityUtils;
+    private final AccessPolicy accessPolicy;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     public SubmissionDto submitQuiz(Long quizId, List<SubmissionAnswerDto> answers) {
-        Quiz quiz = getQuizOrThrow(quizId);
-        Course course = quiz.getLesson().getCourse();
+        return submitQuiz(quizId, answers, null);
+    }
 
-        Long studentId = securityUtils.getCurrentUserId();
-        if (!isStudentEnrolled(studentId, course.getId())) {
-            throw new AccessDeniedException();
-        }
+    public SubmissionDto submitQuiz(Long quizId, List<SubmissionAnswerDto> answers, String idempotencyKey) {
+        return submitIdempotently(
+                quizId,
+                idempotencyKey,
+                studentId -> createGradedSubmission(quizId, studentId, answers, idempotencyKey),
+                submissionMapper::toDto
+        );
+    }
+
+    public SubmissionStatusDto submitQuizAsync(Long quizId, List<SubmissionAnswerDto> answers) {
+        return submitQuizAsync(quizId, answers, null);
+    }
 
-        User student = getStudentOrThrow(studentId);
+    public SubmissionStatusDto submitQuizAsync(Long quizId, List<SubmissionAnswerDto> answers, String idempotencyKey) {
+        return submitIdempotently(
+                quizId,
+                idempotencyKey,
+                studentId -> createPendingSubmission(quizId, studentId, answers, idempotencyKey),
+                submissionMapper::toStatusDto
+        );
+    }
 
-        validateAnswers(quizId, answers);
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void gradePendingSubmission(Long submissionId) {
+        Submission submission = submissionRepository
+                .findByIdForUpdate(submissionId)
+                .orElse(null);
 
-        Submission submission = createSubmission(quiz, student);
-        Submission savedSubmission = submissionRepository.save(submission);
+        if (submission == null || submission.getStatus() != SubmissionStatus.PENDING) {
+            return;
+        }
 
-        double score = processAnswers(submission, quizId, answers);
+        List<SubmissionAnswerDto> answers = decodeAnswers(submission.getPendingAnswers());
 
-        savedSubmission.setScore(score);
-        submissionRepository.save(savedSubmission);
+        QuizAnswerKey answerKey = quizAnswerKeyCache.get(submission.getQuiz().getId());
+        validateAnswers(answerKey, answers);
 
-        studentProgressionService.updateProgression(student, course);
+        gradeSubmission(submission, answerKey, answers);
+    }
 
-        return submissionMapper.toDto(submission);
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void markSubmissionFailed(Long submissionId) {
+        submissionRepository
+                .findByIdForUpdate(submissionId)
+                .filter(submission -> submission.getStatus() == SubmissionStatus.PENDING)
+                .ifPresent(submission -> {
+                    submission.setStatus(SubmissionStatus.FAILED);
+                    submissionRepository.save(submission);
+                });
     }
 
-    public List<SubmissionDto> getQuizSubmissions(Long quizId) {
+    public SubmissionPageDto getQuizSubmissions(
+            Long quizId,
+            Long studentId,
+            Double minScore,
+            Double maxScore,
+            String cursor,
+            Integer limit
+    ) {
         Quiz quiz = getQuizOrThrow(quizId);
 
         Long teacherId = securityUtils.getCurrentUserId();
-        if (!isCourseCreator(quiz.getLesson().getCourse(), teacherId)) {
+        if (!accessPolicy.isCourseCreator(quiz.getLesson().getCourse(), teacherId)) {
             throw new AccessDeniedException();
         }
 
-        return submissionRepository
-                .findByQuizIdOrderBySubmittedAtDesc(quizId)
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<Submission> submissions;
+        if (cursor == null || cursor.isBlank()) {
+            submissions = submissionRepository.findQuizSubmissionsPage(quizId, studentId, minScore, maxScore, fetchLimit);
+        } else {
+            SubmissionCursor after = SubmissionCursor.decode(cursor);
+            submissions = submissionRepository.findQuizSubmissionsPageBefore(
+                    quizId,
+                    studentId,
+                    minScore,
+                    maxScore,
+                    after.submittedAt(),
+                    after.id(),
+                    fetchLimit
+            );
+        }
+
+        String nextCursor = null;
+        if (submissions.size() > pageSize) {
+            submissions = submissions.subList(0, pageSize);
+            nextCursor = SubmissionCursor.of(submissions.get(pageSize - 1)).encode();
+        }
+
+        List<SubmissionDto> items = submissions
                 .stream()
                 .map(submissionMapper::toDto)
                 .toList();
+
+        return new SubmissionPageDto(items, nextCursor);
     }
 
     public List<SubmissionDto> getMyQuizSubmissions(Long quizId) {
@@ -75,7 +174,7 @@ public class SubmissionService {
         Course course = quiz.getLesson().getCourse();
 
         Long studentId = securityUtils.getCurrentUserId();
-        if (!isStudentEnrolled(studentId, course.getId())) {
+        if (!accessPolicy.isStudentEnrolled(studentId, course.getId())) {
             throw new AccessDeniedException();
         }
 
@@ -87,57 +186,220 @@ public class SubmissionService {
     }
 
     public SubmissionDetailsDto getSubmission(Long id) {
+        Submission submission = getAccessibleSubmission(id);
+
+        return loadSubmissionDetails(submission);
+    }
+
+    public byte[] getSubmissionJson(Long id) {
+        Submission submission = getAccessibleSubmission(id);
+
+        if (submission.getStatus() != SubmissionStatus.GRADED) {
+            return submissionDetailsCache.serialize(loadSubmissionDetails(submission));
+        }
+
+        long keyVersion = quizAnswerKeyCache.version(submission.getQuiz().getId());
+
+        return submissionDetailsCache.get(id, keyVersion, () -> loadSubmissionDetails(submission));
+    }
+
+    public SubmissionStatusDto getSubmissionStatus(Long id) {
         Submission submission = getSubmissionOrThrow(id);
         Course course = submission.getQuiz().getLesson().getCourse();
 
         Long userId = securityUtils.getCurrentUserId();
 
-        if (!isStudentEnrolled(userId, course.getId()) && !isSubmissionCreator(submission, userId) && !isCourseCreator(course, userId)) {
+        if (!accessPolicy.isStudentEnrolled(userId, course.getId()) && !isSubmissionCreator(submission, userId) && !accessPolicy.isCourseCreator(course, userId)) {
             throw new AccessDeniedException();
         }
 
-        return submissionMapper.toDetailsDto(submission);
+        return submissionMapper.toStatusDto(submission);
     }
 
-    private Quiz getQuizOrThrow(Long quizId) {
-        return quizRepository
-                .findById(quizId)
-                .orElseThrow(QuizNotFoundException::new);
+    private <T> T submitIdempotently(
+            Long quizId,
+            String idempotencyKey,
+            Function<Long, Submission> submit,
+            Function<Submission, T> toDto
+    ) {
+        Long studentId = securityUtils.getCurrentUserId();
+
+        if (idempotencyKey == null) {
+            return submitExclusively(studentId, quizId, () -> toDto.apply(submit.apply(studentId)));
+        }
+
+        Lock lock = idempotencyKeyIndex.lockFor(studentId, idempotencyKey);
+
+        lock.lock();
+        try {
+            Long existingId = idempotencyKeyIndex
+                    .find(studentId, idempotencyKey)
+                    .orElse(null);
+
+            if (existingId != null) {
+                return replaySubmission(existingId, quizId, toDto);
+            }
+
+            Submission existing = submissionRepository
+                    .findByStudentIdAndIdempotencyKey(studentId, idempotencyKey)
+                    .orElse(null);
+
+            if (existing != null) {
+                idempotencyKeyIndex.remember(studentId, idempotencyKey, existing.getId());
+                return replaySubmission(existing.getId(), quizId, toDto);
+            }
+
+            Submission submission;
+            try {
+                submission = submitExclusively(studentId, quizId, () -> submit.apply(studentId));
+            } catch (DataIntegrityViolationException exception) {
+                Submission winner = submissionRepository
+                        .findByStudentIdAndIdempotencyKey(studentId, idempotencyKey)
+                        .orElseThrow(() -> exception);
+
+                idempotencyKeyIndex.remember(studentId, idempotencyKey, winner.getId());
+                return replaySubmission(winner.getId(), quizId, toDto);
+            }
+
+            idempotencyKeyIndex.remember(studentId, idempotencyKey, submission.getId());
+            return toDto.apply(submission);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    private User getStudentOrThrow(Long studentId) {
-        return userRepository
-                .findById(studentId)
-                .orElseThrow(UserNotFoundException::new);
+    private <T> T submitExclusively(Long studentId, Long quizId, Supplier<T> submit) {
+        if (!inFlightSubmissionRegistry.tryAcquire(studentId, quizId)) {
+            throw new SubmissionInProgressException();
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                if (submissionStorageConfig.isAdvisoryLocksEnabled()
+                        && !submissionRepository.tryLockStudentQuiz(studentId, quizId)) {
+                    throw new SubmissionInProgressException();
+                }
+
+                return submit.get();
+            });
+        } finally {
+            inFlightSubmissionRegistry.release(studentId, quizId);
+        }
     }
 
-    private Submission getSubmissionOrThrow(Long submissionId) {
-        return submissionRepository
-                .findById(submissionId)
+    private <T> T replaySubmission(Long submissionId, Long quizId, Function<Submission, T> toDto) {
+        return transactionTemplate.execute(status -> {
+            Submission submission = getSubmissionOrThrow(submissionId);
+
+            if (!submission.getQuiz().getId().equals(quizId)) {
+                throw new IdempotencyKeyReusedException();
+            }
+
+            return toDto.apply(submission);
+        });
+    }
+
+    private Submission createGradedSubmission(
+            Long quizId,
+            Long studentId,
+            List<SubmissionAnswerDto> answers,
+            String idempotencyKey
+    ) {
+        Quiz quiz = getQuizOrThrow(quizId);
+        Course course = quiz.getLesson().getCourse();
+
+        if (!accessPolicy.isStudentEnrolled(studentId, course.getId())) {
+            throw new AccessDeniedException();
+        }
+
+        User student = securityUtils.getCurrentUserReference();
+
+        QuizAnswerKey answerKey = quizAnswerKeyCache.get(quizId);
+        validateAnswers(answerKey, answers);
+
+        if (usesDatabaseScoring()) {
+            return insertGradedSubmission(quiz, student, answers, idempotencyKey);
+        }
+
+        Submission submission = createSubmission(quiz, student, idempotencyKey);
+        gradeSubmission(submission, answerKey, answers);
+
+        return submission;
+    }
+
+    private Submission createPendingSubmission(
+            Long quizId,
+            Long studentId,
+            List<SubmissionAnswerDto> answers,
+            String idempotencyKey
+    ) {
+        Quiz quiz = getQuizOrThrow(quizId);
+        Course course = quiz.getLesson().getCourse();
+
+        if (!accessPolicy.isStudentEnrolled(studentId, course.getId())) {
+            throw new AccessDeniedException();
+        }
+
+        User student = securityUtils.getCurrentUserReference();
+
+        QuizAnswerKey answerKey = quizAnswerKeyCache.get(quizId);
+        validateAnswers(answerKey, answers);
+
+        if (!gradingQueue.hasCapacity()) {
+            throw new GradingQueueFullException();
+        }
+
+        Submission submission = createSubmission(quiz, student, idempotencyKey);
+        submission.setStatus(SubmissionStatus.PENDING);
+        submission.setPendingAnswers(encodeAnswers(answers));
+        submissionRepository.save(submission);
+
+        eventPublisher.publishEvent(new SubmissionReceivedEvent(submission.getId()));
+
+        return submission;
+    }
+
+    private Submission getAccessibleSubmission(Long id) {
+        Submission submission = submissionRepository
+                .findWithCourseById(id)
                 .orElseThrow(SubmissionNotFoundException::new);
+        Course course = submission.getQuiz().getLesson().getCourse();
+
+        Long userId = securityUtils.getCurrentUserId();
+
+        if (!accessPolicy.isStudentEnrolled(userId, course.getId()) && !isSubmissionCreator(submission, userId) && !accessPolicy.isCourseCreator(course, userId)) {
+            throw new AccessDeniedException();
+        }
+
+        return submission;
     }
 
-    private Answer getAnswerOrThrow(Long answerId) {
-        return answerRepository
-                .findById(answerId)
-                .orElseThrow(AnswerNotFoundException::new);
+    private SubmissionDetailsDto loadSubmissionDetails(Submission submission) {
+        List<SubmissionAnswerDetailsRow> answers = submission.getAnswerVector() == null
+                ? submissionAnswerRepository.findDetailsBySubmissionId(submission.getId())
+                : submissionAnswerRepository.findDetailsByAnswerIds(AnswerVectorCodec.decode(submission.getAnswerVector()));
+
+        return submissionMapper.toDetailsDto(submission, answers);
     }
 
-    private boolean isStudentEnrolled(Long studentId, Long courseId) {
-        return enrollmentRepository.existsById(new EnrollmentId(studentId, courseId));
+    private Quiz getQuizOrThrow(Long quizId) {
+        return quizRepository
+                .findById(quizId)
+                .orElseThrow(QuizNotFoundException::new);
     }
 
-    private boolean isCourseCreator(Course course, Long teacherId) {
-        return course.getCreatedBy().getId().equals(teacherId);
+    private Submission getSubmissionOrThrow(Long submissionId) {
+        return submissionRepository
+                .findById(submissionId)
+                .orElseThrow(SubmissionNotFoundException::new);
     }
 
     private boolean isSubmissionCreator(Submission submission, Long studentId) {
         return submission.getStudent().getId().equals(studentId);
     }
 
-    private void validateAnswers(Long quizId, List<SubmissionAnswerDto> answers) {
-        long totalQuestions = questionRepository.countByQuizId(quizId);
-        if (answers.size() != totalQuestions) {
+    private void validateAnswers(QuizAnswerKey answerKey, List<SubmissionAnswerDto> answers) {
+        if (answers.size() != answerKey.getQuestionCount()) {
             throw new UnansweredQuestionsException();
         }
 
@@ -147,26 +409,73 @@ public class SubmissionService {
                 throw new QuestionAlreadyAnsweredException();
             }
         }
+
+        for (SubmissionAnswerDto dto : answers) {
+            validateAnswer(answerKey, dto);
+        }
     }
 
-    private Submission createSubmission(Quiz quiz, User student) {
+    private Submission createSubmission(Quiz quiz, User student, String idempotencyKey) {
         Submission submission = new Submission();
         submission.setQuiz(quiz);
         submission.setStudent(student);
+        submission.setIdempotencyKey(idempotencyKey);
 
         return submission;
     }
 
-    private double processAnswers(Submission submission, Long quizId, List<SubmissionAnswerDto> answers) {
-        long correct = 0;
+    private void gradeSubmission(Submission submission, QuizAnswerKey answerKey, List<SubmissionAnswerDto> answers) {
+        submission.setScore(gradeAnswers(answerKey, answers));
+        submission.setStatus(SubmissionStatus.GRADED);
+        submission.setPendingAnswers(null);
+        if (submissionStorageConfig.isAnswerVectorsEnabled()) {
+            submission.setAnswerVector(encodeAnswerVector(answers));
+        }
+        submissionRepository.save(submission);
 
-        for (SubmissionAnswerDto dto : answers) {
-            Answer answer = getAnswerOrThrow(dto.getAnswerId());
-            validateAnswer(answer, quizId, dto);
+        if (submission.getAnswerVector() == null) {
+            saveSubmissionAnswers(submission, answers);
+        }
+
+        recordGradedSubmission(submission);
+    }
+
+    private Submission insertGradedSubmission(
+            Quiz quiz,
+            User student,
+            List<SubmissionAnswerDto> answers,
+            String idempotencyKey
+    ) {
+        GradedSubmissionRow row = submissionRepository
+                .insertGradedSubmission(quiz.getId(), student.getId(), idempotencyKey, encodeAnswers(answers), answers.size())
+                .orElseThrow(AnswerNotInQuizException::new);
+
+        Submission submission = createSubmission(quiz, student, idempotencyKey);
+        submission.setId(row.getId());
+        submission.setScore(row.getScore());
+        submission.setSubmittedAt(row.getSubmittedAt());
+        submission.setStatus(SubmissionStatus.GRADED);
+
+        recordGradedSubmission(submission);
+
+        return submission;
+    }
 
-            createSubmissionAnswer(submission, answer);
+    private boolean usesDatabaseScoring() {
+        return submissionStorageConfig.isDatabaseScoringEnabled() && !submissionStorageConfig.isAnswerVectorsEnabled();
+    }
+
+    private void recordGradedSubmission(Submission submission) {
+        studentProgressionService.recordSubmission(submission);
+        itemStatisticsService.recordSubmission(submission.getId());
+        scoreDistributionService.recordSubmission(submission);
+    }
 
-            if (answer.isCorrect()) {
+    private double gradeAnswers(QuizAnswerKey answerKey, List<SubmissionAnswerDto> answers) {
+        long correct = 0;
+
+        for (SubmissionAnswerDto dto : answers) {
+            if (answerKey.isCorrect(dto.getAnswerId())) {
                 correct++;
             }
         }
@@ -174,27 +483,65 @@ public class SubmissionService {
         return ((double) correct / answers.size()) * 100;
     }
 
-    private void createSubmissionAnswer(Submission submission, Answer answer) {
+    private byte[] encodeAnswerVector(List<SubmissionAnswerDto> answers) {
+        return AnswerVectorCodec.encode(answers.stream().map(SubmissionAnswerDto::getAnswerId).toList());
+    }
+
+    private void saveSubmissionAnswers(Submission submission, List<SubmissionAnswerDto> answers) {
+        List<SubmissionAnswer> submissionAnswers = answers
+                .stream()
+                .map(dto -> createSubmissionAnswer(submission, dto))
+                .toList();
+
+        submissionAnswerRepository.saveAll(submissionAnswers);
+    }
+
+    private SubmissionAnswer createSubmissionAnswer(Submission submission, SubmissionAnswerDto dto) {
         SubmissionAnswer submissionAnswer = new SubmissionAnswer();
 
-        SubmissionAnswerId id =  new SubmissionAnswerId();
+        SubmissionAnswerId id = new SubmissionAnswerId();
         id.setSubmissionId(submission.getId());
-        id.setQuestionId(answer.getQuestion().getId());
+        id.setQuestionId(dto.getQuestionId());
         submissionAnswer.setId(id);
 
         submissionAnswer.setSubmission(submission);
-        submissionAnswer.setQuestion(answer.getQuestion());
-        submissionAnswer.setAnswer(answer);
-        submissionAnswerRepository.save(submissionAnswer);
+        submissionAnswer.setStudentId(submission.getStudent().getId());
+        submissionAnswer.setQuestion(questionRepository.getReferenceById(dto.getQuestionId()));
+        submissionAnswer.setAnswer(answerRepository.getReferenceById(dto.getAnswerId()));
+
+        return submissionAnswer;
     }
 
-    private void validateAnswer(Answer answer, Long quizId, SubmissionAnswerDto dto) {
-        if (!answer.getQuestion().getQuiz().getId().equals(quizId)) {
+    private void validateAnswer(QuizAnswerKey answerKey, SubmissionAnswerDto dto) {
+        if (!answerKey.containsAnswer(dto.getAnswerId())) {
+            if (!answerRepository.existsById(dto.getAnswerId())) {
+                throw new AnswerNotFoundException();
+            }
+
             throw new AnswerNotInQuizException();
         }
 
-        if (!answer.getQuestion().getId().equals(dto.getQuestionId())) {
+        if (!answerKey.isAnswerOfQuestion(dto.getAnswerId(), dto.getQuestionId())) {
             throw new AnswerNotInQuestionException();
         }
     }
+
+    private String encodeAnswers(List<SubmissionAnswerDto> answers) {
+        return answers
+                .stream()
+                .map(dto -> dto.getQuestionId() + ":" + dto.getAnswerId())
+                .collect(Collectors.joining(","));
+    }
+
+    private List<SubmissionAnswerDto> decodeAnswers(String encodedAnswers) {
+        if (encodedAnswers == null || encodedAnswers.isEmpty()) {
+            return List.of();
+        }
+
+        return Arrays
+                .stream(encodedAnswers.split(","))
+                .map(pair -> pair.split(":"))
+                .map(pair -> new SubmissionAnswerDto(Long.valueOf(pair[0]), Long.valueOf(pair[1])))
+                .toList();
+    }
 }
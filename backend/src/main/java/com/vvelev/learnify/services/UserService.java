@@ -1,5 +1,6 @@
 package com.vvelev.learnify.services;
 
+import com.vvelev.learnify.caches.ActiveUserCache;
 import com.vvelev.learnify.dtos.user.RegisterUserDto;
 import com.vvelev.learnify.dtos.user.UpdateUserDto;
 import com.vvelev.learnify.dtos.user.UserDto;
@@ -25,6 +26,7 @@ import java.util.List;
 @Service
 public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final ActiveUserCache activeUserCache;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final SecurityUtils securityUtils;
@@ -86,6 +88,7 @@ public class UserService implements UserDetailsService {
 
         userMapper.update(request, user);
         userRepository.save(user);
+        activeUserCache.invalidate(userId);
 
         return userMapper.toDto(user);
     }
@@ -96,6 +99,7 @@ public class UserService implements UserDetailsService {
 
         userMapper.update(request, user);
         userRepository.save(user);
+        activeUserCache.invalidate(userId);
 
         return userMapper.toDto(user);
     }
@@ -110,6 +114,7 @@ public class UserService implements UserDetailsService {
 
         user.setActive(active);
         userRepository.save(user);
+        activeUserCache.invalidate(userId);
 
         return userMapper.toDto(user);
     }
@@ -119,6 +124,7 @@ public class UserService implements UserDetailsService {
         User user = getUserOrThrow(userId);
 
         userRepository.delete(user);
+        activeUserCache.invalidate(userId);
     }
 
     private User getUserByEmailOrThrow(String email) {
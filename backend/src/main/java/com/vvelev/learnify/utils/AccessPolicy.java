@@ -0,0 +1,99 @@
+package com.vvelev.learnify.utils;
+
+import com.vvelev.learnify.caches.CourseAccess;
+import com.vvelev.learnify.caches.CourseAccessCache;
+import com.vvelev.learnify.caches.RosterBitmap;
+import com.vvelev.learnify.entities.Course;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@AllArgsConstructor
+@Component
+public class AccessPolicy {
+    private static final String MEMO_ATTRIBUTE = AccessPolicy.class.getName() + ".memo";
+
+    private final CourseAccessCache courseAccessCache;
+
+    public boolean courseExists(Long courseId) {
+        return access(courseId).isPresent();
+    }
+
+    public boolean isCourseCreator(Course course, Long userId) {
+        return course.getCreatedBy().getId().equals(userId);
+    }
+
+    public boolean isCourseCreator(Long courseId, Long userId) {
+        return access(courseId)
+                .map(access -> access.isOwner(userId))
+                .orElse(false);
+    }
+
+    public boolean isStudentEnrolled(Long studentId, Long courseId) {
+        return access(courseId)
+                .map(access -> access.isEnrolled(studentId))
+                .orElse(false);
+    }
+
+    public Optional<RosterBitmap> roster(Long courseId) {
+        return access(courseId).map(CourseAccess::getRoster);
+    }
+
+    public void studentEnrolled(Long courseId, Long studentId) {
+        Map<Long, Optional<CourseAccess>> memo = memo();
+        if (memo != null) {
+            memo.computeIfPresent(courseId, (id, access) -> access.map(value -> value.withStudent(studentId)));
+        }
+
+        courseAccessCache.addStudent(courseId, studentId);
+    }
+
+    public void studentUnenrolled(Long courseId, Long studentId) {
+        Map<Long, Optional<CourseAccess>> memo = memo();
+        if (memo != null) {
+            memo.computeIfPresent(courseId, (id, access) -> access.map(value -> value.withoutStudent(studentId)));
+        }
+
+        courseAccessCache.removeStudent(courseId, studentId);
+    }
+
+    public void evictCourse(Long courseId) {
+        Map<Long, Optional<CourseAccess>> memo = memo();
+        if (memo != null) {
+            memo.remove(courseId);
+        }
+
+        courseAccessCache.invalidate(courseId);
+    }
+
+    private Optional<CourseAccess> access(Long courseId) {
+        Map<Long, Optional<CourseAccess>> memo = memo();
+        if (memo == null) {
+            return courseAccessCache.get(courseId);
+        }
+
+        return memo.computeIfAbsent(courseId, courseAccessCache::get);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Optional<CourseAccess>> memo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+
+        Map<Long, Optional<CourseAccess>> memo = (Map<Long, Optional<CourseAccess>>) attributes
+                .getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return memo;
+    }
+}
@@ -0,0 +1,69 @@
+package com.vvelev.learnify.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AnswerVectorCodec {
+    public static byte[] encode(Collection<Long> answerIds) {
+        long[] sorted = answerIds
+                .stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(sorted.length * 2);
+        long previous = 0;
+        for (long answerId : sorted) {
+            if (answerId <= previous) {
+                throw new IllegalArgumentException("Answer ids must be positive and unique");
+            }
+
+            writeVarint(out, answerId - previous);
+            previous = answerId;
+        }
+
+        return out.toByteArray();
+    }
+
+    public static List<Long> decode(byte[] vector) {
+        List<Long> answerIds = new ArrayList<>();
+
+        long previous = 0;
+        int index = 0;
+        while (index < vector.length) {
+            long delta = 0;
+            int shift = 0;
+            int current;
+
+            do {
+                if (index == vector.length || shift > 56) {
+                    throw new IllegalArgumentException("Malformed answer vector");
+                }
+
+                current = vector[index++] & 0xFF;
+                delta |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while (current >= 0x80);
+
+            previous += delta;
+            answerIds.add(previous);
+        }
+
+        return answerIds;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while (value >= 0x80) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        out.write((int) value);
+    }
+}
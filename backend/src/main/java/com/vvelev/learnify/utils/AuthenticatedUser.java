@@ -0,0 +1,12 @@
+package com.vvelev.learnify.utils;
+
+import com.vvelev.learnify.entities.Role;
+
+import java.security.Principal;
+
+public record AuthenticatedUser(Long id, Role role) implements Principal {
+    @Override
+    public String getName() {
+        return id.toString();
+    }
+}
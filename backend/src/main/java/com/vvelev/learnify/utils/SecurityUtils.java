@@ -1,14 +1,37 @@
 package com.vvelev.learnify.utils;
 
+import com.vvelev.learnify.caches.ActiveUserCache;
+import com.vvelev.learnify.entities.User;
+import com.vvelev.learnify.exceptions.UserNotFoundException;
+import com.vvelev.learnify.repositories.UserRepository;
+import lombok.AllArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+@AllArgsConstructor
 @Component
 public class SecurityUtils {
-    public Long getCurrentUserId() {
-        return (Long) SecurityContextHolder
+    private final ActiveUserCache activeUserCache;
+    private final UserRepository userRepository;
+
+    public AuthenticatedUser getCurrentUser() {
+        return (AuthenticatedUser) SecurityContextHolder
                 .getContext()
                 .getAuthentication()
                 .getPrincipal();
     }
+
+    public Long getCurrentUserId() {
+        return getCurrentUser().id();
+    }
+
+    // A lazy reference: profile fields are loaded from the database only if a mapper reads them.
+    public User getCurrentUserReference() {
+        Long userId = getCurrentUserId();
+        if (!activeUserCache.isActive(userId)) {
+            throw new UserNotFoundException();
+        }
+
+        return userRepository.getReferenceById(userId);
+    }
 }
@@ -0,0 +1,31 @@
+package com.vvelev.learnify.utils;
+
+import com.vvelev.learnify.entities.Submission;
+import com.vvelev.learnify.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record SubmissionCursor(LocalDateTime submittedAt, Long id) {
+    public static SubmissionCursor of(Submission submission) {
+        return new SubmissionCursor(submission.getSubmittedAt(), submission.getId());
+    }
+
+    public static SubmissionCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", 2);
+
+            return new SubmissionCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException exception) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public String encode() {
+        String raw = submittedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,76 @@
+ALTER TABLE submission_answers RENAME TO submission_answers_unpartitioned;
+ALTER TABLE submission_answers_unpartitioned RENAME CONSTRAINT submission_answers_pkey TO submission_answers_unpartitioned_pkey;
+
+ALTER TABLE submissions RENAME TO submissions_unpartitioned;
+ALTER TABLE submissions_unpartitioned RENAME CONSTRAINT submissions_pkey TO submissions_unpartitioned_pkey;
+
+CREATE TABLE submissions (
+	id integer NOT NULL DEFAULT nextval('submissions_id_seq'),
+	quiz_id integer NOT NULL,
+	student_id integer NOT NULL,
+	score numeric(5, 2),
+	submitted_at timestamp NOT NULL DEFAULT current_timestamp,
+	status varchar(50) NOT NULL DEFAULT 'GRADED',
+	pending_answers text,
+	idempotency_key varchar(255),
+	PRIMARY KEY (id, student_id),
+	FOREIGN KEY (quiz_id) REFERENCES quizzes(id) ON DELETE CASCADE,
+	FOREIGN KEY (student_id) REFERENCES users(id) ON DELETE CASCADE
+) PARTITION BY HASH (student_id);
+
+CREATE TABLE submissions_p0 PARTITION OF submissions FOR VALUES WITH (MODULUS 8, REMAINDER 0);
+CREATE TABLE submissions_p1 PARTITION OF submissions FOR VALUES WITH (MODULUS 8, REMAINDER 1);
+CREATE TABLE submissions_p2 PARTITION OF submissions FOR VALUES WITH (MODULUS 8, REMAINDER 2);
+CREATE TABLE submissions_p3 PARTITION OF submissions FOR VALUES WITH (MODULUS 8, REMAINDER 3);
+CREATE TABLE submissions_p4 PARTITION OF submissions FOR VALUES WITH (MODULUS 8, REMAINDER 4);
+CREATE TABLE submissions_p5 PARTITION OF submissions FOR VALUES WITH (MODULUS 8, REMAINDER 5);
+CREATE TABLE submissions_p6 PARTITION OF submissions FOR VALUES WITH (MODULUS 8, REMAINDER 6);
+CREATE TABLE submissions_p7 PARTITION OF submissions FOR VALUES WITH (MODULUS 8, REMAINDER 7);
+
+CREATE TABLE submission_answers (
+	submission_id integer NOT NULL,
+	student_id integer NOT NULL,
+	question_id integer NOT NULL,
+	answer_id integer,
+	PRIMARY KEY (submission_id, question_id, student_id),
+	FOREIGN KEY (submission_id, student_id) REFERENCES submissions(id, student_id) ON DELETE CASCADE,
+	FOREIGN KEY (question_id) REFERENCES questions(id) ON DELETE CASCADE,
+	FOREIGN KEY (answer_id) REFERENCES answers(id) ON DELETE CASCADE
+) PARTITION BY HASH (student_id);
+
+CREATE TABLE submission_answers_p0 PARTITION OF submission_answers FOR VALUES WITH (MODULUS 8, REMAINDER 0);
+CREATE TABLE submission_answers_p1 PARTITION OF submission_answers FOR VALUES WITH (MODULUS 8, REMAINDER 1);
+CREATE TABLE submission_answers_p2 PARTITION OF submission_answers FOR VALUES WITH (MODULUS 8, REMAINDER 2);
+CREATE TABLE submission_answers_p3 PARTITION OF submission_answers FOR VALUES WITH (MODULUS 8, REMAINDER 3);
+CREATE TABLE submission_answers_p4 PARTITION OF submission_answers FOR VALUES WITH (MODULUS 8, REMAINDER 4);
+CREATE TABLE submission_answers_p5 PARTITION OF submission_answers FOR VALUES WITH (MODULUS 8, REMAINDER 5);
+CREATE TABLE submission_answers_p6 PARTITION OF submission_answers FOR VALUES WITH (MODULUS 8, REMAINDER 6);
+CREATE TABLE submission_answers_p7 PARTITION OF submission_answers FOR VALUES WITH (MODULUS 8, REMAINDER 7);
+
+INSERT INTO submissions (
+    id, quiz_id, student_id, score, submitted_at, status, pending_answers, idempotency_key
+)
+SELECT id, quiz_id, student_id, score, submitted_at, status, pending_answers, idempotency_key
+FROM submissions_unpartitioned;
+
+INSERT INTO submission_answers (submission_id, student_id, question_id, answer_id)
+SELECT sa.submission_id, s.student_id, sa.question_id, sa.answer_id
+FROM submission_answers_unpartitioned sa
+JOIN submissions_unpartitioned s ON s.id = sa.submission_id;
+
+ALTER SEQUENCE submissions_id_seq OWNED BY submissions.id;
+
+DROP TABLE submission_answers_unpartitioned;
+DROP TABLE submissions_unpartitioned;
+
+CREATE INDEX submissions_pending_idx ON submissions (id) WHERE status = 'PENDING';
+
+CREATE UNIQUE INDEX submissions_student_id_idempotency_key_idx
+    ON submissions (student_id, idempotency_key)
+    WHERE idempotency_key IS NOT NULL;
+
+CREATE INDEX submissions_quiz_id_submitted_at_id_idx
+    ON submissions (quiz_id, submitted_at DESC, id DESC);
+
+CREATE INDEX submissions_student_id_quiz_id_idx
+    ON submissions (student_id, quiz_id);
@@ -0,0 +1,41 @@
+ALTER TABLE submissions
+ADD COLUMN answer_vector bytea;
+
+CREATE FUNCTION answer_vector_ids(vector bytea)
+RETURNS SETOF integer
+LANGUAGE plpgsql IMMUTABLE STRICT
+AS $$
+DECLARE
+    byte_index integer := 0;
+    current_byte integer;
+    delta bigint;
+    shift integer;
+    answer_id bigint := 0;
+BEGIN
+    WHILE byte_index < length(vector) LOOP
+        delta := 0;
+        shift := 0;
+
+        LOOP
+            current_byte := get_byte(vector, byte_index);
+            byte_index := byte_index + 1;
+            delta := delta | ((current_byte & 127)::bigint << shift);
+            EXIT WHEN current_byte < 128;
+            shift := shift + 7;
+        END LOOP;
+
+        answer_id := answer_id + delta;
+        RETURN NEXT answer_id::integer;
+    END LOOP;
+END;
+$$;
+
+CREATE VIEW submission_choices AS
+SELECT sa.submission_id, sa.student_id, sa.question_id, sa.answer_id
+FROM submission_answers sa
+UNION ALL
+SELECT s.id, s.student_id, a.question_id, a.id
+FROM submissions s
+CROSS JOIN LATERAL answer_vector_ids(s.answer_vector) AS v(answer_id)
+JOIN answers a ON a.id = v.answer_id
+WHERE s.answer_vector IS NOT NULL;
@@ -0,0 +1,11 @@
+CREATE TABLE progression_deltas (
+	submission_id integer NOT NULL,
+	student_id integer NOT NULL,
+	course_id integer NOT NULL,
+	PRIMARY KEY (submission_id, student_id),
+	FOREIGN KEY (submission_id, student_id) REFERENCES submissions(id, student_id) ON DELETE CASCADE,
+	FOREIGN KEY (course_id) REFERENCES courses(id) ON DELETE CASCADE
+);
+
+CREATE INDEX progression_deltas_student_id_course_id_idx
+    ON progression_deltas (student_id, course_id);
@@ -0,0 +1,25 @@
+CREATE FUNCTION answer_vector_encode(answer_ids integer[])
+RETURNS bytea
+LANGUAGE plpgsql IMMUTABLE STRICT
+AS $$
+DECLARE
+    vector bytea := '';
+    answer_id integer;
+    previous bigint := 0;
+    delta bigint;
+BEGIN
+    FOREACH answer_id IN ARRAY answer_ids LOOP
+        delta := answer_id - previous;
+
+        WHILE delta >= 128 LOOP
+            vector := vector || set_byte('\x00'::bytea, 0, ((delta & 127) | 128)::integer);
+            delta := delta >> 7;
+        END LOOP;
+
+        vector := vector || set_byte('\x00'::bytea, 0, delta::integer);
+        previous := answer_id;
+    END LOOP;
+
+    RETURN vector;
+END;
+$$;
@@ -0,0 +1,18 @@
+CREATE TABLE attempted_quizzes (
+	student_id integer NOT NULL,
+	quiz_id integer NOT NULL,
+	PRIMARY KEY (student_id, quiz_id),
+	FOREIGN KEY (student_id) REFERENCES users(id) ON DELETE CASCADE,
+	FOREIGN KEY (quiz_id) REFERENCES quizzes(id) ON DELETE CASCADE
+);
+
+INSERT INTO attempted_quizzes (student_id, quiz_id)
+SELECT DISTINCT s.student_id, s.quiz_id
+FROM submissions s
+WHERE s.status = 'GRADED'
+AND NOT EXISTS (
+	SELECT 1
+	FROM progression_deltas d
+	WHERE d.submission_id = s.id
+	AND d.student_id = s.student_id
+);
@@ -0,0 +1,7 @@
+ALTER TABLE submissions
+ADD COLUMN status VARCHAR(50) NOT NULL DEFAULT 'GRADED';
+
+ALTER TABLE submissions
+ADD COLUMN pending_answers text;
+
+CREATE INDEX submissions_pending_idx ON submissions (id) WHERE status = 'PENDING';
@@ -0,0 +1,25 @@
+ALTER TABLE student_progressions
+ADD COLUMN score_sum double precision NOT NULL DEFAULT 0,
+ADD COLUMN submission_count integer NOT NULL DEFAULT 0,
+ADD COLUMN quizzes_attempted integer NOT NULL DEFAULT 0;
+
+UPDATE student_progressions sp
+SET score_sum = totals.score_sum,
+    submission_count = totals.submission_count,
+    quizzes_attempted = totals.quizzes_attempted
+FROM (
+    SELECT s.student_id,
+           l.course_id,
+           COALESCE(SUM(s.score), 0) AS score_sum,
+           COUNT(*) AS submission_count,
+           COUNT(DISTINCT s.quiz_id) AS quizzes_attempted
+    FROM submissions s
+    JOIN quizzes q ON q.id = s.quiz_id
+    JOIN lessons l ON l.id = q.lesson_id
+    WHERE s.status = 'GRADED'
+    GROUP BY s.student_id, l.course_id
+) totals
+WHERE sp.student_id = totals.student_id
+AND sp.course_id = totals.course_id;
+
+CREATE INDEX submissions_student_id_quiz_id_idx ON submissions (student_id, quiz_id);
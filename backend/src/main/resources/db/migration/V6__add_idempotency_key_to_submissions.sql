@@ -0,0 +1,6 @@
+ALTER TABLE submissions
+ADD COLUMN idempotency_key varchar(255);
+
+CREATE UNIQUE INDEX submissions_student_id_idempotency_key_idx
+    ON submissions (student_id, idempotency_key)
+    WHERE idempotency_key IS NOT NULL;
@@ -0,0 +1,2 @@
+CREATE INDEX submissions_quiz_id_submitted_at_id_idx
+    ON submissions (quiz_id, submitted_at DESC, id DESC);
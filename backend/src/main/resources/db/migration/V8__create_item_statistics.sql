@@ -0,0 +1,38 @@
+CREATE TABLE question_statistics (
+	question_id integer PRIMARY KEY,
+	response_count bigint NOT NULL DEFAULT 0,
+	correct_count bigint NOT NULL DEFAULT 0,
+	score_sum double precision NOT NULL DEFAULT 0,
+	score_square_sum double precision NOT NULL DEFAULT 0,
+	correct_score_sum double precision NOT NULL DEFAULT 0,
+	FOREIGN KEY (question_id) REFERENCES questions(id) ON DELETE CASCADE
+);
+
+CREATE TABLE answer_statistics (
+	answer_id integer PRIMARY KEY,
+	pick_count bigint NOT NULL DEFAULT 0,
+	FOREIGN KEY (answer_id) REFERENCES answers(id) ON DELETE CASCADE
+);
+
+INSERT INTO question_statistics (
+    question_id, response_count, correct_count, score_sum, score_square_sum, correct_score_sum
+)
+SELECT sa.question_id,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE a.is_correct),
+       COALESCE(SUM(s.score), 0),
+       COALESCE(SUM(s.score * s.score), 0),
+       COALESCE(SUM(s.score) FILTER (WHERE a.is_correct), 0)
+FROM submission_answers sa
+JOIN submissions s ON s.id = sa.submission_id
+LEFT JOIN answers a ON a.id = sa.answer_id
+WHERE s.status = 'GRADED'
+GROUP BY sa.question_id;
+
+INSERT INTO answer_statistics (answer_id, pick_count)
+SELECT sa.answer_id, COUNT(*)
+FROM submission_answers sa
+JOIN submissions s ON s.id = sa.submission_id
+WHERE s.status = 'GRADED'
+AND sa.answer_id IS NOT NULL
+GROUP BY sa.answer_id;
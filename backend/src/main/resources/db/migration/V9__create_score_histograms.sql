@@ -0,0 +1,16 @@
+CREATE TABLE score_histograms (
+	quiz_id integer NOT NULL,
+	bucket smallint NOT NULL,
+	submission_count bigint NOT NULL DEFAULT 0,
+	PRIMARY KEY (quiz_id, bucket),
+	FOREIGN KEY (quiz_id) REFERENCES quizzes(id) ON DELETE CASCADE
+);
+
+INSERT INTO score_histograms (quiz_id, bucket, submission_count)
+SELECT s.quiz_id,
+       LEAST(GREATEST(FLOOR(s.score), 0), 100),
+       COUNT(*)
+FROM submissions s
+WHERE s.status = 'GRADED'
+AND s.score IS NOT NULL
+GROUP BY s.quiz_id, LEAST(GREATEST(FLOOR(s.score), 0), 100);
@@ -0,0 +1,112 @@
+package com.vvelev.learnify.buffers;
+
+import com.vvelev.learnify.caches.CourseLeaderboard;
+import com.vvelev.learnify.repositories.StudentProgressionRepository;
+import com.vvelev.learnify.repositories.projections.ProgressionKeyRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProgressionDeltaBufferTest {
+    @Mock private StudentProgressionRepository studentProgressionRepository;
+    @Mock private CourseLeaderboard courseLeaderboard;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ProgressionDeltaBuffer progressionDeltaBuffer;
+
+    @BeforeEach
+    void setUp() {
+        progressionDeltaBuffer = new ProgressionDeltaBuffer(
+                studentProgressionRepository,
+                courseLeaderboard,
+                transactionManager,
+                2
+        );
+    }
+
+    @Test
+    void add_ShouldQueueDeltaInDatabase() {
+        progressionDeltaBuffer.add(7L, 2L, 1L);
+
+        verify(studentProgressionRepository, times(1)).enqueueProgressionDelta(7L, 2L, 1L);
+        verifyNoInteractions(courseLeaderboard);
+    }
+
+    @Test
+    void flushAll_ShouldDrainInBatchesUntilQueueIsEmpty() {
+        when(studentProgressionRepository.drainProgressionDeltas(null, null, 2))
+                .thenReturn(List.of(row(2L, 1L), row(3L, 1L)))
+                .thenReturn(List.of(row(4L, 9L)))
+                .thenReturn(List.of());
+
+        progressionDeltaBuffer.flushAll();
+
+        verify(studentProgressionRepository, times(3)).drainProgressionDeltas(null, null, 2);
+        verify(transactionManager, times(3)).commit(any());
+        verify(courseLeaderboard, times(1)).refresh(1L, List.of(2L, 3L));
+        verify(courseLeaderboard, times(1)).refresh(9L, List.of(4L));
+    }
+
+    @Test
+    void flush_ShouldOnlyDrainRequestedStudentAndCourse() {
+        when(studentProgressionRepository.drainProgressionDeltas(2L, 1L, 2))
+                .thenReturn(List.of(row(2L, 1L)))
+                .thenReturn(List.of());
+
+        progressionDeltaBuffer.flush(2L, 1L);
+
+        verify(studentProgressionRepository, times(2)).drainProgressionDeltas(2L, 1L, 2);
+        verify(courseLeaderboard, times(1)).refresh(1L, List.of(2L));
+    }
+
+    @Test
+    void flushCourse_ShouldDrainOnlyThatCourse() {
+        when(studentProgressionRepository.drainProgressionDeltas(null, 1L, 2)).thenReturn(List.of());
+
+        progressionDeltaBuffer.flushCourse(1L);
+
+        verify(studentProgressionRepository, times(1)).drainProgressionDeltas(null, 1L, 2);
+        verifyNoInteractions(courseLeaderboard);
+    }
+
+    @Test
+    void flushAll_ShouldLeaveDeltasQueued_WhenDrainFails() {
+        when(studentProgressionRepository.drainProgressionDeltas(null, null, 2))
+                .thenThrow(new RuntimeException("deadlock detected"));
+
+        progressionDeltaBuffer.flushAll();
+
+        verify(transactionManager, times(1)).rollback(any());
+        verifyNoInteractions(courseLeaderboard);
+    }
+
+    @Test
+    void discard_ShouldDeleteQueuedDeltas() {
+        progressionDeltaBuffer.discard(2L, 1L);
+
+        verify(studentProgressionRepository, times(1)).deleteProgressionDeltas(2L, 1L);
+    }
+
+    private ProgressionKeyRow row(Long studentId, Long courseId) {
+        return new ProgressionKeyRow() {
+            @Override
+            public Long getStudentId() {
+                return studentId;
+            }
+
+            @Override
+            public Long getCourseId() {
+                return courseId;
+            }
+        };
+    }
+}
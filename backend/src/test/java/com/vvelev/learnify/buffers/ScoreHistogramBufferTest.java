@@ -0,0 +1,76 @@
+package com.vvelev.learnify.buffers;
+
+import com.vvelev.learnify.repositories.ScoreHistogramRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ScoreHistogramBufferTest {
+    @Mock private ScoreHistogramRepository scoreHistogramRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ScoreHistogramBuffer scoreHistogramBuffer;
+
+    @BeforeEach
+    void setUp() {
+        scoreHistogramBuffer = new ScoreHistogramBuffer(scoreHistogramRepository, transactionManager);
+    }
+
+    @Test
+    void bucketOf_ShouldFloorAndClampScores() {
+        assertEquals(0, ScoreHistogramBuffer.bucketOf(-5.0));
+        assertEquals(66, ScoreHistogramBuffer.bucketOf(66.67));
+        assertEquals(100, ScoreHistogramBuffer.bucketOf(100.0));
+        assertEquals(100, ScoreHistogramBuffer.bucketOf(120.0));
+    }
+
+    @Test
+    void flushAll_ShouldWriteCoalescedCountsInOneTransaction() {
+        scoreHistogramBuffer.add(5L, 80.0);
+        scoreHistogramBuffer.add(5L, 80.5);
+        scoreHistogramBuffer.add(5L, 40.0);
+        scoreHistogramBuffer.add(6L, 80.0);
+
+        assertEquals(3, scoreHistogramBuffer.size());
+
+        scoreHistogramBuffer.flushAll();
+
+        verify(scoreHistogramRepository, times(1)).addToBucket(5L, 80, 2L);
+        verify(scoreHistogramRepository, times(1)).addToBucket(5L, 40, 1L);
+        verify(scoreHistogramRepository, times(1)).addToBucket(6L, 80, 1L);
+        verify(transactionManager, times(1)).commit(any());
+        assertEquals(0, scoreHistogramBuffer.size());
+    }
+
+    @Test
+    void flushAll_ShouldKeepWritingOtherQuizzes_WhenOneQuizFails() {
+        scoreHistogramBuffer.add(5L, 80.0);
+        scoreHistogramBuffer.add(6L, 80.0);
+        when(scoreHistogramRepository.addToBucket(eq(5L), anyInt(), anyLong())).thenThrow(new RuntimeException("gone"));
+
+        scoreHistogramBuffer.flushAll();
+
+        verify(scoreHistogramRepository, atLeastOnce()).addToBucket(6L, 80, 1L);
+        assertEquals(0, scoreHistogramBuffer.size());
+    }
+
+    @Test
+    void discardQuiz_ShouldDropOnlyThatQuiz() {
+        scoreHistogramBuffer.add(5L, 80.0);
+        scoreHistogramBuffer.add(6L, 80.0);
+
+        scoreHistogramBuffer.discardQuiz(5L);
+        scoreHistogramBuffer.flushAll();
+
+        verify(scoreHistogramRepository, never()).addToBucket(eq(5L), anyInt(), anyLong());
+        verify(scoreHistogramRepository, times(1)).addToBucket(6L, 80, 1L);
+    }
+}
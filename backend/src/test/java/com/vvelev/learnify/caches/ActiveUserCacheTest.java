@@ -0,0 +1,45 @@
+package com.vvelev.learnify.caches;
+
+import com.vvelev.learnify.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ActiveUserCacheTest {
+    @Mock private UserRepository userRepository;
+
+    private ActiveUserCache activeUserCache;
+
+    @BeforeEach
+    void setUp() {
+        activeUserCache = new ActiveUserCache(userRepository, new SimpleMeterRegistry(), 100, 30);
+    }
+
+    @Test
+    void isActive_ShouldCheckDatabaseOnce() {
+        when(userRepository.existsByIdAndActiveTrue(1L)).thenReturn(true);
+
+        assertTrue(activeUserCache.isActive(1L));
+        assertTrue(activeUserCache.isActive(1L));
+
+        verify(userRepository, times(1)).existsByIdAndActiveTrue(1L);
+    }
+
+    @Test
+    void invalidate_ShouldRecheckDatabase_WhenUserIsDeactivated() {
+        when(userRepository.existsByIdAndActiveTrue(1L)).thenReturn(true, false);
+
+        assertTrue(activeUserCache.isActive(1L));
+        activeUserCache.invalidate(1L);
+
+        assertFalse(activeUserCache.isActive(1L));
+        verify(userRepository, times(2)).existsByIdAndActiveTrue(1L);
+    }
+}
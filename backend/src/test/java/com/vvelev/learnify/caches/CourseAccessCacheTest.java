@@ -0,0 +1,90 @@
+package com.vvelev.learnify.caches;
+
+import com.vvelev.learnify.repositories.CourseRepository;
+import com.vvelev.learnify.repositories.EnrollmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseAccessCacheTest {
+    @Mock private CourseRepository courseRepository;
+    @Mock private EnrollmentRepository enrollmentRepository;
+
+    private CourseAccessCache courseAccessCache;
+
+    @BeforeEach
+    void setUp() {
+        courseAccessCache = new CourseAccessCache(courseRepository, enrollmentRepository, new SimpleMeterRegistry(), 100, 10);
+    }
+
+    @Test
+    void get_ShouldLoadOwnerAndRosterOnce() {
+        when(courseRepository.findCreatorIdById(3L)).thenReturn(Optional.of(1L));
+        when(enrollmentRepository.findStudentIdsByCourseId(3L)).thenReturn(List.of(9L, 2L, 5L));
+
+        CourseAccess first = courseAccessCache.get(3L).orElseThrow();
+        CourseAccess second = courseAccessCache.get(3L).orElseThrow();
+
+        assertSame(first, second);
+        assertTrue(first.isOwner(1L));
+        assertTrue(first.isEnrolled(5L));
+        assertFalse(first.isEnrolled(4L));
+        assertEquals(3, first.getStudentCount());
+        verify(enrollmentRepository, times(1)).findStudentIdsByCourseId(3L);
+    }
+
+    @Test
+    void get_ShouldNotCacheMissingCourse() {
+        when(courseRepository.findCreatorIdById(3L)).thenReturn(Optional.empty());
+
+        assertTrue(courseAccessCache.get(3L).isEmpty());
+        assertTrue(courseAccessCache.get(3L).isEmpty());
+
+        verify(courseRepository, times(2)).findCreatorIdById(3L);
+        verifyNoInteractions(enrollmentRepository);
+    }
+
+    @Test
+    void invalidate_ShouldReloadRoster_WhenNoTransactionIsActive() {
+        when(courseRepository.findCreatorIdById(3L)).thenReturn(Optional.of(1L));
+        when(enrollmentRepository.findStudentIdsByCourseId(3L)).thenReturn(List.of(2L), List.of(2L, 7L));
+
+        assertFalse(courseAccessCache.get(3L).orElseThrow().isEnrolled(7L));
+
+        courseAccessCache.invalidate(3L);
+
+        assertTrue(courseAccessCache.get(3L).orElseThrow().isEnrolled(7L));
+    }
+
+    @Test
+    void addStudentAndRemoveStudent_ShouldPatchCachedRosterWithoutReloading() {
+        when(courseRepository.findCreatorIdById(3L)).thenReturn(Optional.of(1L));
+        when(enrollmentRepository.findStudentIdsByCourseId(3L)).thenReturn(List.of(2L));
+
+        courseAccessCache.get(3L);
+        courseAccessCache.addStudent(3L, 7L);
+        courseAccessCache.removeStudent(3L, 2L);
+
+        CourseAccess access = courseAccessCache.get(3L).orElseThrow();
+        assertTrue(access.isEnrolled(7L));
+        assertFalse(access.isEnrolled(2L));
+        verify(enrollmentRepository, times(1)).findStudentIdsByCourseId(3L);
+    }
+
+    @Test
+    void addStudent_ShouldIgnoreCourseThatIsNotCached() {
+        courseAccessCache.addStudent(3L, 7L);
+
+        verifyNoInteractions(courseRepository, enrollmentRepository);
+    }
+}
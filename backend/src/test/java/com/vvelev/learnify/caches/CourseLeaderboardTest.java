@@ -0,0 +1,109 @@
+package com.vvelev.learnify.caches;
+
+import com.vvelev.learnify.repositories.StudentProgressionRepository;
+import com.vvelev.learnify.repositories.projections.LeaderboardRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseLeaderboardTest {
+    @Mock private StudentProgressionRepository studentProgressionRepository;
+
+    private CourseLeaderboard courseLeaderboard;
+
+    @BeforeEach
+    void setUp() {
+        courseLeaderboard = new CourseLeaderboard(studentProgressionRepository);
+
+        when(studentProgressionRepository.findLeaderboardRows()).thenReturn(List.of(
+                row(1L, 10L, 70.0),
+                row(1L, 11L, 90.0),
+                row(1L, 12L, 70.0),
+                row(1L, 13L, 50.0),
+                row(2L, 10L, 20.0)
+        ));
+        courseLeaderboard.rebuild();
+    }
+
+    @Test
+    void top_ShouldOrderByScoreAndShareRanksOnTies() {
+        List<CourseLeaderboard.Standing> top = courseLeaderboard.top(1L, 3);
+
+        assertEquals(3, top.size());
+        assertEquals(11L, top.get(0).studentId());
+        assertEquals(1, top.get(0).rank());
+        assertEquals(10L, top.get(1).studentId());
+        assertEquals(2, top.get(1).rank());
+        assertEquals(12L, top.get(2).studentId());
+        assertEquals(2, top.get(2).rank());
+        assertEquals(4, top.get(2).studentCount());
+    }
+
+    @Test
+    void standing_ShouldCountOnlyStrictlyHigherScores() {
+        assertEquals(1, courseLeaderboard.standing(1L, 11L).orElseThrow().rank());
+        assertEquals(2, courseLeaderboard.standing(1L, 12L).orElseThrow().rank());
+        assertEquals(4, courseLeaderboard.standing(1L, 13L).orElseThrow().rank());
+        assertEquals(1, courseLeaderboard.standing(2L, 10L).orElseThrow().rank());
+        assertTrue(courseLeaderboard.standing(1L, 99L).isEmpty());
+        assertTrue(courseLeaderboard.standing(3L, 10L).isEmpty());
+    }
+
+    @Test
+    void refresh_ShouldMoveStudentAndDropMissingProgressions() {
+        when(studentProgressionRepository.findLeaderboardRowsByCourseIdAndStudentIdIn(1L, List.of(13L, 12L)))
+                .thenReturn(List.of(row(1L, 13L, 95.0)));
+
+        courseLeaderboard.refresh(1L, List.of(13L, 12L));
+
+        assertEquals(1, courseLeaderboard.standing(1L, 13L).orElseThrow().rank());
+        assertEquals(2, courseLeaderboard.standing(1L, 11L).orElseThrow().rank());
+        assertTrue(courseLeaderboard.standing(1L, 12L).isEmpty());
+        assertEquals(3, courseLeaderboard.top(1L, 10).size());
+    }
+
+    @Test
+    void remove_ShouldDropStudentFromRanking() {
+        courseLeaderboard.remove(1L, 11L);
+
+        assertEquals(1, courseLeaderboard.standing(1L, 10L).orElseThrow().rank());
+        assertEquals(3, courseLeaderboard.standing(1L, 10L).orElseThrow().studentCount());
+    }
+
+    @Test
+    void rebuild_ShouldDropCoursesThatNoLongerHaveProgressions() {
+        when(studentProgressionRepository.findLeaderboardRows()).thenReturn(List.of(row(1L, 10L, 70.0)));
+
+        courseLeaderboard.rebuild();
+
+        assertTrue(courseLeaderboard.top(2L, 10).isEmpty());
+        assertEquals(1, courseLeaderboard.top(1L, 10).size());
+    }
+
+    private static LeaderboardRow row(Long courseId, Long studentId, Double averageScore) {
+        return new LeaderboardRow() {
+            @Override
+            public Long getCourseId() {
+                return courseId;
+            }
+
+            @Override
+            public Long getStudentId() {
+                return studentId;
+            }
+
+            @Override
+            public Double getAverageScore() {
+                return averageScore;
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.vvelev.learnify.caches;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyKeyIndexTest {
+    private IdempotencyKeyIndex idempotencyKeyIndex;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyKeyIndex = new IdempotencyKeyIndex(60);
+    }
+
+    @Test
+    void find_ShouldReturnRememberedSubmissionId_ForSameStudentAndKey() {
+        idempotencyKeyIndex.remember(1L, "key-1", 10L);
+
+        assertEquals(Optional.of(10L), idempotencyKeyIndex.find(1L, "key-1"));
+        assertEquals(Optional.empty(), idempotencyKeyIndex.find(2L, "key-1"));
+        assertEquals(Optional.empty(), idempotencyKeyIndex.find(1L, "key-2"));
+    }
+
+    @Test
+    void lockFor_ShouldReturnSameLock_ForSameStudentAndKey() {
+        assertSame(idempotencyKeyIndex.lockFor(1L, "key-1"), idempotencyKeyIndex.lockFor(1L, "key-1"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.vvelev.learnify.caches;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RosterBitmapTest {
+    @Test
+    void of_ShouldDeduplicateAndKeepIdsSorted() {
+        RosterBitmap roster = RosterBitmap.of(List.of(70_000L, 5L, 3L, 5L));
+
+        assertEquals(3, roster.cardinality());
+        assertArrayEquals(new long[] {3L, 5L, 70_000L}, roster.toArray());
+        assertTrue(roster.contains(70_000L));
+        assertFalse(roster.contains(4L));
+        assertFalse(roster.contains(null));
+    }
+
+    @Test
+    void of_ShouldRejectIdsOutsideOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> RosterBitmap.of(List.of(-1L)));
+        assertThrows(IllegalArgumentException.class, () -> RosterBitmap.of(List.of(1L << 32)));
+    }
+
+    @Test
+    void withAndWithout_ShouldLeaveOriginalUntouched() {
+        RosterBitmap roster = RosterBitmap.of(List.of(1L, 2L));
+
+        RosterBitmap added = roster.with(100_000L);
+        RosterBitmap removed = added.without(1L);
+
+        assertEquals(2, roster.cardinality());
+        assertFalse(roster.contains(100_000L));
+        assertArrayEquals(new long[] {1L, 2L, 100_000L}, added.toArray());
+        assertArrayEquals(new long[] {2L, 100_000L}, removed.toArray());
+        assertSame(removed, removed.with(2L));
+        assertSame(removed, removed.without(3L));
+        assertTrue(removed.without(2L).without(100_000L).isEmpty());
+    }
+
+    @Test
+    void with_ShouldSwitchToBitmapContainerAndBack_WhenChunkGrowsDense() {
+        List<Long> ids = new ArrayList<>();
+        LongStream.range(0, 4096).forEach(id -> ids.add(id * 2));
+        RosterBitmap roster = RosterBitmap.of(ids);
+
+        RosterBitmap dense = roster.with(1L);
+        assertEquals(4097, dense.cardinality());
+        assertTrue(dense.contains(1L));
+        assertTrue(dense.contains(8190L));
+        assertFalse(dense.contains(3L));
+
+        RosterBitmap sparse = dense.without(0L);
+        assertEquals(4096, sparse.cardinality());
+        assertFalse(sparse.contains(0L));
+        assertTrue(sparse.contains(1L));
+        assertEquals(1L, sparse.toArray()[0]);
+    }
+
+    @Test
+    void andCardinality_ShouldCountSharedIdsAcrossContainerTypes() {
+        RosterBitmap dense = RosterBitmap.of(LongStream.range(0, 10_000).boxed().toList());
+        RosterBitmap sparse = RosterBitmap.of(List.of(3L, 9_999L, 10_000L, 200_000L));
+        RosterBitmap other = RosterBitmap.of(List.of(3L, 200_000L, 300_000L));
+
+        assertEquals(2, dense.andCardinality(sparse));
+        assertEquals(2, sparse.andCardinality(dense));
+        assertEquals(2, sparse.andCardinality(other));
+        assertEquals(10_000, dense.andCardinality(dense));
+        assertEquals(0, dense.andCardinality(RosterBitmap.empty()));
+    }
+
+    @Test
+    void andNot_ShouldReturnIdsMissingFromOther() {
+        RosterBitmap roster = RosterBitmap.of(List.of(1L, 2L, 3L, 70_000L));
+
+        assertArrayEquals(new long[] {2L, 70_000L}, roster.andNot(RosterBitmap.of(List.of(1L, 3L, 4L))).toArray());
+        assertSame(roster, roster.andNot(RosterBitmap.empty()));
+        assertTrue(roster.andNot(roster).isEmpty());
+    }
+}
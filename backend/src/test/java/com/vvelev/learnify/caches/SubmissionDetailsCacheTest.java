@@ -0,0 +1,60 @@
+package com.vvelev.learnify.caches;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vvelev.learnify.dtos.submission.SubmissionDetailsDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubmissionDetailsCacheTest {
+    private SubmissionDetailsCache submissionDetailsCache;
+
+    @BeforeEach
+    void setUp() {
+        submissionDetailsCache = new SubmissionDetailsCache(
+                new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry(),
+                1024 * 1024
+        );
+    }
+
+    @Test
+    void get_ShouldLoadOncePerKeyVersion() {
+        AtomicInteger loads = new AtomicInteger();
+        SubmissionDetailsDto details = new SubmissionDetailsDto(1L, 50.0, null, 2L, 3L, List.of());
+
+        byte[] first = submissionDetailsCache.get(1L, 0L, () -> {
+            loads.incrementAndGet();
+            return details;
+        });
+        byte[] second = submissionDetailsCache.get(1L, 0L, () -> {
+            loads.incrementAndGet();
+            return details;
+        });
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+
+        submissionDetailsCache.get(1L, 1L, () -> {
+            loads.incrementAndGet();
+            return details;
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void serialize_ShouldWriteDetailsAsJson() {
+        SubmissionDetailsDto details = new SubmissionDetailsDto(1L, 50.0, null, 2L, 3L, List.of());
+
+        String json = new String(submissionDetailsCache.serialize(details));
+
+        assertTrue(json.contains("\"id\":1"));
+        assertTrue(json.contains("\"score\":50.0"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.vvelev.learnify.caches;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VerifiedTokenCacheTest {
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        verifiedTokenCache = new VerifiedTokenCache(new SimpleMeterRegistry(), 100, 300);
+    }
+
+    @Test
+    void get_ShouldVerifyTokenOnlyOnce_WhileItIsCached() {
+        AtomicInteger verifications = new AtomicInteger();
+        Claims claims = claimsExpiringIn(60_000);
+
+        Claims first = verifiedTokenCache.get("token", token -> {
+            verifications.incrementAndGet();
+            return claims;
+        });
+        Claims second = verifiedTokenCache.get("token", token -> {
+            verifications.incrementAndGet();
+            return claims;
+        });
+
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void get_ShouldNotCacheRejectedTokens() {
+        AtomicInteger verifications = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(JwtException.class, () -> verifiedTokenCache.get("forged", token -> {
+                verifications.incrementAndGet();
+                throw new JwtException("Invalid signature");
+            }));
+        }
+
+        assertEquals(2, verifications.get());
+        assertEquals(0, verifiedTokenCache.size());
+    }
+
+    @Test
+    void get_ShouldNotKeepClaimsPastTheirExpiration() {
+        AtomicInteger verifications = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            verifiedTokenCache.get("expiring", token -> {
+                verifications.incrementAndGet();
+                return claimsExpiringIn(-1_000);
+            });
+        }
+
+        assertEquals(2, verifications.get());
+    }
+
+    private Claims claimsExpiringIn(long millis) {
+        return Jwts.claims()
+                .subject("1")
+                .expiration(new Date(System.currentTimeMillis() + millis))
+                .build();
+    }
+}
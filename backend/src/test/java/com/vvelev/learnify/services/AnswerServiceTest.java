@@ -1,17 +1,20 @@
 package com.vvelev.learnify.services;
 
+import com.vvelev.learnify.caches.QuizAnswerKeyCache;
 import com.vvelev.learnify.dtos.answer.CreateAnswerDto;
 import com.vvelev.learnify.dtos.answer.StudentAnswerDto;
 import com.vvelev.learnify.dtos.answer.TeacherAnswerDto;
 import com.vvelev.learnify.dtos.answer.UpdateAnswerDto;
 import com.vvelev.learnify.entities.*;
 import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.exceptions.AnswerInUseException;
 import com.vvelev.learnify.exceptions.AnswerNotFoundException;
 import com.vvelev.learnify.exceptions.QuestionNotFoundException;
 import com.vvelev.learnify.mappers.AnswerMapper;
 import com.vvelev.learnify.repositories.AnswerRepository;
-import com.vvelev.learnify.repositories.EnrollmentRepository;
 import com.vvelev.learnify.repositories.QuestionRepository;
+import com.vvelev.learnify.repositories.SubmissionRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,9 +33,12 @@ import static org.mockito.Mockito.*;
 public class AnswerServiceTest {
     @Mock private AnswerRepository answerRepository;
     @Mock private QuestionRepository questionRepository;
-    @Mock private EnrollmentRepository enrollmentRepository;
+    @Mock private SubmissionRepository submissionRepository;
+    @Mock private QuizAnswerKeyCache quizAnswerKeyCache;
+    @Mock private QuizRescoringService quizRescoringService;
     @Mock private AnswerMapper answerMapper;
     @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
 
     @InjectMocks
     private AnswerService answerService;
@@ -48,6 +54,10 @@ public class AnswerServiceTest {
 
     @BeforeEach
     public void setUp() {
+        lenient().when(accessPolicy.isCourseCreator(any(Course.class), any())).thenAnswer(invocation ->
+                invocation.<Course>getArgument(0).getCreatedBy().getId().equals(invocation.getArgument(1))
+        );
+
         teacher = new User();
         teacher.setId(1L);
         teacher.setEmail("teacher@example.com");
@@ -120,6 +130,7 @@ public class AnswerServiceTest {
         verify(answerMapper, times(1)).toEntity(createAnswerDto);
         verify(answerRepository, times(1)).save(answer);
         verify(answerMapper, times(1)).toTeacherDto(answer);
+        verify(quizAnswerKeyCache, times(1)).invalidate(question.getQuiz().getId());
     }
 
     @Test
@@ -176,14 +187,14 @@ public class AnswerServiceTest {
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(answerRepository, times(1)).findByQuestionIdOrderById(question.getId());
         verify(answerMapper, times(1)).toTeacherDto(answer);
-        verify(enrollmentRepository, never()).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
     }
 
     @Test
     void getQuestionAnswers_ShouldReturnStudentDtos_WhenUserIsEnrolledInCourse() {
         when(questionRepository.findById(question.getId())).thenReturn(Optional.of(question));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
         when(answerRepository.findByQuestionIdOrderById(question.getId())).thenReturn(List.of(answer));
         when(answerMapper.toStudentDto(answer)).thenReturn(studentAnswerDto);
 
@@ -200,7 +211,7 @@ public class AnswerServiceTest {
 
         verify(questionRepository, times(1)).findById(question.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verify(answerRepository, times(1)).findByQuestionIdOrderById(question.getId());
         verify(answerMapper, times(1)).toStudentDto(answer);
         verify(answerMapper, never()).toTeacherDto(any(Answer.class));
@@ -217,7 +228,8 @@ public class AnswerServiceTest {
         );
 
         verify(questionRepository, times(1)).findById(nonExistentQuestionId);
-        verifyNoInteractions(securityUtils, enrollmentRepository, answerRepository, answerMapper);
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
+        verifyNoInteractions(securityUtils, answerRepository, answerMapper);
     }
 
     @Test
@@ -227,7 +239,7 @@ public class AnswerServiceTest {
 
         when(questionRepository.findById(question.getId())).thenReturn(Optional.of(question));
         when(securityUtils.getCurrentUserId()).thenReturn(unauthorizedUser.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(false);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
 
         assertThrows(
                 AccessDeniedException.class,
@@ -236,7 +248,7 @@ public class AnswerServiceTest {
 
         verify(questionRepository, times(1)).findById(question.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verifyNoInteractions(answerRepository, answerMapper);
     }
 
@@ -281,6 +293,25 @@ public class AnswerServiceTest {
         verify(answerMapper, times(1)).update(updateAnswerDto, answer);
         verify(answerRepository, times(1)).save(answer);
         verify(answerMapper, times(1)).toTeacherDto(answer);
+        verify(quizAnswerKeyCache, times(1)).invalidate(question.getQuiz().getId());
+        verifyNoInteractions(quizRescoringService);
+    }
+
+    @Test
+    void updateAnswer_ShouldScheduleRescore_WhenCorrectnessChanges() {
+        when(answerRepository.findById(answer.getId())).thenReturn(Optional.of(answer));
+        when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
+        doAnswer(invocation -> {
+            Answer updatedAnswer = invocation.getArgument(1);
+            updatedAnswer.setCorrect(!updatedAnswer.isCorrect());
+            return null;
+        }).when(answerMapper).update(eq(updateAnswerDto), any(Answer.class));
+        when(answerRepository.save(answer)).thenReturn(answer);
+        when(answerMapper.toTeacherDto(answer)).thenReturn(teacherAnswerDto);
+
+        answerService.updateAnswer(answer.getId(), updateAnswerDto);
+
+        verify(quizRescoringService, times(1)).scheduleQuizRescore(question.getQuiz().getLesson().getCourse().getId(), question.getQuiz().getId());
     }
 
     @Test
@@ -318,6 +349,7 @@ public class AnswerServiceTest {
     void deleteAnswer_ShouldDeleteAnswer_WhenUserIsCourseCreator() {
         when(answerRepository.findById(answer.getId())).thenReturn(Optional.of(answer));
         when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
+        when(submissionRepository.existsChoiceByAnswerId(answer.getId())).thenReturn(false);
         doNothing().when(answerRepository).delete(answer);
 
         answerService.deleteAnswer(answer.getId());
@@ -325,6 +357,42 @@ public class AnswerServiceTest {
         verify(answerRepository, times(1)).findById(answer.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(answerRepository, times(1)).delete(answer);
+        verify(quizAnswerKeyCache, times(1)).invalidate(question.getQuiz().getId());
+        verifyNoInteractions(quizRescoringService);
+    }
+
+    @Test
+    void deleteAnswer_ShouldDeleteUnchosenAnswer_WhenQuizHasSubmissions() {
+        Answer unchosen = new Answer();
+        unchosen.setId(2L);
+        unchosen.setText("Unchosen Answer");
+        unchosen.setCorrect(false);
+        unchosen.setQuestion(question);
+
+        when(answerRepository.findById(unchosen.getId())).thenReturn(Optional.of(unchosen));
+        when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
+        when(submissionRepository.existsChoiceByAnswerId(unchosen.getId())).thenReturn(false);
+
+        answerService.deleteAnswer(unchosen.getId());
+
+        verify(submissionRepository, times(1)).existsChoiceByAnswerId(unchosen.getId());
+        verify(answerRepository, times(1)).delete(unchosen);
+        verify(quizAnswerKeyCache, times(1)).invalidate(question.getQuiz().getId());
+    }
+
+    @Test
+    void deleteAnswer_ShouldThrowAnswerInUseException_WhenAnswerWasChosen() {
+        when(answerRepository.findById(answer.getId())).thenReturn(Optional.of(answer));
+        when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
+        when(submissionRepository.existsChoiceByAnswerId(answer.getId())).thenReturn(true);
+
+        assertThrows(
+                AnswerInUseException.class,
+                () -> answerService.deleteAnswer(answer.getId())
+        );
+
+        verify(answerRepository, never()).delete(any(Answer.class));
+        verifyNoInteractions(quizAnswerKeyCache, quizRescoringService);
     }
 
     @Test
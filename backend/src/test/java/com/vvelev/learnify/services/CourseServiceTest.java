@@ -9,7 +9,7 @@ import com.vvelev.learnify.exceptions.CourseNotFoundException;
 import com.vvelev.learnify.exceptions.UserNotFoundException;
 import com.vvelev.learnify.mappers.CourseMapper;
 import com.vvelev.learnify.repositories.CourseRepository;
-import com.vvelev.learnify.repositories.UserRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,9 +28,9 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class CourseServiceTest {
     @Mock private CourseRepository courseRepository;
-    @Mock private UserRepository userRepository;
     @Mock private CourseMapper courseMapper;
     @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
 
     @InjectMocks
     private CourseService courseService;
@@ -44,6 +44,10 @@ public class CourseServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(accessPolicy.isCourseCreator(any(Course.class), any())).thenAnswer(invocation ->
+                invocation.<Course>getArgument(0).getCreatedBy().getId().equals(invocation.getArgument(1))
+        );
+
         teacher = new User();
         teacher.setId(1L);
         teacher.setEmail("teacher@example.com");
@@ -108,8 +112,7 @@ public class CourseServiceTest {
 
     @Test
     void createCourse_ShouldCreateCourse_WhenTeacherIsAuthenticated() {
-        when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
-        when(userRepository.findById(teacher.getId())).thenReturn(Optional.of(teacher));
+        when(securityUtils.getCurrentUserReference()).thenReturn(teacher);
         when(courseMapper.toEntity(createCourseDto)).thenReturn(course);
         when(courseRepository.save(course)).thenReturn(course);
         when(courseMapper.toDto(course)).thenReturn(courseDto);
@@ -129,8 +132,7 @@ public class CourseServiceTest {
 
         assertEquals(teacher, course.getCreatedBy());
 
-        verify(securityUtils, times(1)).getCurrentUserId();
-        verify(userRepository, times(1)).findById(teacher.getId());
+        verify(securityUtils, times(1)).getCurrentUserReference();
         verify(courseMapper, times(1)).toEntity(createCourseDto);
         verify(courseRepository, times(1)).save(course);
         verify(courseMapper, times(1)).toDto(course);
@@ -138,17 +140,14 @@ public class CourseServiceTest {
 
     @Test
     void createCourse_ShouldThrowUserNotFoundException_WhenUserNotFound() {
-        Long nonExistentUserId = 999L;
-        when(securityUtils.getCurrentUserId()).thenReturn(nonExistentUserId);
-        when(userRepository.findById(nonExistentUserId)).thenReturn(Optional.empty());
+        when(securityUtils.getCurrentUserReference()).thenThrow(new UserNotFoundException());
 
         assertThrows(
                 UserNotFoundException.class,
                 () -> courseService.createCourse(createCourseDto)
         );
 
-        verify(securityUtils, times(1)).getCurrentUserId();
-        verify(userRepository, times(1)).findById(nonExistentUserId);
+        verify(securityUtils, times(1)).getCurrentUserReference();
         verifyNoInteractions(courseMapper, courseRepository);
     }
 
@@ -1,5 +1,7 @@
 package com.vvelev.learnify.services;
 
+import com.vvelev.learnify.buffers.ProgressionDeltaBuffer;
+import com.vvelev.learnify.caches.CourseLeaderboard;
 import com.vvelev.learnify.dtos.enrollment.EnrollmentCourseSummaryDto;
 import com.vvelev.learnify.dtos.enrollment.EnrollmentDto;
 import com.vvelev.learnify.dtos.enrollment.EnrollmentStudentSummaryDto;
@@ -10,7 +12,10 @@ import com.vvelev.learnify.exceptions.StudentAlreadyEnrolledException;
 import com.vvelev.learnify.mappers.EnrollmentMapper;
 import com.vvelev.learnify.repositories.CourseRepository;
 import com.vvelev.learnify.repositories.EnrollmentRepository;
-import com.vvelev.learnify.repositories.UserRepository;
+import com.vvelev.learnify.repositories.StudentProgressionRepository;
+import com.vvelev.learnify.repositories.SubmissionRepository;
+import com.vvelev.learnify.utils.AuthenticatedUser;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,11 +36,15 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class EnrollmentServiceTest {
     @Mock private CourseRepository courseRepository;
-    @Mock private UserRepository userRepository;
     @Mock private EnrollmentRepository enrollmentRepository;
+    @Mock private SubmissionRepository submissionRepository;
+    @Mock private StudentProgressionRepository studentProgressionRepository;
     @Mock private EnrollmentMapper enrollmentMapper;
     @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
     @Mock private StudentProgressionService studentProgressionService;
+    @Mock private ProgressionDeltaBuffer progressionDeltaBuffer;
+    @Mock private CourseLeaderboard courseLeaderboard;
 
     @InjectMocks
     private EnrollmentService enrollmentService;
@@ -51,6 +60,10 @@ public class EnrollmentServiceTest {
 
     @BeforeEach
     void setup() {
+        lenient().when(accessPolicy.isCourseCreator(any(Course.class), any())).thenAnswer(invocation ->
+                invocation.<Course>getArgument(0).getCreatedBy().getId().equals(invocation.getArgument(1))
+        );
+
         teacher = new User();
         teacher.setId(1L);
         teacher.setEmail("teacher@example.com");
@@ -122,19 +135,9 @@ public class EnrollmentServiceTest {
     @Test
     void enrollInCourse_ShouldEnrollStudent_WhenStudentNotAlreadyEnrolled() {
         when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
-        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(enrollmentId)).thenReturn(false);
-        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
-
-        when(enrollmentRepository.save(any(Enrollment.class))).thenAnswer(invocation -> {
-            Enrollment savedEnrollment = invocation.getArgument(0);
-            savedEnrollment.setId(enrollmentId);
-            savedEnrollment.setStudent(student);
-            savedEnrollment.setCourse(course);
-            savedEnrollment.setEnrolledAt(enrollment.getEnrolledAt());
-            return savedEnrollment;
-        });
-
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(enrollmentRepository.insertIfAbsent(eq(student.getId()), eq(course.getId()), any(LocalDateTime.class)))
+                .thenReturn(1);
         when(enrollmentMapper.toDto(any(Enrollment.class))).thenReturn(enrollmentDto);
 
         EnrollmentDto result = enrollmentService.enrollInCourse(course.getId());
@@ -151,11 +154,15 @@ public class EnrollmentServiceTest {
         assertEquals(enrollmentDto.getEnrolledAt(), result.getEnrolledAt());
 
         verify(courseRepository, times(1)).findById(course.getId());
-        verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(enrollmentId);
-        verify(userRepository, times(1)).findById(student.getId());
-        verify(enrollmentRepository, times(1)).save(any(Enrollment.class));
-        verify(enrollmentMapper, times(1)).toDto(any(Enrollment.class));
+        verify(securityUtils, times(1)).getCurrentUserReference();
+        verify(enrollmentRepository, times(1))
+                .insertIfAbsent(eq(student.getId()), eq(course.getId()), any(LocalDateTime.class));
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
+        verify(enrollmentRepository, never()).save(any(Enrollment.class));
+        verify(accessPolicy, times(1)).studentEnrolled(course.getId(), student.getId());
+        verify(enrollmentMapper, times(1)).toDto(argThat(e ->
+                e.getStudent().equals(student) && e.getCourse().equals(course) && e.getEnrolledAt() != null
+        ));
     }
 
     @Test
@@ -169,14 +176,15 @@ public class EnrollmentServiceTest {
         );
 
         verify(courseRepository, times(1)).findById(nonExistentCourseId);
-        verifyNoInteractions(securityUtils, enrollmentRepository, userRepository, enrollmentMapper);
+        verifyNoInteractions(securityUtils, enrollmentRepository, enrollmentMapper);
     }
 
     @Test
     void enrollInCourse_ShouldThrowStudentAlreadyEnrolledException_WhenStudentAlreadyEnrolled() {
         when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
-        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(enrollmentId)).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(enrollmentRepository.insertIfAbsent(eq(student.getId()), eq(course.getId()), any(LocalDateTime.class)))
+                .thenReturn(0);
 
         assertThrows(
                 StudentAlreadyEnrolledException.class,
@@ -184,9 +192,10 @@ public class EnrollmentServiceTest {
         );
 
         verify(courseRepository, times(1)).findById(course.getId());
-        verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(enrollmentId);
-        verifyNoInteractions(userRepository, enrollmentMapper);
+        verify(securityUtils, times(1)).getCurrentUserReference();
+        verify(enrollmentRepository, times(1))
+                .insertIfAbsent(eq(student.getId()), eq(course.getId()), any(LocalDateTime.class));
+        verifyNoInteractions(enrollmentMapper);
     }
 
     /* -------------------- Get My Enrollments -------------------- */
@@ -254,14 +263,14 @@ public class EnrollmentServiceTest {
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(enrollmentRepository, times(1)).findByIdCourseId(course.getId());
         verify(enrollmentMapper, times(1)).toStudentSummary(enrollment);
-        verify(enrollmentRepository, never()).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
     }
 
     @Test
     void getCourseEnrollments_ShouldReturnCourseEnrollments_WhenUserIsEnrolledInCourse() {
         when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
         when(enrollmentRepository.findByIdCourseId(course.getId())).thenReturn(List.of(enrollment));
         when(enrollmentMapper.toStudentSummary(enrollment)).thenReturn(studentSummaryDto);
 
@@ -276,7 +285,7 @@ public class EnrollmentServiceTest {
 
         verify(courseRepository, times(1)).findById(course.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verify(enrollmentRepository, times(1)).findByIdCourseId(course.getId());
         verify(enrollmentMapper, times(1)).toStudentSummary(enrollment);
     }
@@ -302,7 +311,7 @@ public class EnrollmentServiceTest {
 
         when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
         when(securityUtils.getCurrentUserId()).thenReturn(unauthorizedUser.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(false);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
 
         assertThrows(
                 AccessDeniedException.class,
@@ -311,7 +320,7 @@ public class EnrollmentServiceTest {
 
         verify(courseRepository, times(1)).findById(course.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verifyNoMoreInteractions(enrollmentRepository);
         verifyNoInteractions(enrollmentMapper);
     }
@@ -370,4 +379,44 @@ public class EnrollmentServiceTest {
         verify(enrollmentRepository, times(1)).findAll();
         verify(enrollmentMapper, never()).toDto(any(Enrollment.class));
     }
+
+    /* -------------------- Delete Enrollment -------------------- */
+
+    @Test
+    void deleteEnrollment_ShouldDeleteEnrollment_WhenTeacherIsCourseCreator() {
+        when(enrollmentRepository.existsById(new EnrollmentId(student.getId(), course.getId()))).thenReturn(true);
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(securityUtils.getCurrentUser()).thenReturn(principalOf(teacher, Role.TEACHER));
+
+        enrollmentService.deleteEnrollment(student.getId(), course.getId());
+
+        verify(submissionRepository, times(1)).deleteByStudentIdAndQuizLessonCourseId(student.getId(), course.getId());
+        verify(studentProgressionRepository, times(1)).deleteAttemptedQuizzes(student.getId(), course.getId());
+        verify(studentProgressionRepository, times(1)).deleteByStudentIdAndCourseId(student.getId(), course.getId());
+        verify(courseLeaderboard, times(1)).remove(course.getId(), student.getId());
+        verify(enrollmentRepository, times(1)).deleteByIdStudentIdAndIdCourseId(student.getId(), course.getId());
+        verify(accessPolicy, times(1)).studentUnenrolled(course.getId(), student.getId());
+    }
+
+    @Test
+    void deleteEnrollment_ShouldThrowAccessDeniedException_WhenStudentDeletesAnotherStudentsEnrollment() {
+        User otherStudent = new User();
+        otherStudent.setId(99L);
+
+        when(enrollmentRepository.existsById(new EnrollmentId(student.getId(), course.getId()))).thenReturn(true);
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(securityUtils.getCurrentUser()).thenReturn(principalOf(otherStudent, Role.STUDENT));
+
+        assertThrows(
+                AccessDeniedException.class,
+                () -> enrollmentService.deleteEnrollment(student.getId(), course.getId())
+        );
+
+        verify(enrollmentRepository, never()).deleteByIdStudentIdAndIdCourseId(anyLong(), anyLong());
+        verifyNoInteractions(submissionRepository, studentProgressionRepository);
+    }
+
+    private AuthenticatedUser principalOf(User user, Role role) {
+        return new AuthenticatedUser(user.getId(), role);
+    }
 }
@@ -0,0 +1,164 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.dtos.gradebook.GradebookDto;
+import com.vvelev.learnify.entities.Course;
+import com.vvelev.learnify.entities.User;
+import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.exceptions.CourseNotFoundException;
+import com.vvelev.learnify.repositories.CourseRepository;
+import com.vvelev.learnify.repositories.EnrollmentRepository;
+import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.repositories.SubmissionRepository;
+import com.vvelev.learnify.repositories.projections.GradebookQuizRow;
+import com.vvelev.learnify.repositories.projections.GradebookScoreRow;
+import com.vvelev.learnify.repositories.projections.GradebookStudentRow;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.SecurityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GradebookServiceTest {
+    @Mock private CourseRepository courseRepository;
+    @Mock private EnrollmentRepository enrollmentRepository;
+    @Mock private QuizRepository quizRepository;
+    @Mock private SubmissionRepository submissionRepository;
+    @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
+
+    @InjectMocks
+    private GradebookService gradebookService;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(accessPolicy.isCourseCreator(any(Course.class), any())).thenAnswer(invocation ->
+                invocation.<Course>getArgument(0).getCreatedBy().getId().equals(invocation.getArgument(1))
+        );
+
+        User teacher = new User();
+        teacher.setId(1L);
+
+        course = new Course();
+        course.setId(1L);
+        course.setCreatedBy(teacher);
+    }
+
+    @Test
+    void getCourseGradebook_ShouldBuildStudentByQuizMatrix_WhenUserIsCourseCreator() {
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(quizRepository.findGradebookQuizzesByCourseId(course.getId()))
+                .thenReturn(List.of(quiz(10L, "Quiz A"), quiz(11L, "Quiz B")));
+        when(enrollmentRepository.findGradebookStudentsByCourseId(course.getId()))
+                .thenReturn(List.of(student(2L, "Jane"), student(3L, "John")));
+        when(submissionRepository.findGradebookScoresByCourseId(course.getId())).thenReturn(List.of(
+                score(2L, 10L, 90.0, 80.0),
+                score(2L, 11L, 50.0, 50.0),
+                score(3L, 11L, 100.0, 75.0),
+                score(4L, 10L, 60.0, 60.0)
+        ));
+
+        GradebookDto result = gradebookService.getCourseGradebook(course.getId());
+
+        assertEquals(2, result.getQuizzes().size());
+        assertEquals(2, result.getStudents().size());
+        assertArrayEquals(new Double[] { 90.0, 50.0 }, result.getStudents().get(0).getBestScores());
+        assertArrayEquals(new Double[] { 80.0, 50.0 }, result.getStudents().get(0).getLatestScores());
+        assertArrayEquals(new Double[] { null, 100.0 }, result.getStudents().get(1).getBestScores());
+        assertArrayEquals(new Double[] { null, 75.0 }, result.getStudents().get(1).getLatestScores());
+        verify(submissionRepository, times(1)).findGradebookScoresByCourseId(course.getId());
+    }
+
+    @Test
+    void getCourseGradebook_ShouldThrowAccessDeniedException_WhenUserIsNotCourseCreator() {
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(securityUtils.getCurrentUserId()).thenReturn(2L);
+
+        assertThrows(AccessDeniedException.class, () -> gradebookService.getCourseGradebook(course.getId()));
+
+        verifyNoInteractions(quizRepository, enrollmentRepository, submissionRepository);
+    }
+
+    @Test
+    void getCourseGradebook_ShouldThrowCourseNotFoundException_WhenCourseNotFound() {
+        when(courseRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(CourseNotFoundException.class, () -> gradebookService.getCourseGradebook(999L));
+
+        verifyNoInteractions(securityUtils, submissionRepository);
+    }
+
+    private static GradebookQuizRow quiz(Long id, String title) {
+        return new GradebookQuizRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public Long getLessonId() {
+                return 1L;
+            }
+        };
+    }
+
+    private static GradebookStudentRow student(Long id, String firstName) {
+        return new GradebookStudentRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getFirstName() {
+                return firstName;
+            }
+
+            @Override
+            public String getLastName() {
+                return "Doe";
+            }
+        };
+    }
+
+    private static GradebookScoreRow score(Long studentId, Long quizId, Double bestScore, Double latestScore) {
+        return new GradebookScoreRow() {
+            @Override
+            public Long getStudentId() {
+                return studentId;
+            }
+
+            @Override
+            public Long getQuizId() {
+                return quizId;
+            }
+
+            @Override
+            public Double getBestScore() {
+                return bestScore;
+            }
+
+            @Override
+            public Double getLatestScore() {
+                return latestScore;
+            }
+        };
+    }
+}
@@ -0,0 +1,239 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.dtos.job.JobDto;
+import com.vvelev.learnify.dtos.statistics.QuestionStatisticsDto;
+import com.vvelev.learnify.entities.Course;
+import com.vvelev.learnify.entities.Lesson;
+import com.vvelev.learnify.entities.Quiz;
+import com.vvelev.learnify.entities.User;
+import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.jobs.Job;
+import com.vvelev.learnify.jobs.JobRegistry;
+import com.vvelev.learnify.jobs.JobType;
+import com.vvelev.learnify.mappers.JobMapper;
+import com.vvelev.learnify.repositories.AnswerStatisticsRepository;
+import com.vvelev.learnify.repositories.QuestionStatisticsRepository;
+import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.repositories.projections.AnswerChoiceRow;
+import com.vvelev.learnify.repositories.projections.QuestionStatisticsRow;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.SecurityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemStatisticsServiceTest {
+    @Mock private JobRegistry jobRegistry;
+    @Mock private QuestionStatisticsRepository questionStatisticsRepository;
+    @Mock private AnswerStatisticsRepository answerStatisticsRepository;
+    @Mock private QuizRepository quizRepository;
+    @Mock private JobMapper jobMapper;
+    @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ItemStatisticsService itemStatisticsService;
+    private Quiz quiz;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(accessPolicy.isCourseCreator(any(Course.class), any())).thenAnswer(invocation ->
+                invocation.<Course>getArgument(0).getCreatedBy().getId().equals(invocation.getArgument(1))
+        );
+
+        itemStatisticsService = new ItemStatisticsService(
+                jobRegistry,
+                questionStatisticsRepository,
+                answerStatisticsRepository,
+                quizRepository,
+                jobMapper,
+                securityUtils,
+                accessPolicy,
+                transactionManager
+        );
+
+        User teacher = new User();
+        teacher.setId(1L);
+
+        Course course = new Course();
+        course.setId(3L);
+        course.setCreatedBy(teacher);
+
+        Lesson lesson = new Lesson();
+        lesson.setId(1L);
+        lesson.setCourse(course);
+
+        quiz = new Quiz();
+        quiz.setId(5L);
+        quiz.setLesson(lesson);
+    }
+
+    @Test
+    void recordSubmission_ShouldUpsertCounters_WhenNoTransactionIsActive() {
+        itemStatisticsService.recordSubmission(10L);
+
+        verify(questionStatisticsRepository, times(1)).recordSubmission(10L);
+        verify(answerStatisticsRepository, times(1)).recordSubmission(10L);
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void recordSubmission_ShouldNotPropagateFailures() {
+        when(questionStatisticsRepository.recordSubmission(10L)).thenThrow(new RuntimeException("boom"));
+
+        assertDoesNotThrow(() -> itemStatisticsService.recordSubmission(10L));
+    }
+
+    @Test
+    void getQuizStatistics_ShouldComputeItemStatisticsFromCounters() {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(questionStatisticsRepository.findRowsByQuizId(quiz.getId())).thenReturn(List.of(
+                questionRow(1L, 4, 2, 240.0, 100 * 100 + 80 * 80 + 40 * 40 + 20 * 20, 180.0),
+                questionRow(2L, 0, 0, 0.0, 0.0, 0.0)
+        ));
+        when(answerStatisticsRepository.findChoicesByQuizId(quiz.getId())).thenReturn(List.of(
+                choiceRow(11L, 1L, true, 2),
+                choiceRow(12L, 1L, false, 2)
+        ));
+
+        List<QuestionStatisticsDto> result = itemStatisticsService.getQuizStatistics(quiz.getId());
+
+        assertEquals(2, result.size());
+
+        QuestionStatisticsDto first = result.get(0);
+        assertEquals(4, first.getResponseCount());
+        assertEquals(50.0, first.getPercentCorrect());
+        assertEquals(0.9487, first.getPointBiserial(), 0.0001);
+        assertEquals(2, first.getChoices().size());
+        assertEquals(50.0, first.getChoices().get(0).getPickPercent());
+
+        QuestionStatisticsDto second = result.get(1);
+        assertNull(second.getPercentCorrect());
+        assertNull(second.getPointBiserial());
+        assertTrue(second.getChoices().isEmpty());
+    }
+
+    @Test
+    void getQuizStatistics_ShouldThrowAccessDeniedException_WhenUserIsNotCourseCreator() {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(2L);
+
+        assertThrows(AccessDeniedException.class, () -> itemStatisticsService.getQuizStatistics(quiz.getId()));
+
+        verifyNoInteractions(questionStatisticsRepository, answerStatisticsRepository);
+    }
+
+    @Test
+    void rebuildQuizStatistics_ShouldEnqueueRebuildJob_WhenUserIsCourseCreator() {
+        Job job = new Job(JobType.ITEM_STATISTICS_REBUILD, 3L, quiz.getId());
+        JobDto jobDto = mock(JobDto.class);
+
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(jobRegistry.enqueue(eq(JobType.ITEM_STATISTICS_REBUILD), eq(3L), eq(quiz.getId()), any())).thenReturn(job);
+        when(jobMapper.toDto(job)).thenReturn(jobDto);
+
+        assertSame(jobDto, itemStatisticsService.rebuildQuizStatistics(quiz.getId()));
+    }
+
+    @Test
+    void rebuildQuiz_ShouldReplaceCountersInOneTransaction() {
+        itemStatisticsService.rebuildQuiz(quiz.getId());
+
+        InOrder inOrder = inOrder(questionStatisticsRepository, answerStatisticsRepository, transactionManager);
+        inOrder.verify(questionStatisticsRepository).deleteByQuizId(quiz.getId());
+        inOrder.verify(questionStatisticsRepository).rebuildByQuizId(quiz.getId());
+        inOrder.verify(answerStatisticsRepository).deleteByQuizId(quiz.getId());
+        inOrder.verify(answerStatisticsRepository).rebuildByQuizId(quiz.getId());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    private static QuestionStatisticsRow questionRow(
+            Long questionId,
+            long responses,
+            long correct,
+            double scoreSum,
+            double scoreSquareSum,
+            double correctScoreSum
+    ) {
+        return new QuestionStatisticsRow() {
+            @Override
+            public Long getQuestionId() {
+                return questionId;
+            }
+
+            @Override
+            public String getText() {
+                return "Question " + questionId;
+            }
+
+            @Override
+            public Long getResponseCount() {
+                return responses;
+            }
+
+            @Override
+            public Long getCorrectCount() {
+                return correct;
+            }
+
+            @Override
+            public Double getScoreSum() {
+                return scoreSum;
+            }
+
+            @Override
+            public Double getScoreSquareSum() {
+                return scoreSquareSum;
+            }
+
+            @Override
+            public Double getCorrectScoreSum() {
+                return correctScoreSum;
+            }
+        };
+    }
+
+    private static AnswerChoiceRow choiceRow(Long answerId, Long questionId, boolean correct, long picks) {
+        return new AnswerChoiceRow() {
+            @Override
+            public Long getAnswerId() {
+                return answerId;
+            }
+
+            @Override
+            public Long getQuestionId() {
+                return questionId;
+            }
+
+            @Override
+            public String getText() {
+                return "Answer " + answerId;
+            }
+
+            @Override
+            public Boolean getCorrect() {
+                return correct;
+            }
+
+            @Override
+            public Long getPickCount() {
+                return picks;
+            }
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.dtos.job.JobDto;
+import com.vvelev.learnify.entities.Course;
+import com.vvelev.learnify.entities.User;
+import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.exceptions.JobNotFoundException;
+import com.vvelev.learnify.jobs.Job;
+import com.vvelev.learnify.jobs.JobRegistry;
+import com.vvelev.learnify.jobs.JobStatus;
+import com.vvelev.learnify.jobs.JobType;
+import com.vvelev.learnify.mappers.JobMapper;
+import com.vvelev.learnify.repositories.CourseRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.SecurityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JobServiceTest {
+    @Mock private JobRegistry jobRegistry;
+    @Mock private CourseRepository courseRepository;
+    @Mock private JobMapper jobMapper;
+    @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
+
+    @InjectMocks
+    private JobService jobService;
+
+    private User teacher;
+    private Course course;
+    private Job job;
+    private JobDto jobDto;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(accessPolicy.isCourseCreator(any(Course.class), any())).thenAnswer(invocation ->
+                invocation.<Course>getArgument(0).getCreatedBy().getId().equals(invocation.getArgument(1))
+        );
+
+        teacher = new User();
+        teacher.setId(1L);
+
+        course = new Course();
+        course.setId(1L);
+        course.setCreatedBy(teacher);
+
+        job = new Job(JobType.PROGRESSION_RECOMPUTE, course.getId(), null);
+        jobDto = new JobDto(
+                job.getId(), job.getType(), JobStatus.QUEUED, course.getId(), null, 0, 0, job.getCreatedAt(), null, null, null
+        );
+    }
+
+    @Test
+    void getJob_ShouldReturnJob_WhenUserIsCourseCreator() {
+        when(jobRegistry.find(job.getId())).thenReturn(Optional.of(job));
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
+        when(jobMapper.toDto(job)).thenReturn(jobDto);
+
+        JobDto result = jobService.getJob(job.getId());
+
+        assertEquals(job.getId(), result.getId());
+        verify(jobMapper, times(1)).toDto(job);
+    }
+
+    @Test
+    void getJob_ShouldThrowJobNotFoundException_WhenJobNotFound() {
+        UUID unknownJobId = UUID.randomUUID();
+        when(jobRegistry.find(unknownJobId)).thenReturn(Optional.empty());
+
+        assertThrows(JobNotFoundException.class, () -> jobService.getJob(unknownJobId));
+
+        verifyNoInteractions(courseRepository, securityUtils, jobMapper);
+    }
+
+    @Test
+    void getJob_ShouldThrowAccessDeniedException_WhenUserIsNotCourseCreator() {
+        when(jobRegistry.find(job.getId())).thenReturn(Optional.of(job));
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(securityUtils.getCurrentUserId()).thenReturn(99L);
+
+        assertThrows(AccessDeniedException.class, () -> jobService.getJob(job.getId()));
+
+        verifyNoInteractions(jobMapper);
+    }
+
+    @Test
+    void getCourseJobs_ShouldReturnJobs_WhenUserIsCourseCreator() {
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
+        when(jobRegistry.findByCourseId(course.getId())).thenReturn(List.of(job));
+        when(jobMapper.toDto(job)).thenReturn(jobDto);
+
+        List<JobDto> result = jobService.getCourseJobs(course.getId());
+
+        assertEquals(1, result.size());
+        verify(jobRegistry, times(1)).findByCourseId(course.getId());
+    }
+}
@@ -0,0 +1,136 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.buffers.ProgressionDeltaBuffer;
+import com.vvelev.learnify.caches.CourseLeaderboard;
+import com.vvelev.learnify.dtos.leaderboard.LeaderboardEntryDto;
+import com.vvelev.learnify.dtos.leaderboard.LeaderboardStandingDto;
+import com.vvelev.learnify.entities.Course;
+import com.vvelev.learnify.entities.User;
+import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.exceptions.CourseNotFoundException;
+import com.vvelev.learnify.exceptions.StudentProgressionNotFoundException;
+import com.vvelev.learnify.repositories.UserRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.SecurityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaderboardServiceTest {
+    @Mock private CourseLeaderboard courseLeaderboard;
+    @Mock private ProgressionDeltaBuffer progressionDeltaBuffer;
+    @Mock private UserRepository userRepository;
+    @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
+
+    @InjectMocks
+    private LeaderboardService leaderboardService;
+
+    private Course course;
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        User teacher = new User();
+        teacher.setId(1L);
+
+        student = new User();
+        student.setId(2L);
+        student.setFirstName("Ana");
+        student.setLastName("Petrova");
+
+        course = new Course();
+        course.setId(3L);
+        course.setCreatedBy(teacher);
+    }
+
+    @Test
+    void getTopStudents_ShouldReturnRankedStudents_WhenUserIsCourseCreator() {
+        when(accessPolicy.courseExists(course.getId())).thenReturn(true);
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(accessPolicy.isCourseCreator(course.getId(), 1L)).thenReturn(true);
+        when(courseLeaderboard.top(course.getId(), 5))
+                .thenReturn(List.of(new CourseLeaderboard.Standing(1, student.getId(), 92.5, 7)));
+        when(userRepository.findAllById(List.of(student.getId()))).thenReturn(List.of(student));
+
+        List<LeaderboardEntryDto> result = leaderboardService.getTopStudents(course.getId(), 5);
+
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getRank());
+        assertEquals("Ana", result.get(0).getFirstName());
+        assertEquals(92.5, result.get(0).getAverageScore());
+    }
+
+    @Test
+    void getTopStudents_ShouldCapLimit() {
+        when(accessPolicy.courseExists(course.getId())).thenReturn(true);
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(accessPolicy.isCourseCreator(course.getId(), 1L)).thenReturn(true);
+        when(courseLeaderboard.top(course.getId(), 100)).thenReturn(List.of());
+
+        leaderboardService.getTopStudents(course.getId(), 10_000);
+
+        verify(courseLeaderboard, times(1)).top(course.getId(), 100);
+    }
+
+    @Test
+    void getTopStudents_ShouldThrowAccessDeniedException_WhenUserIsNotEnrolled() {
+        when(accessPolicy.courseExists(course.getId())).thenReturn(true);
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class, () -> leaderboardService.getTopStudents(course.getId(), null));
+
+        verify(courseLeaderboard, never()).top(any(), anyInt());
+    }
+
+    @Test
+    void getTopStudents_ShouldThrowCourseNotFoundException_WhenCourseDoesNotExist() {
+        when(accessPolicy.courseExists(course.getId())).thenReturn(false);
+
+        assertThrows(CourseNotFoundException.class, () -> leaderboardService.getTopStudents(course.getId(), null));
+
+        verifyNoInteractions(securityUtils, courseLeaderboard);
+    }
+
+    @Test
+    void getMyStanding_ShouldFlushPendingDeltaBeforeReadingRank() {
+        when(accessPolicy.courseExists(course.getId())).thenReturn(true);
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(accessPolicy.isStudentEnrolled(student.getId(), course.getId())).thenReturn(true);
+        when(courseLeaderboard.standing(course.getId(), student.getId()))
+                .thenReturn(Optional.of(new CourseLeaderboard.Standing(4, student.getId(), 71.0, 30)));
+
+        LeaderboardStandingDto result = leaderboardService.getMyStanding(course.getId());
+
+        assertEquals(4, result.getRank());
+        assertEquals(30, result.getStudentCount());
+
+        InOrder inOrder = inOrder(progressionDeltaBuffer, courseLeaderboard);
+        inOrder.verify(progressionDeltaBuffer).flush(student.getId(), course.getId());
+        inOrder.verify(courseLeaderboard).standing(course.getId(), student.getId());
+    }
+
+    @Test
+    void getMyStanding_ShouldThrowStudentProgressionNotFoundException_WhenStudentIsNotRanked() {
+        when(accessPolicy.courseExists(course.getId())).thenReturn(true);
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(courseLeaderboard.standing(course.getId(), student.getId())).thenReturn(Optional.empty());
+
+        assertThrows(StudentProgressionNotFoundException.class, () -> leaderboardService.getMyStanding(course.getId()));
+    }
+}
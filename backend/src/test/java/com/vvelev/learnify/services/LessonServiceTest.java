@@ -9,8 +9,8 @@ import com.vvelev.learnify.exceptions.CourseNotFoundException;
 import com.vvelev.learnify.exceptions.LessonNotFoundException;
 import com.vvelev.learnify.mappers.LessonMapper;
 import com.vvelev.learnify.repositories.CourseRepository;
-import com.vvelev.learnify.repositories.EnrollmentRepository;
 import com.vvelev.learnify.repositories.LessonRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,9 +29,10 @@ import static org.mockito.Mockito.*;
 public class LessonServiceTest {
     @Mock private LessonRepository lessonRepository;
     @Mock private CourseRepository courseRepository;
-    @Mock private EnrollmentRepository enrollmentRepository;
+    @Mock private ProgressionRecomputeService progressionRecomputeService;
     @Mock private LessonMapper lessonMapper;
     @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
 
     @InjectMocks
     private LessonService lessonService;
@@ -46,6 +47,10 @@ public class LessonServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(accessPolicy.isCourseCreator(any(Course.class), any())).thenAnswer(invocation ->
+                invocation.<Course>getArgument(0).getCreatedBy().getId().equals(invocation.getArgument(1))
+        );
+
         teacher = new User();
         teacher.setId(1L);
         teacher.setEmail("teacher@example.com");
@@ -157,14 +162,14 @@ public class LessonServiceTest {
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(lessonRepository, times(1)).findByCourseIdOrderById(course.getId());
         verify(lessonMapper, times(1)).toDto(lesson);
-        verify(enrollmentRepository, never()).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
     }
 
     @Test
     void getCourseLessons_ShouldReturnCourseLessons_WhenUserIsEnrolledInCourse() {
         when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
         when(lessonRepository.findByCourseIdOrderById(course.getId())).thenReturn(List.of(lesson));
         when(lessonMapper.toDto(lesson)).thenReturn(lessonDto);
 
@@ -180,7 +185,7 @@ public class LessonServiceTest {
 
         verify(courseRepository, times(1)).findById(course.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verify(lessonRepository, times(1)).findByCourseIdOrderById(course.getId());
         verify(lessonMapper, times(1)).toDto(lesson);
     }
@@ -196,7 +201,8 @@ public class LessonServiceTest {
         );
 
         verify(courseRepository, times(1)).findById(nonExistentCourseId);
-        verifyNoInteractions(securityUtils, enrollmentRepository, lessonRepository, lessonMapper);
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
+        verifyNoInteractions(securityUtils, lessonRepository, lessonMapper);
     }
 
     @Test
@@ -206,7 +212,7 @@ public class LessonServiceTest {
 
         when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
         when(securityUtils.getCurrentUserId()).thenReturn(unauthorizedUser.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(false);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
 
         assertThrows(
                 AccessDeniedException.class,
@@ -215,7 +221,7 @@ public class LessonServiceTest {
 
         verify(courseRepository, times(1)).findById(course.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verifyNoInteractions(lessonRepository, lessonMapper);
     }
 
@@ -256,14 +262,14 @@ public class LessonServiceTest {
         verify(lessonRepository, times(1)).findById(lesson.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(lessonMapper, times(1)).toDto(lesson);
-        verify(enrollmentRepository, never()).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
     }
 
     @Test
     void getLesson_ShouldReturnLesson_WhenUserIsEnrolledInCourse() {
         when(lessonRepository.findById(lesson.getId())).thenReturn(Optional.of(lesson));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
         when(lessonMapper.toDto(lesson)).thenReturn(lessonDto);
 
         LessonDto result = lessonService.getLesson(lesson.getId());
@@ -277,7 +283,7 @@ public class LessonServiceTest {
 
         verify(lessonRepository, times(1)).findById(lesson.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verify(lessonMapper, times(1)).toDto(lesson);
     }
 
@@ -292,7 +298,8 @@ public class LessonServiceTest {
         );
 
         verify(lessonRepository, times(1)).findById(nonExistentLessonId);
-        verifyNoInteractions(securityUtils, enrollmentRepository, lessonMapper);
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
+        verifyNoInteractions(securityUtils, lessonMapper);
     }
 
     @Test
@@ -302,7 +309,7 @@ public class LessonServiceTest {
 
         when(lessonRepository.findById(lesson.getId())).thenReturn(Optional.of(lesson));
         when(securityUtils.getCurrentUserId()).thenReturn(unauthorizedUser.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(false);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
 
         assertThrows(
                 AccessDeniedException.class,
@@ -311,7 +318,7 @@ public class LessonServiceTest {
 
         verify(lessonRepository, times(1)).findById(lesson.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verifyNoInteractions(lessonMapper);
     }
 
@@ -383,6 +390,7 @@ public class LessonServiceTest {
         verify(lessonRepository, times(1)).findById(lesson.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(lessonRepository, times(1)).delete(lesson);
+        verify(progressionRecomputeService, times(1)).scheduleCourseRecompute(course.getId());
     }
 
     @Test
@@ -8,9 +8,9 @@ import com.vvelev.learnify.exceptions.AccessDeniedException;
 import com.vvelev.learnify.exceptions.LessonNotFoundException;
 import com.vvelev.learnify.exceptions.MaterialNotFoundException;
 import com.vvelev.learnify.mappers.MaterialMapper;
-import com.vvelev.learnify.repositories.EnrollmentRepository;
 import com.vvelev.learnify.repositories.LessonRepository;
 import com.vvelev.learnify.repositories.MaterialRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,9 +30,9 @@ import static org.mockito.Mockito.*;
 public class MaterialServiceTest {
     @Mock private MaterialRepository materialRepository;
     @Mock private LessonRepository lessonRepository;
-    @Mock private EnrollmentRepository enrollmentRepository;
     @Mock private MaterialMapper materialMapper;
     @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
 
     @InjectMocks
     private MaterialService materialService;
@@ -47,6 +47,10 @@ public class MaterialServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(accessPolicy.isCourseCreator(any(Course.class), any())).thenAnswer(invocation ->
+                invocation.<Course>getArgument(0).getCreatedBy().getId().equals(invocation.getArgument(1))
+        );
+
         teacher = new User();
         teacher.setId(1L);
         teacher.setEmail("teacher@example.com");
@@ -162,14 +166,14 @@ public class MaterialServiceTest {
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(materialRepository, times(1)).findByLessonIdOrderById(lesson.getId());
         verify(materialMapper, times(1)).toDto(material);
-        verify(enrollmentRepository, never()).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
     }
 
     @Test
     void getLessonMaterials_ShouldReturnLessonMaterials_WhenUserIsEnrolledInCourse() {
         when(lessonRepository.findById(lesson.getId())).thenReturn(Optional.of(lesson));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
         when(materialRepository.findByLessonIdOrderById(lesson.getId())).thenReturn(List.of(material));
         when(materialMapper.toDto(material)).thenReturn(materialDto);
 
@@ -182,7 +186,7 @@ public class MaterialServiceTest {
         assertEquals(materialDto.getFileType(), result.get(0).getFileType());
         assertEquals(materialDto.getLessonId(), result.get(0).getLessonId());
 
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verify(lessonRepository, times(1)).findById(lesson.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(materialRepository, times(1)).findByLessonIdOrderById(lesson.getId());
@@ -200,7 +204,8 @@ public class MaterialServiceTest {
         );
 
         verify(lessonRepository, times(1)).findById(nonExistentLessonId);
-        verifyNoInteractions(securityUtils, enrollmentRepository, materialMapper, materialRepository);
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
+        verifyNoInteractions(securityUtils, materialMapper, materialRepository);
     }
 
     @Test
@@ -210,7 +215,7 @@ public class MaterialServiceTest {
 
         when(lessonRepository.findById(lesson.getId())).thenReturn(Optional.of(lesson));
         when(securityUtils.getCurrentUserId()).thenReturn(unauthorizedUser.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(false);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
 
         assertThrows(
                 AccessDeniedException.class,
@@ -219,7 +224,7 @@ public class MaterialServiceTest {
 
         verify(lessonRepository, times(1)).findById(lesson.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verifyNoInteractions(materialRepository, materialMapper);
     }
 
@@ -0,0 +1,98 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.buffers.ProgressionDeltaBuffer;
+import com.vvelev.learnify.caches.CourseLeaderboard;
+import com.vvelev.learnify.jobs.Job;
+import com.vvelev.learnify.jobs.JobRegistry;
+import com.vvelev.learnify.jobs.JobStatus;
+import com.vvelev.learnify.jobs.JobType;
+import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.repositories.StudentProgressionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProgressionRecomputeServiceTest {
+    @Mock private JobRegistry jobRegistry;
+    @Mock private ProgressionDeltaBuffer progressionDeltaBuffer;
+    @Mock private CourseLeaderboard courseLeaderboard;
+    @Mock private StudentProgressionRepository studentProgressionRepository;
+    @Mock private QuizRepository quizRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ProgressionRecomputeService progressionRecomputeService;
+
+    @BeforeEach
+    void setUp() {
+        progressionRecomputeService = new ProgressionRecomputeService(
+                jobRegistry,
+                progressionDeltaBuffer,
+                courseLeaderboard,
+                studentProgressionRepository,
+                quizRepository,
+                transactionManager,
+                2
+        );
+    }
+
+    @Test
+    void scheduleCourseRecompute_ShouldEnqueueJob_WhenNoTransactionIsActive() {
+        progressionRecomputeService.scheduleCourseRecompute(1L);
+
+        verify(jobRegistry, times(1)).enqueue(eq(JobType.PROGRESSION_RECOMPUTE), eq(1L), isNull(), any());
+    }
+
+    @Test
+    void recomputeCourse_ShouldRecomputeInChunksAndReportProgress() {
+        Job job = new Job(JobType.PROGRESSION_RECOMPUTE, 1L, null);
+
+        when(studentProgressionRepository.countByCourseId(1L)).thenReturn(3L);
+        when(quizRepository.countByLessonCourseId(1L)).thenReturn(4L);
+        when(studentProgressionRepository.findIdsByCourseIdAfter(1L, 0L, Limit.of(2))).thenReturn(List.of(10L, 11L));
+        when(studentProgressionRepository.findIdsByCourseIdAfter(1L, 11L, Limit.of(2))).thenReturn(List.of(12L));
+        when(studentProgressionRepository.findIdsByCourseIdAfter(1L, 12L, Limit.of(2))).thenReturn(List.of());
+
+        progressionRecomputeService.recomputeCourse(job, 1L);
+
+        assertEquals(JobStatus.RUNNING, job.getStatus());
+        assertEquals(3L, job.getTotalItems());
+        assertEquals(3L, job.getProcessedItems());
+
+        InOrder inOrder = inOrder(progressionDeltaBuffer, studentProgressionRepository);
+        inOrder.verify(progressionDeltaBuffer).flushCourse(1L);
+        inOrder.verify(studentProgressionRepository).lockByIdIn(List.of(10L, 11L));
+        inOrder.verify(studentProgressionRepository).deleteAttemptedQuizzesByIdIn(List.of(10L, 11L));
+        inOrder.verify(studentProgressionRepository).restoreAttemptedQuizzesByIdIn(List.of(10L, 11L));
+        inOrder.verify(studentProgressionRepository).recomputeAggregates(List.of(10L, 11L), 4L);
+        inOrder.verify(studentProgressionRepository).lockByIdIn(List.of(12L));
+        inOrder.verify(studentProgressionRepository).recomputeAggregates(List.of(12L), 4L);
+        verify(transactionManager, times(2)).commit(any());
+        verify(courseLeaderboard, times(1)).reloadCourse(1L);
+    }
+
+    @Test
+    void recomputeCourse_ShouldDoNothing_WhenCourseHasNoProgressions() {
+        Job job = new Job(JobType.PROGRESSION_RECOMPUTE, 1L, null);
+
+        when(studentProgressionRepository.countByCourseId(1L)).thenReturn(0L);
+        when(studentProgressionRepository.findIdsByCourseIdAfter(1L, 0L, Limit.of(2))).thenReturn(List.of());
+
+        progressionRecomputeService.recomputeCourse(job, 1L);
+
+        assertEquals(0L, job.getProcessedItems());
+        verify(studentProgressionRepository, never()).recomputeAggregates(any(), anyLong());
+        verifyNoInteractions(transactionManager);
+    }
+}
@@ -1,5 +1,6 @@
 package com.vvelev.learnify.services;
 
+import com.vvelev.learnify.caches.QuizAnswerKeyCache;
 import com.vvelev.learnify.dtos.question.CreateQuestionDto;
 import com.vvelev.learnify.dtos.question.QuestionDto;
 import com.vvelev.learnify.dtos.question.UpdateQuestionDto;
@@ -8,9 +9,9 @@ import com.vvelev.learnify.exceptions.AccessDeniedException;
 import com.vvelev.learnify.exceptions.QuestionNotFoundException;
 import com.vvelev.learnify.exceptions.QuizNotFoundException;
 import com.vvelev.learnify.mappers.QuestionMapper;
-import com.vvelev.learnify.repositories.EnrollmentRepository;
 import com.vvelev.learnify.repositories.QuestionRepository;
 import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,9 +30,11 @@ import static org.mockito.Mockito.*;
 public class QuestionServiceTest {
     @Mock private QuestionRepository questionRepository;
     @Mock private QuizRepository quizRepository;
-    @Mock private EnrollmentRepository enrollmentRepository;
+    @Mock private QuizAnswerKeyCache quizAnswerKeyCache;
+    @Mock private QuizRescoringService quizRescoringService;
     @Mock private QuestionMapper questionMapper;
     @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
 
     @InjectMocks
     private QuestionService questionService;
@@ -46,6 +49,10 @@ public class QuestionServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(accessPolicy.isCourseCreator(any(Course.class), any())).thenAnswer(invocation ->
+                invocation.<Course>getArgument(0).getCreatedBy().getId().equals(invocation.getArgument(1))
+        );
+
         teacher = new User();
         teacher.setId(1L);
         teacher.setEmail("teacher@example.com");
@@ -110,6 +117,7 @@ public class QuestionServiceTest {
         verify(questionMapper, times(1)).toEntity(createQuestionDto);
         verify(questionRepository, times(1)).save(question);
         verify(questionMapper, times(1)).toDto(question);
+        verify(quizAnswerKeyCache, times(1)).invalidate(quiz.getId());
     }
 
     @Test
@@ -162,14 +170,14 @@ public class QuestionServiceTest {
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(questionRepository, times(1)).findByQuizIdOrderById(quiz.getId());
         verify(questionMapper, times(1)).toDto(question);
-        verify(enrollmentRepository, never()).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
     }
 
     @Test
     void getQuizQuestions_ShouldReturnQuizQuestions_WhenUserIsEnrolledInCourse() {
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
         when(questionRepository.findByQuizIdOrderById(quiz.getId())).thenReturn(List.of(question));
         when(questionMapper.toDto(question)).thenReturn(questionDto);
 
@@ -183,7 +191,7 @@ public class QuestionServiceTest {
 
         verify(quizRepository, times(1)).findById(quiz.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verify(questionRepository, times(1)).findByQuizIdOrderById(quiz.getId());
         verify(questionMapper, times(1)).toDto(question);
     }
@@ -199,7 +207,8 @@ public class QuestionServiceTest {
         );
 
         verify(quizRepository, times(1)).findById(nonExistentQuizId);
-        verifyNoInteractions(securityUtils, enrollmentRepository, questionRepository, questionMapper);
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
+        verifyNoInteractions(securityUtils, questionRepository, questionMapper);
     }
 
     @Test
@@ -209,7 +218,7 @@ public class QuestionServiceTest {
 
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(unauthorizedUser.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(false);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
 
         assertThrows(
                 AccessDeniedException.class,
@@ -218,7 +227,7 @@ public class QuestionServiceTest {
 
         verify(quizRepository, times(1)).findById(quiz.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verifyNoInteractions(questionRepository, questionMapper);
     }
 
@@ -260,6 +269,7 @@ public class QuestionServiceTest {
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(questionMapper, times(1)).update(updateQuestionDto, question);
         verify(questionRepository, times(1)).save(question);
+        verify(quizAnswerKeyCache, times(1)).invalidate(quiz.getId());
         verify(questionMapper, times(1)).toDto(question);
     }
 
@@ -305,6 +315,8 @@ public class QuestionServiceTest {
         verify(questionRepository, times(1)).findById(question.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(questionRepository, times(1)).delete(question);
+        verify(quizAnswerKeyCache, times(1)).invalidate(quiz.getId());
+        verify(quizRescoringService, times(1)).scheduleQuizRescore(quiz.getLesson().getCourse().getId(), quiz.getId());
     }
 
     @Test
@@ -0,0 +1,105 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.buffers.ProgressionDeltaBuffer;
+import com.vvelev.learnify.caches.QuizAnswerKeyCache;
+import com.vvelev.learnify.entities.SubmissionStatus;
+import com.vvelev.learnify.jobs.Job;
+import com.vvelev.learnify.jobs.JobRegistry;
+import com.vvelev.learnify.jobs.JobType;
+import com.vvelev.learnify.repositories.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class QuizRescoringServiceTest {
+    @Mock private JobRegistry jobRegistry;
+    @Mock private ProgressionRecomputeService progressionRecomputeService;
+    @Mock private ProgressionDeltaBuffer progressionDeltaBuffer;
+    @Mock private ItemStatisticsService itemStatisticsService;
+    @Mock private ScoreDistributionService scoreDistributionService;
+    @Mock private QuizAnswerKeyCache quizAnswerKeyCache;
+    @Mock private SubmissionRepository submissionRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private QuizRescoringService quizRescoringService;
+
+    @BeforeEach
+    void setUp() {
+        quizRescoringService = new QuizRescoringService(
+                jobRegistry,
+                progressionRecomputeService,
+                progressionDeltaBuffer,
+                itemStatisticsService,
+                scoreDistributionService,
+                quizAnswerKeyCache,
+                submissionRepository,
+                transactionManager,
+                2
+        );
+    }
+
+    @Test
+    void scheduleQuizRescore_ShouldEnqueueJob_WhenNoTransactionIsActive() {
+        quizRescoringService.scheduleQuizRescore(1L, 5L);
+
+        verify(jobRegistry, times(1)).enqueue(eq(JobType.QUIZ_RESCORE), eq(1L), eq(5L), any());
+    }
+
+    @Test
+    void rescoreQuiz_ShouldRescoreInChunksAndRefreshAffectedStudents() {
+        Job job = new Job(JobType.QUIZ_RESCORE, 1L, 5L);
+
+        when(submissionRepository.countByQuizIdAndStatus(5L, SubmissionStatus.GRADED)).thenReturn(3L);
+        when(submissionRepository.findIdsByQuizIdAndStatusAfter(5L, SubmissionStatus.GRADED, 0L, Limit.of(2)))
+                .thenReturn(List.of(10L, 11L));
+        when(submissionRepository.findIdsByQuizIdAndStatusAfter(5L, SubmissionStatus.GRADED, 11L, Limit.of(2)))
+                .thenReturn(List.of(12L));
+        when(submissionRepository.findIdsByQuizIdAndStatusAfter(5L, SubmissionStatus.GRADED, 12L, Limit.of(2)))
+                .thenReturn(List.of());
+        when(submissionRepository.findDistinctStudentIdsByIdIn(List.of(10L, 11L))).thenReturn(List.of(2L, 3L));
+        when(submissionRepository.findDistinctStudentIdsByIdIn(List.of(12L))).thenReturn(List.of(2L));
+
+        quizRescoringService.rescoreQuiz(job, 1L, 5L);
+
+        assertEquals(3L, job.getTotalItems());
+        assertEquals(3L, job.getProcessedItems());
+
+        InOrder inOrder = inOrder(quizAnswerKeyCache, progressionDeltaBuffer, submissionRepository, progressionRecomputeService);
+        inOrder.verify(quizAnswerKeyCache).invalidate(5L);
+        inOrder.verify(progressionDeltaBuffer).flushCourse(1L);
+        inOrder.verify(submissionRepository).rescore(List.of(10L, 11L));
+        inOrder.verify(submissionRepository).rescore(List.of(12L));
+        inOrder.verify(quizAnswerKeyCache).invalidate(5L);
+        verify(itemStatisticsService, times(1)).rebuildQuiz(5L);
+        verify(scoreDistributionService, times(1)).rebuildQuiz(5L);
+        inOrder.verify(progressionRecomputeService).recomputeStudents(1L, Set.of(2L, 3L));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void rescoreQuiz_ShouldNotRescore_WhenQuizHasNoGradedSubmissions() {
+        Job job = new Job(JobType.QUIZ_RESCORE, 1L, 5L);
+
+        when(submissionRepository.countByQuizIdAndStatus(5L, SubmissionStatus.GRADED)).thenReturn(0L);
+        when(submissionRepository.findIdsByQuizIdAndStatusAfter(5L, SubmissionStatus.GRADED, 0L, Limit.of(2)))
+                .thenReturn(List.of());
+
+        quizRescoringService.rescoreQuiz(job, 1L, 5L);
+
+        verify(submissionRepository, never()).rescore(any());
+        verify(progressionRecomputeService, times(1)).recomputeStudents(1L, Set.of());
+    }
+}
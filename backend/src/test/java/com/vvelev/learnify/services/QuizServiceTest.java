@@ -1,5 +1,6 @@
 package com.vvelev.learnify.services;
 
+import com.vvelev.learnify.caches.QuizAnswerKeyCache;
 import com.vvelev.learnify.dtos.quiz.CreateQuizDto;
 import com.vvelev.learnify.dtos.quiz.QuizDto;
 import com.vvelev.learnify.dtos.quiz.UpdateQuizDto;
@@ -8,9 +9,9 @@ import com.vvelev.learnify.exceptions.AccessDeniedException;
 import com.vvelev.learnify.exceptions.LessonNotFoundException;
 import com.vvelev.learnify.exceptions.QuizNotFoundException;
 import com.vvelev.learnify.mappers.QuizMapper;
-import com.vvelev.learnify.repositories.EnrollmentRepository;
 import com.vvelev.learnify.repositories.LessonRepository;
 import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,9 +30,11 @@ import static org.mockito.Mockito.*;
 public class QuizServiceTest {
     @Mock private QuizRepository quizRepository;
     @Mock private LessonRepository lessonRepository;
-    @Mock private EnrollmentRepository enrollmentRepository;
+    @Mock private ProgressionRecomputeService progressionRecomputeService;
+    @Mock private QuizAnswerKeyCache quizAnswerKeyCache;
     @Mock private QuizMapper quizMapper;
     @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
 
     @InjectMocks
     private QuizService quizService;
@@ -46,6 +49,10 @@ public class QuizServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(accessPolicy.isCourseCreator(any(Course.class), any())).thenAnswer(invocation ->
+                invocation.<Course>getArgument(0).getCreatedBy().getId().equals(invocation.getArgument(1))
+        );
+
         teacher = new User();
         teacher.setId(1L);
         teacher.setEmail("teacher@example.com");
@@ -107,6 +114,7 @@ public class QuizServiceTest {
         verify(quizMapper, times(1)).toEntity(createQuizDto);
         verify(quizRepository, times(1)).save(quiz);
         verify(quizMapper, times(1)).toDto(quiz);
+        verify(progressionRecomputeService, times(1)).scheduleCourseRecompute(lesson.getCourse().getId());
     }
 
     @Test
@@ -160,14 +168,14 @@ public class QuizServiceTest {
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(quizRepository, times(1)).findByLessonIdOrderById(lesson.getId());
         verify(quizMapper, times(1)).toDto(quiz);
-        verify(enrollmentRepository, never()).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
     }
 
     @Test
     void getLessonQuizzes_ShouldReturnCourseQuizzes_WhenUserIsEnrolledInCourse() {
         when(lessonRepository.findById(lesson.getId())).thenReturn(Optional.of(lesson));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
         when(quizRepository.findByLessonIdOrderById(lesson.getId())).thenReturn(List.of(quiz));
         when(quizMapper.toDto(quiz)).thenReturn(quizDto);
 
@@ -182,7 +190,7 @@ public class QuizServiceTest {
 
         verify(lessonRepository, times(1)).findById(lesson.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verify(quizRepository, times(1)).findByLessonIdOrderById(lesson.getId());
         verify(quizMapper, times(1)).toDto(quiz);
     }
@@ -198,7 +206,8 @@ public class QuizServiceTest {
         );
 
         verify(lessonRepository, times(1)).findById(nonExistentLessonId);
-        verifyNoInteractions(securityUtils, enrollmentRepository, quizRepository, quizMapper);
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
+        verifyNoInteractions(securityUtils, quizRepository, quizMapper);
     }
 
     @Test
@@ -208,7 +217,7 @@ public class QuizServiceTest {
 
         when(lessonRepository.findById(lesson.getId())).thenReturn(Optional.of(lesson));
         when(securityUtils.getCurrentUserId()).thenReturn(unauthorizedUser.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(false);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
 
         assertThrows(
                 AccessDeniedException.class,
@@ -217,7 +226,7 @@ public class QuizServiceTest {
 
         verify(lessonRepository, times(1)).findById(lesson.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verifyNoInteractions(quizRepository, quizMapper);
     }
 
@@ -257,14 +266,14 @@ public class QuizServiceTest {
         verify(quizRepository, times(1)).findById(quiz.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(quizMapper, times(1)).toDto(quiz);
-        verify(enrollmentRepository, never()).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
     }
 
     @Test
     void getQuiz_ShouldReturnQuiz_WhenUserIsEnrolledInCourse() {
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
         when(quizMapper.toDto(quiz)).thenReturn(quizDto);
 
         QuizDto result = quizService.getQuiz(quiz.getId());
@@ -277,7 +286,7 @@ public class QuizServiceTest {
 
         verify(quizRepository, times(1)).findById(quiz.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verify(quizMapper, times(1)).toDto(quiz);
     }
 
@@ -293,7 +302,8 @@ public class QuizServiceTest {
         );
 
         verify(quizRepository, times(1)).findById(nonExistentQuizId);
-        verifyNoInteractions(securityUtils, enrollmentRepository, quizMapper);
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
+        verifyNoInteractions(securityUtils, quizMapper);
     }
 
     @Test
@@ -303,7 +313,7 @@ public class QuizServiceTest {
 
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(unauthorizedUser.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(false);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
 
         assertThrows(
                 AccessDeniedException.class,
@@ -312,7 +322,7 @@ public class QuizServiceTest {
 
         verify(quizRepository, times(1)).findById(quiz.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verifyNoInteractions(quizMapper);
     }
 
@@ -383,6 +393,8 @@ public class QuizServiceTest {
         verify(quizRepository, times(1)).findById(quiz.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(quizRepository, times(1)).delete(quiz);
+        verify(quizAnswerKeyCache, times(1)).invalidate(quiz.getId());
+        verify(progressionRecomputeService, times(1)).scheduleCourseRecompute(lesson.getCourse().getId());
     }
 
     @Test
@@ -0,0 +1,167 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.caches.RosterBitmap;
+import com.vvelev.learnify.dtos.roster.RosterOverlapDto;
+import com.vvelev.learnify.dtos.roster.RosterStudentDto;
+import com.vvelev.learnify.dtos.roster.RosterSummaryDto;
+import com.vvelev.learnify.entities.Course;
+import com.vvelev.learnify.entities.Lesson;
+import com.vvelev.learnify.entities.Quiz;
+import com.vvelev.learnify.entities.User;
+import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.exceptions.CourseNotFoundException;
+import com.vvelev.learnify.exceptions.QuizNotFoundException;
+import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.repositories.SubmissionRepository;
+import com.vvelev.learnify.repositories.UserRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.SecurityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RosterServiceTest {
+    @Mock private QuizRepository quizRepository;
+    @Mock private SubmissionRepository submissionRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
+
+    @InjectMocks
+    private RosterService rosterService;
+
+    private Course course;
+    private Quiz quiz;
+
+    @BeforeEach
+    void setUp() {
+        User teacher = new User();
+        teacher.setId(1L);
+
+        course = new Course();
+        course.setId(3L);
+        course.setCreatedBy(teacher);
+
+        Lesson lesson = new Lesson();
+        lesson.setCourse(course);
+
+        quiz = new Quiz();
+        quiz.setId(5L);
+        quiz.setLesson(lesson);
+    }
+
+    @Test
+    void getRosterSummary_ShouldReturnStudentCount_WhenUserIsCourseCreator() {
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(accessPolicy.courseExists(3L)).thenReturn(true);
+        when(accessPolicy.isCourseCreator(3L, 1L)).thenReturn(true);
+        when(accessPolicy.roster(3L)).thenReturn(Optional.of(RosterBitmap.of(List.of(2L, 4L, 6L))));
+
+        RosterSummaryDto result = rosterService.getRosterSummary(3L);
+
+        assertEquals(3L, result.getCourseId());
+        assertEquals(3, result.getStudentCount());
+    }
+
+    @Test
+    void getRosterSummary_ShouldThrowCourseNotFoundException() {
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(accessPolicy.courseExists(3L)).thenReturn(false);
+
+        assertThrows(CourseNotFoundException.class, () -> rosterService.getRosterSummary(3L));
+        verify(accessPolicy, never()).roster(any());
+    }
+
+    @Test
+    void getRosterOverlap_ShouldCountSharedStudents() {
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(accessPolicy.courseExists(any())).thenReturn(true);
+        when(accessPolicy.isCourseCreator(any(Long.class), eq(1L))).thenReturn(true);
+        when(accessPolicy.roster(3L)).thenReturn(Optional.of(RosterBitmap.of(List.of(2L, 4L, 6L))));
+        when(accessPolicy.roster(7L)).thenReturn(Optional.of(RosterBitmap.of(List.of(4L, 6L, 8L, 10L))));
+
+        RosterOverlapDto result = rosterService.getRosterOverlap(3L, 7L);
+
+        assertEquals(3, result.getStudentCount());
+        assertEquals(4, result.getOtherStudentCount());
+        assertEquals(2, result.getSharedStudentCount());
+    }
+
+    @Test
+    void getRosterOverlap_ShouldThrowAccessDeniedException_WhenOtherCourseIsNotOwned() {
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(accessPolicy.courseExists(any())).thenReturn(true);
+        when(accessPolicy.isCourseCreator(3L, 1L)).thenReturn(true);
+        when(accessPolicy.isCourseCreator(7L, 1L)).thenReturn(false);
+        when(accessPolicy.roster(3L)).thenReturn(Optional.of(RosterBitmap.of(List.of(2L))));
+
+        assertThrows(AccessDeniedException.class, () -> rosterService.getRosterOverlap(3L, 7L));
+        verify(accessPolicy, never()).roster(7L);
+    }
+
+    @Test
+    void getStudentsMissingSubmission_ShouldReturnEnrolledStudentsWithoutSubmission() {
+        User first = student(2L, "Ana");
+        User second = student(6L, "Ivan");
+
+        when(quizRepository.findById(5L)).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(accessPolicy.isCourseCreator(course, 1L)).thenReturn(true);
+        when(accessPolicy.roster(3L)).thenReturn(Optional.of(RosterBitmap.of(List.of(2L, 4L, 6L))));
+        when(submissionRepository.findSubmitterIdsByQuizId(5L)).thenReturn(List.of(4L, 9L));
+        when(userRepository.findAllById(List.of(2L, 6L))).thenReturn(List.of(second, first));
+
+        List<RosterStudentDto> result = rosterService.getStudentsMissingSubmission(5L);
+
+        assertEquals(List.of(2L, 6L), result.stream().map(RosterStudentDto::getId).toList());
+        assertEquals("Ana", result.get(0).getFirstName());
+    }
+
+    @Test
+    void getStudentsMissingSubmission_ShouldSkipUserLookup_WhenEveryoneSubmitted() {
+        when(quizRepository.findById(5L)).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(accessPolicy.isCourseCreator(course, 1L)).thenReturn(true);
+        when(accessPolicy.roster(3L)).thenReturn(Optional.of(RosterBitmap.of(List.of(2L))));
+        when(submissionRepository.findSubmitterIdsByQuizId(5L)).thenReturn(List.of(2L));
+
+        assertTrue(rosterService.getStudentsMissingSubmission(5L).isEmpty());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getStudentsMissingSubmission_ShouldThrowAccessDeniedException_WhenUserIsNotCourseCreator() {
+        when(quizRepository.findById(5L)).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(8L);
+        when(accessPolicy.isCourseCreator(course, 8L)).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class, () -> rosterService.getStudentsMissingSubmission(5L));
+        verifyNoInteractions(submissionRepository, userRepository);
+    }
+
+    @Test
+    void getStudentsMissingSubmission_ShouldThrowQuizNotFoundException() {
+        when(quizRepository.findById(5L)).thenReturn(Optional.empty());
+
+        assertThrows(QuizNotFoundException.class, () -> rosterService.getStudentsMissingSubmission(5L));
+    }
+
+    private User student(Long id, String firstName) {
+        User student = new User();
+        student.setId(id);
+        student.setFirstName(firstName);
+        student.setLastName("Petrova");
+        return student;
+    }
+}
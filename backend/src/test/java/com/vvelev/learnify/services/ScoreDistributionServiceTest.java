@@ -0,0 +1,177 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.buffers.ScoreHistogramBuffer;
+import com.vvelev.learnify.dtos.statistics.ScoreDistributionDto;
+import com.vvelev.learnify.entities.Course;
+import com.vvelev.learnify.entities.Lesson;
+import com.vvelev.learnify.entities.Quiz;
+import com.vvelev.learnify.entities.SubmissionStatus;
+import com.vvelev.learnify.entities.User;
+import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.repositories.CourseRepository;
+import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.repositories.ScoreHistogramRepository;
+import com.vvelev.learnify.repositories.SubmissionRepository;
+import com.vvelev.learnify.repositories.projections.ScoreBucketRow;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.SecurityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ScoreDistributionServiceTest {
+    @Mock private ScoreHistogramBuffer scoreHistogramBuffer;
+    @Mock private ScoreHistogramRepository scoreHistogramRepository;
+    @Mock private SubmissionRepository submissionRepository;
+    @Mock private QuizRepository quizRepository;
+    @Mock private CourseRepository courseRepository;
+    @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ScoreDistributionService scoreDistributionService;
+    private Course course;
+    private Quiz quiz;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(accessPolicy.isCourseCreator(any(Course.class), any())).thenAnswer(invocation ->
+                invocation.<Course>getArgument(0).getCreatedBy().getId().equals(invocation.getArgument(1))
+        );
+
+        scoreDistributionService = new ScoreDistributionService(
+                scoreHistogramBuffer,
+                scoreHistogramRepository,
+                submissionRepository,
+                quizRepository,
+                courseRepository,
+                securityUtils,
+                accessPolicy,
+                transactionManager
+        );
+
+        User teacher = new User();
+        teacher.setId(1L);
+
+        course = new Course();
+        course.setId(3L);
+        course.setCreatedBy(teacher);
+
+        Lesson lesson = new Lesson();
+        lesson.setId(1L);
+        lesson.setCourse(course);
+
+        quiz = new Quiz();
+        quiz.setId(5L);
+        quiz.setLesson(lesson);
+    }
+
+    @Test
+    void getQuizDistribution_ShouldReturnPercentilesAndRank_WhenStudentIsEnrolled() {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(2L);
+        when(accessPolicy.isStudentEnrolled(2L, course.getId())).thenReturn(true);
+        when(scoreHistogramRepository.findBucketsByQuizId(quiz.getId())).thenReturn(List.of(
+                bucketRow(20, 1),
+                bucketRow(50, 6),
+                bucketRow(80, 2),
+                bucketRow(100, 1)
+        ));
+        when(submissionRepository.findBestScore(quiz.getId(), 2L, SubmissionStatus.GRADED)).thenReturn(Optional.of(80.0));
+
+        ScoreDistributionDto result = scoreDistributionService.getQuizDistribution(quiz.getId());
+
+        assertEquals(10, result.getSubmissionCount());
+        assertEquals(20.0, result.getP10());
+        assertEquals(50.0, result.getP50());
+        assertEquals(80.0, result.getP90());
+        assertEquals(80.0, result.getPercentileRank());
+
+        assertEquals(10, result.getBuckets().size());
+        assertEquals(0, result.getBuckets().get(0).getMinScore());
+        assertEquals(9, result.getBuckets().get(0).getMaxScore());
+        assertEquals(6, result.getBuckets().get(5).getSubmissionCount());
+        assertEquals(90, result.getBuckets().get(9).getMinScore());
+        assertEquals(100, result.getBuckets().get(9).getMaxScore());
+        assertEquals(1, result.getBuckets().get(9).getSubmissionCount());
+    }
+
+    @Test
+    void getQuizDistribution_ShouldOmitRank_WhenUserIsCourseCreator() {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(scoreHistogramRepository.findBucketsByQuizId(quiz.getId())).thenReturn(List.of());
+
+        ScoreDistributionDto result = scoreDistributionService.getQuizDistribution(quiz.getId());
+
+        assertEquals(0, result.getSubmissionCount());
+        assertNull(result.getP50());
+        assertNull(result.getPercentileRank());
+        verifyNoInteractions(submissionRepository);
+    }
+
+    @Test
+    void getQuizDistribution_ShouldThrowAccessDeniedException_WhenUserIsNotEnrolled() {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(2L);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class, () -> scoreDistributionService.getQuizDistribution(quiz.getId()));
+
+        verifyNoInteractions(scoreHistogramRepository);
+    }
+
+    @Test
+    void getCourseDistribution_ShouldMergeQuizHistograms() {
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(scoreHistogramRepository.findBucketsByCourseId(course.getId())).thenReturn(List.of(
+                bucketRow(60, 3),
+                bucketRow(70, 1)
+        ));
+
+        ScoreDistributionDto result = scoreDistributionService.getCourseDistribution(course.getId());
+
+        assertEquals(4, result.getSubmissionCount());
+        assertEquals(60.0, result.getP50());
+        assertEquals(70.0, result.getP90());
+        assertNull(result.getPercentileRank());
+    }
+
+    @Test
+    void rebuildQuiz_ShouldDiscardBufferedCountsAndRebuildInOneTransaction() {
+        scoreDistributionService.rebuildQuiz(quiz.getId());
+
+        InOrder inOrder = inOrder(scoreHistogramBuffer, scoreHistogramRepository, transactionManager);
+        inOrder.verify(scoreHistogramBuffer).discardQuiz(quiz.getId());
+        inOrder.verify(scoreHistogramRepository).deleteByQuizId(quiz.getId());
+        inOrder.verify(scoreHistogramRepository).rebuildByQuizId(quiz.getId());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    private static ScoreBucketRow bucketRow(int bucket, long count) {
+        return new ScoreBucketRow() {
+            @Override
+            public Integer getBucket() {
+                return bucket;
+            }
+
+            @Override
+            public Long getSubmissionCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.vvelev.learnify.services;
 
+import com.vvelev.learnify.buffers.ProgressionDeltaBuffer;
+import com.vvelev.learnify.caches.CourseLeaderboard;
 import com.vvelev.learnify.dtos.studentprogression.StudentProgressionDto;
 import com.vvelev.learnify.entities.*;
 import com.vvelev.learnify.exceptions.AccessDeniedException;
@@ -7,6 +9,8 @@ import com.vvelev.learnify.exceptions.CourseNotFoundException;
 import com.vvelev.learnify.exceptions.StudentProgressionNotFoundException;
 import com.vvelev.learnify.mappers.StudentProgressionMapper;
 import com.vvelev.learnify.repositories.*;
+import com.vvelev.learnify.repositories.projections.ProgressionTotals;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,13 +27,15 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class StudentProgressionServiceTest {
+    @Mock private ProgressionDeltaBuffer progressionDeltaBuffer;
+    @Mock private CourseLeaderboard courseLeaderboard;
     @Mock private StudentProgressionRepository studentProgressionRepository;
     @Mock private SubmissionRepository submissionRepository;
     @Mock private QuizRepository quizRepository;
     @Mock private CourseRepository courseRepository;
-    @Mock private EnrollmentRepository enrollmentRepository;
     @Mock private StudentProgressionMapper studentProgressionMapper;
     @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
 
     @InjectMocks
     private StudentProgressionService studentProgressionService;
@@ -37,11 +43,17 @@ public class StudentProgressionServiceTest {
     private User teacher;
     private User student;
     private Course course;
+    private Quiz quiz;
+    private Submission submission;
     private StudentProgression progression;
     private StudentProgressionDto progressionDto;
 
     @BeforeEach
     void setUp() {
+        lenient().when(accessPolicy.isCourseCreator(any(Course.class), any())).thenAnswer(invocation ->
+                invocation.<Course>getArgument(0).getCreatedBy().getId().equals(invocation.getArgument(1))
+        );
+
         teacher = new User();
         teacher.setId(1L);
         teacher.setEmail("teacher@example.com");
@@ -65,6 +77,21 @@ public class StudentProgressionServiceTest {
         course.setThumbnail("/uploads/thumbnail.jpg");
         course.setCreatedBy(teacher);
 
+        Lesson lesson = new Lesson();
+        lesson.setId(1L);
+        lesson.setCourse(course);
+
+        quiz = new Quiz();
+        quiz.setId(1L);
+        quiz.setLesson(lesson);
+
+        submission = new Submission();
+        submission.setId(1L);
+        submission.setQuiz(quiz);
+        submission.setStudent(student);
+        submission.setScore(60.0);
+        submission.setStatus(SubmissionStatus.GRADED);
+
         progression = new StudentProgression();
         progression.setId(1L);
         progression.setStudent(student);
@@ -75,128 +102,73 @@ public class StudentProgressionServiceTest {
         progressionDto = new StudentProgressionDto(1L, 50.0, 85.5, student.getId(), course.getId());
     }
 
-    /* -------------------- Update Progression -------------------- */
+    /* -------------------- Record Submission -------------------- */
 
     @Test
-    void updateProgression_ShouldUpdateProgression() {
-        long totalQuizzes = 5L;
-        long submittedQuizzes = 3L;
-        Double averageScore = 80.0;
+    void recordSubmission_ShouldBufferDeltaWithoutQueryingSubmissions() {
+        studentProgressionService.recordSubmission(submission);
 
-        when(studentProgressionRepository.findByStudentIdAndCourseId(student.getId(), course.getId()))
-                .thenReturn(Optional.of(progression));
-        when(quizRepository.countByLessonCourseId(course.getId())).thenReturn(totalQuizzes);
-        when(submissionRepository.countDistinctQuizByStudentIdAndCourseId(student.getId(), course.getId()))
-                .thenReturn(submittedQuizzes);
-        when(submissionRepository.findAverageScoreByStudentIdAndCourseId(student.getId(), course.getId()))
-                .thenReturn(averageScore);
-        when(studentProgressionRepository.save(progression)).thenReturn(progression);
+        verify(progressionDeltaBuffer, times(1)).add(submission.getId(), student.getId(), course.getId());
+        verifyNoInteractions(studentProgressionRepository, quizRepository, submissionRepository);
+    }
 
-        studentProgressionService.updateProgression(student, course);
+    /* -------------------- Recompute Progression -------------------- */
 
+    @Test
+    void recomputeProgression_ShouldRebuildAggregatesFromSubmissions() {
+        when(studentProgressionRepository.findByStudentIdAndCourseIdForUpdate(student.getId(), course.getId()))
+                .thenReturn(Optional.of(progression));
+        when(submissionRepository.findProgressionTotalsByStudentIdAndCourseId(student.getId(), course.getId()))
+                .thenReturn(progressionTotals(240.0, 3L, 3L));
+        when(quizRepository.countByLessonCourseId(course.getId())).thenReturn(5L);
+
+        studentProgressionService.recomputeProgression(student, course);
+
+        verify(progressionDeltaBuffer, never()).discard(any(), any());
+        verify(studentProgressionRepository, times(1)).deleteAttemptedQuizzes(student.getId(), course.getId());
+        verify(studentProgressionRepository, times(1)).restoreAttemptedQuizzes(student.getId(), course.getId());
+        assertEquals(240.0, progression.getScoreSum(), 0.01);
+        assertEquals(3, progression.getSubmissionCount());
+        assertEquals(3, progression.getQuizzesAttempted());
         assertEquals(60.0, progression.getProgressionPercent(), 0.01);
         assertEquals(80.0, progression.getAverageScore(), 0.01);
 
-        verify(studentProgressionRepository, times(1))
-                .findByStudentIdAndCourseId(student.getId(), course.getId());
-        verify(quizRepository, times(1)).countByLessonCourseId(course.getId());
-        verify(submissionRepository, times(1))
-                .countDistinctQuizByStudentIdAndCourseId(student.getId(), course.getId());
-        verify(submissionRepository, times(1))
-                .findAverageScoreByStudentIdAndCourseId(student.getId(), course.getId());
         verify(studentProgressionRepository, times(1)).save(progression);
     }
 
     @Test
-    void updateProgression_ShouldCreateNewProgression_WhenNotExists() {
-        long totalQuizzes = 4L;
-        long submittedQuizzes = 1L;
-        Double averageScore = 75.0;
-
-        when(studentProgressionRepository.findByStudentIdAndCourseId(student.getId(), course.getId()))
-                .thenReturn(Optional.empty());
-        when(quizRepository.countByLessonCourseId(course.getId())).thenReturn(totalQuizzes);
-        when(submissionRepository.countDistinctQuizByStudentIdAndCourseId(student.getId(), course.getId()))
-                .thenReturn(submittedQuizzes);
-        when(submissionRepository.findAverageScoreByStudentIdAndCourseId(student.getId(), course.getId()))
-                .thenReturn(averageScore);
-        when(studentProgressionRepository.save(any(StudentProgression.class)))
-                .thenAnswer(invocation -> {
-                    StudentProgression savedProgression = invocation.getArgument(0);
-                    savedProgression.setId(2L);
-                    return savedProgression;
-                });
-
-        studentProgressionService.updateProgression(student, course);
-
-        verify(studentProgressionRepository, times(1)).save(argThat(p ->
-                p.getStudent().equals(student) &&
-                        p.getCourse().equals(course) &&
-                        p.getProgressionPercent() == 25.0 &&
-                        p.getAverageScore() == 75.0
-        ));
-        verify(studentProgressionRepository, times(1))
-                .findByStudentIdAndCourseId(student.getId(), course.getId());
-        verify(quizRepository, times(1)).countByLessonCourseId(course.getId());
-        verify(submissionRepository, times(1))
-                .countDistinctQuizByStudentIdAndCourseId(student.getId(), course.getId());
-        verify(submissionRepository, times(1))
-                .findAverageScoreByStudentIdAndCourseId(student.getId(), course.getId());
-    }
-
-    @Test
-    void updateProgression_ShouldHandleZeroTotalQuizzes() {
-        long totalQuizzes = 0L;
-        long submittedQuizzes = 0L;
-
-        when(studentProgressionRepository.findByStudentIdAndCourseId(student.getId(), course.getId()))
+    void recomputeProgression_ShouldHandleZeroTotalQuizzes() {
+        when(studentProgressionRepository.findByStudentIdAndCourseIdForUpdate(student.getId(), course.getId()))
                 .thenReturn(Optional.of(progression));
-        when(quizRepository.countByLessonCourseId(course.getId())).thenReturn(totalQuizzes);
-        when(submissionRepository.countDistinctQuizByStudentIdAndCourseId(student.getId(), course.getId()))
-                .thenReturn(submittedQuizzes);
-        when(submissionRepository.findAverageScoreByStudentIdAndCourseId(student.getId(), course.getId()))
-                .thenReturn(null);
-        when(studentProgressionRepository.save(progression)).thenReturn(progression);
+        when(submissionRepository.findProgressionTotalsByStudentIdAndCourseId(student.getId(), course.getId()))
+                .thenReturn(progressionTotals(0.0, 0L, 0L));
+        when(quizRepository.countByLessonCourseId(course.getId())).thenReturn(0L);
 
-        studentProgressionService.updateProgression(student, course);
+        studentProgressionService.recomputeProgression(student, course);
 
         assertEquals(0.0, progression.getProgressionPercent(), 0.01);
         assertEquals(0.0, progression.getAverageScore(), 0.01);
 
-        verify(quizRepository, times(1)).countByLessonCourseId(course.getId());
-        verify(submissionRepository, times(1))
-                .countDistinctQuizByStudentIdAndCourseId(student.getId(), course.getId());
-        verify(submissionRepository, times(1))
-                .findAverageScoreByStudentIdAndCourseId(student.getId(), course.getId());
         verify(studentProgressionRepository, times(1)).save(progression);
     }
 
-    @Test
-    void updateProgression_ShouldHandleAllQuizzesSubmitted() {
-        long totalQuizzes = 3L;
-        long submittedQuizzes = 3L;
-        Double averageScore = 95.5;
-
-        when(studentProgressionRepository.findByStudentIdAndCourseId(student.getId(), course.getId()))
-                .thenReturn(Optional.of(progression));
-        when(quizRepository.countByLessonCourseId(course.getId())).thenReturn(totalQuizzes);
-        when(submissionRepository.countDistinctQuizByStudentIdAndCourseId(student.getId(), course.getId()))
-                .thenReturn(submittedQuizzes);
-        when(submissionRepository.findAverageScoreByStudentIdAndCourseId(student.getId(), course.getId()))
-                .thenReturn(averageScore);
-        when(studentProgressionRepository.save(progression)).thenReturn(progression);
-
-        studentProgressionService.updateProgression(student, course);
-
-        assertEquals(100.0, progression.getProgressionPercent(), 0.01);
-        assertEquals(95.5, progression.getAverageScore(), 0.01);
-
-        verify(quizRepository, times(1)).countByLessonCourseId(course.getId());
-        verify(submissionRepository, times(1))
-                .countDistinctQuizByStudentIdAndCourseId(student.getId(), course.getId());
-        verify(submissionRepository, times(1))
-                .findAverageScoreByStudentIdAndCourseId(student.getId(), course.getId());
-        verify(studentProgressionRepository, times(1)).save(progression);
+    private static ProgressionTotals progressionTotals(double scoreSum, long submissionCount, long quizzesAttempted) {
+        return new ProgressionTotals() {
+            @Override
+            public Double getScoreSum() {
+                return scoreSum;
+            }
+
+            @Override
+            public Long getSubmissionCount() {
+                return submissionCount;
+            }
+
+            @Override
+            public Long getQuizzesAttempted() {
+                return quizzesAttempted;
+            }
+        };
     }
 
     /* -------------------- Get My Progression -------------------- */
@@ -205,7 +177,7 @@ public class StudentProgressionServiceTest {
     void getMyProgression_ShouldReturnMyProgression_WhenUserIsEnrolledInCourse() {
         when(courseRepository.existsById(course.getId())).thenReturn(true);
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
         when(studentProgressionRepository.findByStudentIdAndCourseId(student.getId(), course.getId()))
                 .thenReturn(Optional.of(progression));
         when(studentProgressionMapper.toDto(progression)).thenReturn(progressionDto);
@@ -221,7 +193,8 @@ public class StudentProgressionServiceTest {
 
         verify(courseRepository, times(1)).existsById(course.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
+        verify(progressionDeltaBuffer, times(1)).flush(student.getId(), course.getId());
         verify(studentProgressionRepository, times(1))
                 .findByStudentIdAndCourseId(student.getId(), course.getId());
         verify(studentProgressionMapper, times(1)).toDto(progression);
@@ -238,14 +211,15 @@ public class StudentProgressionServiceTest {
         );
 
         verify(courseRepository, times(1)).existsById(nonExistentCourseId);
-        verifyNoInteractions(securityUtils, enrollmentRepository, studentProgressionRepository, studentProgressionMapper);
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
+        verifyNoInteractions(securityUtils, studentProgressionRepository, studentProgressionMapper);
     }
 
     @Test
     void getMyProgression_ShouldThrowAccessDeniedException_WhenUserIsNotEnrolledInCourse() {
         when(courseRepository.existsById(course.getId())).thenReturn(true);
         when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(false);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
 
         assertThrows(
                 AccessDeniedException.class,
@@ -254,7 +228,7 @@ public class StudentProgressionServiceTest {
 
         verify(courseRepository, times(1)).existsById(course.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verifyNoInteractions(studentProgressionRepository, studentProgressionMapper);
     }
 
@@ -262,7 +236,7 @@ public class StudentProgressionServiceTest {
     void getMyProgression_ShouldThrowStudentProgressionNotFoundException_WhenProgressionNotFound() {
         when(courseRepository.existsById(course.getId())).thenReturn(true);
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
         when(studentProgressionRepository.findByStudentIdAndCourseId(student.getId(), course.getId()))
                 .thenReturn(Optional.empty());
 
@@ -273,7 +247,7 @@ public class StudentProgressionServiceTest {
 
         verify(courseRepository, times(1)).existsById(course.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verify(studentProgressionRepository, times(1))
                 .findByStudentIdAndCourseId(student.getId(), course.getId());
         verifyNoInteractions(studentProgressionMapper);
@@ -299,6 +273,7 @@ public class StudentProgressionServiceTest {
 
         verify(courseRepository, times(1)).findById(course.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
+        verify(progressionDeltaBuffer, times(1)).flushCourse(course.getId());
         verify(studentProgressionRepository, times(1)).findByCourseId(course.getId());
         verify(studentProgressionMapper, times(1)).toDto(progression);
     }
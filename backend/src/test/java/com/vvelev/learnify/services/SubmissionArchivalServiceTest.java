@@ -0,0 +1,59 @@
+package com.vvelev.learnify.services;
+
+import com.vvelev.learnify.repositories.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SubmissionArchivalServiceTest {
+    @Mock private SubmissionRepository submissionRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SubmissionArchivalService submissionArchivalService;
+
+    @BeforeEach
+    void setUp() {
+        submissionArchivalService = new SubmissionArchivalService(submissionRepository, transactionManager, 365, 2);
+    }
+
+    @Test
+    void archiveOldAttempts_ShouldArchiveInChunksUntilNothingIsLeft() {
+        when(submissionRepository.findArchivableIds(any(LocalDateTime.class), eq(0L), eq(2))).thenReturn(List.of(10L, 11L));
+        when(submissionRepository.findArchivableIds(any(LocalDateTime.class), eq(11L), eq(2))).thenReturn(List.of(14L));
+        when(submissionRepository.findArchivableIds(any(LocalDateTime.class), eq(14L), eq(2))).thenReturn(List.of());
+
+        submissionArchivalService.archiveOldAttempts();
+
+        InOrder inOrder = inOrder(submissionRepository);
+        inOrder.verify(submissionRepository).archive(List.of(10L, 11L));
+        inOrder.verify(submissionRepository).archive(List.of(14L));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void archiveOldAttempts_ShouldUseCutoffInThePast() {
+        LocalDateTime before = LocalDateTime.now().minusDays(365);
+        when(submissionRepository.findArchivableIds(
+                argThat(cutoff -> !cutoff.isBefore(before) && cutoff.isBefore(LocalDateTime.now().minusDays(364))),
+                eq(0L),
+                eq(2)
+        )).thenReturn(List.of());
+
+        submissionArchivalService.archiveOldAttempts();
+
+        verify(submissionRepository, never()).archive(any());
+        verifyNoInteractions(transactionManager);
+    }
+}
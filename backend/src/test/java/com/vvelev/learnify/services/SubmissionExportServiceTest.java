@@ -0,0 +1,191 @@
+package com.vvelev.learnify.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vvelev.learnify.constants.ExportFormat;
+import com.vvelev.learnify.entities.Course;
+import com.vvelev.learnify.entities.Lesson;
+import com.vvelev.learnify.entities.Quiz;
+import com.vvelev.learnify.entities.User;
+import com.vvelev.learnify.exceptions.AccessDeniedException;
+import com.vvelev.learnify.exceptions.QuizNotFoundException;
+import com.vvelev.learnify.repositories.QuizRepository;
+import com.vvelev.learnify.repositories.SubmissionExportRepository;
+import com.vvelev.learnify.utils.AccessPolicy;
+import com.vvelev.learnify.utils.SecurityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SubmissionExportServiceTest {
+    @Mock private QuizRepository quizRepository;
+    @Mock private SubmissionExportRepository submissionExportRepository;
+    @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SubmissionExportService submissionExportService;
+    private Quiz quiz;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(accessPolicy.isCourseCreator(any(Course.class), any())).thenAnswer(invocation ->
+                invocation.<Course>getArgument(0).getCreatedBy().getId().equals(invocation.getArgument(1))
+        );
+
+        submissionExportService = new SubmissionExportService(
+                quizRepository,
+                submissionExportRepository,
+                securityUtils,
+                accessPolicy,
+                new ObjectMapper(),
+                transactionManager
+        );
+
+        User teacher = new User();
+        teacher.setId(1L);
+
+        Course course = new Course();
+        course.setId(1L);
+        course.setCreatedBy(teacher);
+
+        Lesson lesson = new Lesson();
+        lesson.setId(1L);
+        lesson.setCourse(course);
+
+        quiz = new Quiz();
+        quiz.setId(5L);
+        quiz.setLesson(lesson);
+    }
+
+    @Test
+    void exportQuizSubmissions_ShouldStreamCsvRows_WhenUserIsCourseCreator() throws Exception {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        ResultSet row = answerRow("Smith, Jr.");
+        stubRows(row);
+
+        String csv = new String(export(ExportFormat.CSV, false), StandardCharsets.UTF_8);
+
+        String[] lines = csv.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("submission_id,student_id"));
+        assertEquals("10,2,jane@example.com,Jane,\"Smith, Jr.\",75,2024-01-01T10:00,1,4,true", lines[1]);
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void exportQuizSubmissions_ShouldStreamNdjsonRows_WhenFormatIsNdjson() throws Exception {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        ResultSet row = answerRow("Smith");
+        stubRows(row);
+
+        String ndjson = new String(export(ExportFormat.NDJSON, false), StandardCharsets.UTF_8);
+
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        ObjectMapper objectMapper = new ObjectMapper();
+        assertEquals(10L, objectMapper.readTree(lines[0]).get("submissionId").asLong());
+        assertEquals(75.0, objectMapper.readTree(lines[0]).get("score").asDouble());
+        assertTrue(objectMapper.readTree(lines[1]).get("correct").asBoolean());
+    }
+
+    @Test
+    void exportQuizSubmissions_ShouldCompressOutput_WhenGzipIsRequested() throws Exception {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        ResultSet row = answerRow("Smith");
+        stubRows(row);
+
+        byte[] compressed = export(ExportFormat.CSV, true);
+        String csv = new String(
+                new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes(),
+                StandardCharsets.UTF_8
+        );
+
+        assertEquals(3, csv.split("\n").length);
+    }
+
+    @Test
+    void exportQuizSubmissions_ShouldThrowAccessDeniedException_WhenUserIsNotCourseCreator() {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(2L);
+
+        assertThrows(
+                AccessDeniedException.class,
+                () -> submissionExportService.exportQuizSubmissions(quiz.getId(), ExportFormat.CSV, false)
+        );
+
+        verifyNoInteractions(submissionExportRepository);
+    }
+
+    @Test
+    void exportQuizSubmissions_ShouldThrowQuizNotFoundException_WhenQuizNotFound() {
+        when(quizRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(
+                QuizNotFoundException.class,
+                () -> submissionExportService.exportQuizSubmissions(999L, ExportFormat.CSV, false)
+        );
+
+        verifyNoInteractions(securityUtils, submissionExportRepository);
+    }
+
+    private byte[] export(ExportFormat format, boolean gzip) throws Exception {
+        StreamingResponseBody body = submissionExportService.exportQuizSubmissions(quiz.getId(), format, gzip);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        body.writeTo(outputStream);
+
+        return outputStream.toByteArray();
+    }
+
+    private void stubRows(ResultSet row) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row);
+            handler.processRow(row);
+            return null;
+        }).when(submissionExportRepository).streamQuizAnswers(eq(quiz.getId()), any());
+    }
+
+    private ResultSet answerRow(String lastName) throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        lenient().when(row.getString("submission_id")).thenReturn("10");
+        lenient().when(row.getString("student_id")).thenReturn("2");
+        lenient().when(row.getString("student_email")).thenReturn("jane@example.com");
+        lenient().when(row.getString("student_first_name")).thenReturn("Jane");
+        lenient().when(row.getString("student_last_name")).thenReturn(lastName);
+        lenient().when(row.getString("score")).thenReturn("75");
+        lenient().when(row.getString("question_id")).thenReturn("1");
+        lenient().when(row.getString("answer_id")).thenReturn("4");
+        lenient().when(row.getLong("submission_id")).thenReturn(10L);
+        lenient().when(row.getLong("student_id")).thenReturn(2L);
+        lenient().when(row.getDouble("score")).thenReturn(75.0);
+        lenient().when(row.getLong("question_id")).thenReturn(1L);
+        lenient().when(row.getLong("answer_id")).thenReturn(4L);
+        lenient().when(row.getBoolean("is_correct")).thenReturn(true);
+        lenient().when(row.getTimestamp("submitted_at"))
+                .thenReturn(Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 10, 0)));
+        return row;
+    }
+}
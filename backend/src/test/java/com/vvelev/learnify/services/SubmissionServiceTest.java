@@ -1,24 +1,49 @@
 package com.vvelev.learnify.services;
 
+import com.vvelev.learnify.caches.IdempotencyKeyIndex;
+import com.vvelev.learnify.caches.InFlightSubmissionRegistry;
+import com.vvelev.learnify.caches.QuizAnswerKey;
+import com.vvelev.learnify.caches.QuizAnswerKeyCache;
+import com.vvelev.learnify.caches.SubmissionDetailsCache;
+import com.vvelev.learnify.config.SubmissionStorageConfig;
 import com.vvelev.learnify.dtos.submission.SubmissionDetailsDto;
 import com.vvelev.learnify.dtos.submission.SubmissionDto;
+import com.vvelev.learnify.dtos.submission.SubmissionPageDto;
+import com.vvelev.learnify.dtos.submission.SubmissionStatusDto;
 import com.vvelev.learnify.dtos.submissionanswer.SubmissionAnswerDetailsDto;
 import com.vvelev.learnify.dtos.submissionanswer.SubmissionAnswerDto;
 import com.vvelev.learnify.entities.*;
+import com.vvelev.learnify.events.SubmissionReceivedEvent;
 import com.vvelev.learnify.exceptions.*;
+import com.vvelev.learnify.listeners.GradingQueue;
 import com.vvelev.learnify.mappers.SubmissionMapper;
 import com.vvelev.learnify.repositories.*;
+import com.vvelev.learnify.repositories.projections.AnswerKeyEntry;
+import com.vvelev.learnify.repositories.projections.GradedSubmissionRow;
+import com.vvelev.learnify.repositories.projections.SubmissionAnswerDetailsRow;
+import com.vvelev.learnify.utils.AnswerVectorCodec;
+import com.vvelev.learnify.utils.AccessPolicy;
 import com.vvelev.learnify.utils.SecurityUtils;
+import com.vvelev.learnify.utils.SubmissionCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,15 +52,24 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class SubmissionServiceTest {
     @Mock private StudentProgressionService studentProgressionService;
+    @Mock private ItemStatisticsService itemStatisticsService;
+    @Mock private ScoreDistributionService scoreDistributionService;
     @Mock private QuizRepository quizRepository;
     @Mock private SubmissionRepository submissionRepository;
     @Mock private SubmissionAnswerRepository submissionAnswerRepository;
-    @Mock private EnrollmentRepository enrollmentRepository;
-    @Mock private UserRepository userRepository;
     @Mock private AnswerRepository answerRepository;
     @Mock private QuestionRepository questionRepository;
+    @Mock private QuizAnswerKeyCache quizAnswerKeyCache;
+    @Mock private IdempotencyKeyIndex idempotencyKeyIndex;
+    @Mock private SubmissionDetailsCache submissionDetailsCache;
+    @Mock private GradingQueue gradingQueue;
+    @Mock private SubmissionStorageConfig submissionStorageConfig;
+    @Spy private InFlightSubmissionRegistry inFlightSubmissionRegistry = new InFlightSubmissionRegistry();
     @Mock private SubmissionMapper submissionMapper;
     @Mock private SecurityUtils securityUtils;
+    @Mock private AccessPolicy accessPolicy;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private TransactionTemplate transactionTemplate;
 
     @InjectMocks
     private SubmissionService submissionService;
@@ -54,9 +88,14 @@ public class SubmissionServiceTest {
     private SubmissionDto submissionDto;
     private SubmissionDetailsDto submissionDetailsDto;
     private List<SubmissionAnswerDto> submissionAnswers;
+    private QuizAnswerKey answerKey;
 
     @BeforeEach
     void setUp() {
+        lenient().when(accessPolicy.isCourseCreator(any(Course.class), any())).thenAnswer(invocation ->
+                invocation.<Course>getArgument(0).getCreatedBy().getId().equals(invocation.getArgument(1))
+        );
+
         teacher = new User();
         teacher.setId(1L);
         teacher.setEmail("teacher@example.com");
@@ -174,6 +213,82 @@ public class SubmissionServiceTest {
                 new SubmissionAnswerDto(question1.getId(), correctAnswer1.getId()),
                 new SubmissionAnswerDto(question2.getId(), incorrectAnswer2.getId())
         );
+
+        answerKey = QuizAnswerKey.of(List.of(
+                answerKeyEntry(correctAnswer1),
+                answerKeyEntry(incorrectAnswer1),
+                answerKeyEntry(correctAnswer2),
+                answerKeyEntry(incorrectAnswer2)
+        ));
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null)
+        );
+    }
+
+    private static AnswerKeyEntry answerKeyEntry(Answer answer) {
+        return new AnswerKeyEntry() {
+            @Override
+            public Long getQuestionId() {
+                return answer.getQuestion().getId();
+            }
+
+            @Override
+            public Long getAnswerId() {
+                return answer.getId();
+            }
+
+            @Override
+            public Boolean getCorrect() {
+                return answer.isCorrect();
+            }
+        };
+    }
+
+    private static List<SubmissionAnswerDetailsRow> detailsRows(int questionCount) {
+        List<SubmissionAnswerDetailsRow> rows = new ArrayList<>();
+
+        for (long questionId = 1; questionId <= questionCount; questionId++) {
+            long id = questionId;
+            rows.add(new SubmissionAnswerDetailsRow() {
+                @Override
+                public Long getQuestionId() {
+                    return id;
+                }
+
+                @Override
+                public String getQuestionText() {
+                    return "Question " + id;
+                }
+
+                @Override
+                public Long getChosenAnswerId() {
+                    return id * 10;
+                }
+
+                @Override
+                public String getChosenAnswerText() {
+                    return "Answer " + id * 10;
+                }
+
+                @Override
+                public Boolean getChosenCorrect() {
+                    return true;
+                }
+
+                @Override
+                public Long getCorrectAnswerId() {
+                    return id * 10;
+                }
+
+                @Override
+                public String getCorrectAnswerText() {
+                    return "Answer " + id * 10;
+                }
+            });
+        }
+
+        return rows;
     }
 
     /* -------------------- Submit Quiz -------------------- */
@@ -182,18 +297,15 @@ public class SubmissionServiceTest {
     void submitQuiz_ShouldCreateSubmission_WhenUserIsEnrolledInCourse() {
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
-        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
-        when(questionRepository.countByQuizId(quiz.getId())).thenReturn(2L);
-        when(answerRepository.findById(correctAnswer1.getId())).thenReturn(Optional.of(correctAnswer1));
-        when(answerRepository.findById(incorrectAnswer2.getId())).thenReturn(Optional.of(incorrectAnswer2));
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
         when(submissionRepository.save(any(Submission.class))).thenAnswer(invocation -> {
             Submission savedSubmission = invocation.getArgument(0);
             savedSubmission.setId(1L);
             savedSubmission.setSubmittedAt(LocalDateTime.now());
             return savedSubmission;
         });
-        when(submissionAnswerRepository.save(any(SubmissionAnswer.class))).thenReturn(new SubmissionAnswer());
         when(submissionMapper.toDto(any(Submission.class))).thenReturn(submissionDto);
 
         SubmissionDto result = submissionService.submitQuiz(quiz.getId(), submissionAnswers);
@@ -206,16 +318,142 @@ public class SubmissionServiceTest {
 
         verify(quizRepository, times(1)).findById(quiz.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
-        verify(userRepository, times(1)).findById(student.getId());
-        verify(questionRepository, times(1)).countByQuizId(quiz.getId());
-        verify(answerRepository, times(2)).findById(anyLong());
-        verify(submissionRepository, times(2)).save(any(Submission.class));
-        verify(submissionAnswerRepository, times(2)).save(any(SubmissionAnswer.class));
-        verify(studentProgressionService, times(1)).updateProgression(student, course);
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
+        verify(securityUtils, times(1)).getCurrentUserReference();
+        verify(quizAnswerKeyCache, times(1)).get(quiz.getId());
+        verify(answerRepository, never()).existsById(anyLong());
+        verify(submissionRepository, times(1)).save(any(Submission.class));
+        verify(submissionAnswerRepository, times(1)).saveAll(argThat(rows -> ((List<?>) rows).size() == 2));
+        verify(studentProgressionService, times(1)).recordSubmission(any(Submission.class));
+        verify(scoreDistributionService, times(1)).recordSubmission(any(Submission.class));
         verify(submissionMapper, times(1)).toDto(any(Submission.class));
     }
 
+    @Test
+    void submitQuiz_ShouldThrowUserNotFoundException_WhenUserNotFound() {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenThrow(new UserNotFoundException());
+
+        assertThrows(
+                UserNotFoundException.class,
+                () -> submissionService.submitQuiz(quiz.getId(), submissionAnswers)
+        );
+
+        verify(securityUtils, times(1)).getCurrentUserReference();
+        verify(submissionRepository, never()).save(any(Submission.class));
+        verifyNoInteractions(studentProgressionService, submissionMapper);
+    }
+
+    @Test
+    void submitQuiz_ShouldStoreAnswerVectorInsteadOfRows_WhenAnswerVectorsAreEnabled() {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
+        when(submissionStorageConfig.isAnswerVectorsEnabled()).thenReturn(true);
+        when(submissionRepository.save(any(Submission.class))).thenAnswer(invocation -> {
+            Submission savedSubmission = invocation.getArgument(0);
+            savedSubmission.setId(1L);
+            return savedSubmission;
+        });
+        when(submissionMapper.toDto(any(Submission.class))).thenReturn(submissionDto);
+
+        submissionService.submitQuiz(quiz.getId(), submissionAnswers);
+
+        List<Long> answerIds = submissionAnswers.stream().map(SubmissionAnswerDto::getAnswerId).sorted().toList();
+        verify(submissionRepository, times(1))
+                .save(argThat(saved -> answerIds.equals(AnswerVectorCodec.decode(saved.getAnswerVector()))));
+        verify(submissionAnswerRepository, never()).saveAll(any());
+        verify(studentProgressionService, times(1)).recordSubmission(any(Submission.class));
+    }
+
+    @Test
+    void submitQuiz_ShouldGradeInSingleStatement_WhenDatabaseScoringIsEnabled() {
+        GradedSubmissionRow row = mock(GradedSubmissionRow.class);
+        when(row.getId()).thenReturn(7L);
+        when(row.getScore()).thenReturn(50.0);
+
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
+        when(submissionStorageConfig.isDatabaseScoringEnabled()).thenReturn(true);
+        when(submissionRepository.insertGradedSubmission(
+                quiz.getId(),
+                student.getId(),
+                null,
+                question1.getId() + ":" + correctAnswer1.getId() + "," + question2.getId() + ":" + incorrectAnswer2.getId(),
+                2
+        )).thenReturn(Optional.of(row));
+        when(submissionMapper.toDto(any(Submission.class))).thenReturn(submissionDto);
+
+        submissionService.submitQuiz(quiz.getId(), submissionAnswers);
+
+        verify(submissionRepository, never()).save(any(Submission.class));
+        verify(submissionAnswerRepository, never()).saveAll(any());
+        verify(studentProgressionService, times(1)).recordSubmission(argThat(submission ->
+                submission.getId().equals(7L)
+                        && submission.getScore().equals(50.0)
+                        && submission.getStatus() == SubmissionStatus.GRADED
+        ));
+        verify(itemStatisticsService, times(1)).recordSubmission(7L);
+        verify(scoreDistributionService, times(1)).recordSubmission(any(Submission.class));
+    }
+
+    @Test
+    void submitQuiz_ShouldThrowAnswerNotInQuiz_WhenDatabaseScoringRejectsAnswers() {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
+        when(submissionStorageConfig.isDatabaseScoringEnabled()).thenReturn(true);
+        when(submissionRepository.insertGradedSubmission(anyLong(), anyLong(), any(), anyString(), anyInt()))
+                .thenReturn(Optional.empty());
+
+        assertThrows(AnswerNotInQuizException.class, () -> submissionService.submitQuiz(quiz.getId(), submissionAnswers));
+
+        verify(studentProgressionService, never()).recordSubmission(any());
+    }
+
+    @Test
+    void submitQuiz_ShouldRejectSubmission_WhenSameQuizIsAlreadyBeingSubmitted() {
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        inFlightSubmissionRegistry.tryAcquire(student.getId(), quiz.getId());
+
+        assertThrows(SubmissionInProgressException.class, () -> submissionService.submitQuiz(quiz.getId(), submissionAnswers));
+
+        verify(submissionRepository, never()).save(any(Submission.class));
+        verify(studentProgressionService, never()).recordSubmission(any());
+        assertTrue(inFlightSubmissionRegistry.isInFlight(student.getId(), quiz.getId()));
+    }
+
+    @Test
+    void submitQuiz_ShouldReleaseInFlightSubmission_WhenSubmissionFails() {
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.empty());
+
+        assertThrows(QuizNotFoundException.class, () -> submissionService.submitQuiz(quiz.getId(), submissionAnswers));
+
+        assertFalse(inFlightSubmissionRegistry.isInFlight(student.getId(), quiz.getId()));
+    }
+
+    @Test
+    void submitQuiz_ShouldRejectSubmission_WhenAdvisoryLockIsHeldElsewhere() {
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(submissionStorageConfig.isAdvisoryLocksEnabled()).thenReturn(true);
+        when(submissionRepository.tryLockStudentQuiz(student.getId(), quiz.getId())).thenReturn(false);
+
+        assertThrows(SubmissionInProgressException.class, () -> submissionService.submitQuiz(quiz.getId(), submissionAnswers));
+
+        verify(quizRepository, never()).findById(anyLong());
+        assertFalse(inFlightSubmissionRegistry.isInFlight(student.getId(), quiz.getId()));
+    }
+
     @Test
     void submitQuiz_ShouldCalculateScoreCorrectly_AllCorrect() {
         List<SubmissionAnswerDto> allCorrectAnswers = List.of(
@@ -225,17 +463,14 @@ public class SubmissionServiceTest {
 
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
-        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
-        when(questionRepository.countByQuizId(quiz.getId())).thenReturn(2L);
-        when(answerRepository.findById(correctAnswer1.getId())).thenReturn(Optional.of(correctAnswer1));
-        when(answerRepository.findById(correctAnswer2.getId())).thenReturn(Optional.of(correctAnswer2));
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
         when(submissionRepository.save(any(Submission.class))).thenAnswer(invocation -> {
             Submission savedSubmission = invocation.getArgument(0);
             savedSubmission.setId(1L);
             return savedSubmission;
         });
-        when(submissionAnswerRepository.save(any(SubmissionAnswer.class))).thenReturn(new SubmissionAnswer());
 
         SubmissionDto perfectScoreDto = new SubmissionDto(1L, 100.0, LocalDateTime.now(), quiz.getId(), student.getId(), "Jane", "Smith");
         when(submissionMapper.toDto(any(Submission.class))).thenReturn(perfectScoreDto);
@@ -245,7 +480,7 @@ public class SubmissionServiceTest {
         assertNotNull(result);
         assertEquals(100.0, result.getScore());
 
-        verify(submissionRepository, times(2)).save(argThat(submission ->
+        verify(submissionRepository, times(1)).save(argThat(submission ->
                 submission.getScore() == 100.0
         ));
     }
@@ -259,17 +494,14 @@ public class SubmissionServiceTest {
 
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(new EnrollmentId(student.getId(), course.getId()))).thenReturn(true);
-        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
-        when(questionRepository.countByQuizId(quiz.getId())).thenReturn(2L);
-        when(answerRepository.findById(incorrectAnswer1.getId())).thenReturn(Optional.of(incorrectAnswer1));
-        when(answerRepository.findById(incorrectAnswer2.getId())).thenReturn(Optional.of(incorrectAnswer2));
+        when(accessPolicy.isStudentEnrolled(student.getId(), course.getId())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
         when(submissionRepository.save(any(Submission.class))).thenAnswer(invocation -> {
             Submission savedSubmission = invocation.getArgument(0);
             savedSubmission.setId(1L);
             return savedSubmission;
         });
-        when(submissionAnswerRepository.save(any(SubmissionAnswer.class))).thenReturn(new SubmissionAnswer());
 
         SubmissionDto zeroScoreDto = new SubmissionDto(1L, 0.0, LocalDateTime.now(), quiz.getId(), student.getId(), "Jane", "Smith");
         when(submissionMapper.toDto(any(Submission.class))).thenReturn(zeroScoreDto);
@@ -279,7 +511,7 @@ public class SubmissionServiceTest {
         assertNotNull(result);
         assertEquals(0.0, result.getScore());
 
-        verify(submissionRepository, times(2)).save(argThat(submission ->
+        verify(submissionRepository, times(1)).save(argThat(submission ->
                 submission.getScore() == 0.0
         ));
     }
@@ -288,18 +520,15 @@ public class SubmissionServiceTest {
     void submitQuiz_ShouldCalculateScoreCorrectly_PartialCorrect() {
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(new EnrollmentId(student.getId(), course.getId()))).thenReturn(true);
-        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
-        when(questionRepository.countByQuizId(quiz.getId())).thenReturn(2L);
-        when(answerRepository.findById(correctAnswer1.getId())).thenReturn(Optional.of(correctAnswer1));
-        when(answerRepository.findById(incorrectAnswer2.getId())).thenReturn(Optional.of(incorrectAnswer2));
+        when(accessPolicy.isStudentEnrolled(student.getId(), course.getId())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
         when(submissionRepository.save(any(Submission.class))).thenAnswer(invocation -> {
             Submission savedSubmission = invocation.getArgument(0);
             savedSubmission.setId(1L);
             savedSubmission.setScore(50.0);
             return savedSubmission;
         });
-        when(submissionAnswerRepository.save(any(SubmissionAnswer.class))).thenReturn(new SubmissionAnswer());
 
         SubmissionDto partialScoreDto = new SubmissionDto(1L, 50.0, LocalDateTime.now(), quiz.getId(), student.getId(), "Jane", "Smith");
         when(submissionMapper.toDto(any(Submission.class))).thenReturn(partialScoreDto);
@@ -309,7 +538,7 @@ public class SubmissionServiceTest {
         assertNotNull(result);
         assertEquals(50.0, result.getScore());
 
-        verify(submissionRepository, times(2)).save(argThat(submission ->
+        verify(submissionRepository, times(1)).save(argThat(submission ->
                 submission.getScore() == 50.0
         ));
     }
@@ -325,14 +554,15 @@ public class SubmissionServiceTest {
         );
 
         verify(quizRepository, times(1)).findById(nonExistentQuizId);
-        verifyNoInteractions(securityUtils, enrollmentRepository, userRepository, questionRepository);
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
+        verifyNoInteractions(questionRepository);
     }
 
     @Test
     void submitQuiz_ShouldThrowAccessDeniedException_WhenUserIsNotEnrolledInCourse() {
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(false);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
 
         assertThrows(
                 AccessDeniedException.class,
@@ -341,27 +571,8 @@ public class SubmissionServiceTest {
 
         verify(quizRepository, times(1)).findById(quiz.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
-        verifyNoInteractions(userRepository, questionRepository);
-    }
-
-    @Test
-    void submitQuiz_ShouldThrowUserNotFoundException_WhenUserNotFound() {
-        Long nonExistentUserId = 999L;
-        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
-        when(securityUtils.getCurrentUserId()).thenReturn(nonExistentUserId);
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
-        when(userRepository.findById(nonExistentUserId)).thenReturn(Optional.empty());
-
-        assertThrows(
-                UserNotFoundException.class,
-                () -> submissionService.submitQuiz(quiz.getId(), submissionAnswers)
-        );
-
-        verify(quizRepository, times(1)).findById(quiz.getId());
-        verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
-        verify(userRepository, times(1)).findById(nonExistentUserId);
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
+        verify(securityUtils, never()).getCurrentUserReference();
         verifyNoInteractions(questionRepository);
     }
 
@@ -373,16 +584,16 @@ public class SubmissionServiceTest {
 
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
-        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
-        when(questionRepository.countByQuizId(quiz.getId())).thenReturn(2L);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
 
         assertThrows(
                 UnansweredQuestionsException.class,
                 () -> submissionService.submitQuiz(quiz.getId(), incompleteAnswers)
         );
 
-        verify(questionRepository, times(1)).countByQuizId(quiz.getId());
+        verify(quizAnswerKeyCache, times(1)).get(quiz.getId());
         verifyNoInteractions(answerRepository, submissionRepository);
     }
 
@@ -395,16 +606,16 @@ public class SubmissionServiceTest {
 
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
-        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
-        when(questionRepository.countByQuizId(quiz.getId())).thenReturn(2L);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
 
         assertThrows(
                 QuestionAlreadyAnsweredException.class,
                 () -> submissionService.submitQuiz(quiz.getId(), duplicateAnswers)
         );
 
-        verify(questionRepository, times(1)).countByQuizId(quiz.getId());
+        verify(quizAnswerKeyCache, times(1)).get(quiz.getId());
         verifyNoInteractions(answerRepository, submissionRepository);
     }
 
@@ -412,72 +623,321 @@ public class SubmissionServiceTest {
     void submitQuiz_ShouldThrowAnswerNotFoundException_WhenAnswerNotFound() {
         Long nonExistentAnswerId = 999L;
         List<SubmissionAnswerDto> invalidAnswers = List.of(
-                new SubmissionAnswerDto(question1.getId(), nonExistentAnswerId)
+                new SubmissionAnswerDto(question1.getId(), nonExistentAnswerId),
+                new SubmissionAnswerDto(question2.getId(), correctAnswer2.getId())
         );
 
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
-        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
-        when(questionRepository.countByQuizId(quiz.getId())).thenReturn(1L);
-        when(answerRepository.findById(nonExistentAnswerId)).thenReturn(Optional.empty());
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
+        when(answerRepository.existsById(nonExistentAnswerId)).thenReturn(false);
 
         assertThrows(
                 AnswerNotFoundException.class,
                 () -> submissionService.submitQuiz(quiz.getId(), invalidAnswers)
         );
 
-        verify(answerRepository, times(1)).findById(nonExistentAnswerId);
+        verify(answerRepository, times(1)).existsById(nonExistentAnswerId);
+        verifyNoInteractions(submissionRepository, submissionAnswerRepository);
     }
 
     @Test
     void submitQuiz_ShouldThrowAnswerNotInQuizException_WhenAnswerBelongsToDifferentQuiz() {
-        Quiz differentQuiz = new Quiz();
-        differentQuiz.setId(2L);
-
-        Answer answerFromDifferentQuiz = new Answer();
-        answerFromDifferentQuiz.setId(5L);
-        answerFromDifferentQuiz.setQuestion(question1);
-        question1.setQuiz(differentQuiz);
-
+        Long answerFromDifferentQuizId = 5L;
         List<SubmissionAnswerDto> invalidAnswers = List.of(
-                new SubmissionAnswerDto(question1.getId(), answerFromDifferentQuiz.getId())
+                new SubmissionAnswerDto(question1.getId(), answerFromDifferentQuizId),
+                new SubmissionAnswerDto(question2.getId(), correctAnswer2.getId())
         );
 
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
-        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
-        when(questionRepository.countByQuizId(quiz.getId())).thenReturn(1L);
-        when(answerRepository.findById(answerFromDifferentQuiz.getId())).thenReturn(Optional.of(answerFromDifferentQuiz));
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
+        when(answerRepository.existsById(answerFromDifferentQuizId)).thenReturn(true);
 
         assertThrows(
                 AnswerNotInQuizException.class,
                 () -> submissionService.submitQuiz(quiz.getId(), invalidAnswers)
         );
 
-        verify(answerRepository, times(1)).findById(answerFromDifferentQuiz.getId());
+        verify(answerRepository, times(1)).existsById(answerFromDifferentQuizId);
+        verifyNoInteractions(submissionRepository, submissionAnswerRepository);
     }
 
     @Test
     void submitQuiz_ShouldThrowAnswerNotInQuestionException_WhenAnswerDoesNotBelongToQuestion() {
         List<SubmissionAnswerDto> invalidAnswers = List.of(
-                new SubmissionAnswerDto(question1.getId(), correctAnswer2.getId())
+                new SubmissionAnswerDto(question1.getId(), correctAnswer2.getId()),
+                new SubmissionAnswerDto(question2.getId(), incorrectAnswer2.getId())
         );
 
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
-        when(userRepository.findById(student.getId())).thenReturn(Optional.of(student));
-        when(questionRepository.countByQuizId(quiz.getId())).thenReturn(1L);
-        when(answerRepository.findById(correctAnswer2.getId())).thenReturn(Optional.of(correctAnswer2));
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
 
         assertThrows(
                 AnswerNotInQuestionException.class,
                 () -> submissionService.submitQuiz(quiz.getId(), invalidAnswers)
         );
 
-        verify(answerRepository, times(1)).findById(correctAnswer2.getId());
+        verify(answerRepository, never()).existsById(anyLong());
+        verifyNoInteractions(submissionRepository, submissionAnswerRepository);
+    }
+
+    /* -------------------- Submit Quiz Async -------------------- */
+
+    @Test
+    void submitQuizAsync_ShouldSavePendingSubmissionAndPublishEvent_WhenUserIsEnrolledInCourse() {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
+        when(gradingQueue.hasCapacity()).thenReturn(true);
+        when(submissionRepository.save(any(Submission.class))).thenAnswer(invocation -> {
+            Submission savedSubmission = invocation.getArgument(0);
+            savedSubmission.setId(1L);
+            return savedSubmission;
+        });
+        when(submissionMapper.toStatusDto(any(Submission.class))).thenAnswer(invocation -> {
+            Submission savedSubmission = invocation.getArgument(0);
+            return new SubmissionStatusDto(savedSubmission.getId(), savedSubmission.getStatus(), savedSubmission.getScore());
+        });
+
+        SubmissionStatusDto result = submissionService.submitQuizAsync(quiz.getId(), submissionAnswers);
+
+        assertNotNull(result);
+        assertEquals(1L, result.getId());
+        assertEquals(SubmissionStatus.PENDING, result.getStatus());
+        assertNull(result.getScore());
+
+        verify(submissionRepository, times(1)).save(argThat(saved ->
+                saved.getStatus() == SubmissionStatus.PENDING
+                        && "1:1,2:4".equals(saved.getPendingAnswers())
+        ));
+        ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+        assertEquals(1L, ((SubmissionReceivedEvent) eventCaptor.getValue()).getSubmissionId());
+        verifyNoInteractions(submissionAnswerRepository, studentProgressionService);
+    }
+
+    @Test
+    void submitQuizAsync_ShouldThrowAnswerNotInQuestionException_WhenAnswerDoesNotBelongToQuestion() {
+        List<SubmissionAnswerDto> invalidAnswers = List.of(
+                new SubmissionAnswerDto(question1.getId(), correctAnswer2.getId()),
+                new SubmissionAnswerDto(question2.getId(), incorrectAnswer2.getId())
+        );
+
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
+
+        assertThrows(
+                AnswerNotInQuestionException.class,
+                () -> submissionService.submitQuizAsync(quiz.getId(), invalidAnswers)
+        );
+
+        verifyNoInteractions(submissionRepository, eventPublisher);
+    }
+
+    @Test
+    void submitQuizAsync_ShouldThrowGradingQueueFullException_WhenGradingQueueIsFull() {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
+        when(gradingQueue.hasCapacity()).thenReturn(false);
+
+        assertThrows(
+                GradingQueueFullException.class,
+                () -> submissionService.submitQuizAsync(quiz.getId(), submissionAnswers)
+        );
+
+        verifyNoInteractions(submissionRepository, eventPublisher);
+    }
+
+    /* -------------------- Idempotent Submit -------------------- */
+
+    @Test
+    void submitQuiz_ShouldStoreKeyAndRememberSubmission_WhenKeyIsNew() {
+        ReentrantLock lock = new ReentrantLock();
+
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(idempotencyKeyIndex.lockFor(student.getId(), "key-1")).thenReturn(lock);
+        when(idempotencyKeyIndex.find(student.getId(), "key-1")).thenReturn(Optional.empty());
+        when(submissionRepository.findByStudentIdAndIdempotencyKey(student.getId(), "key-1")).thenReturn(Optional.empty());
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
+        when(submissionRepository.save(any(Submission.class))).thenAnswer(invocation -> {
+            Submission savedSubmission = invocation.getArgument(0);
+            savedSubmission.setId(1L);
+            return savedSubmission;
+        });
+        when(submissionMapper.toDto(any(Submission.class))).thenReturn(submissionDto);
+
+        SubmissionDto result = submissionService.submitQuiz(quiz.getId(), submissionAnswers, "key-1");
+
+        assertEquals(submissionDto, result);
+        assertFalse(lock.isLocked());
+
+        verify(submissionRepository, times(1)).save(argThat(saved -> "key-1".equals(saved.getIdempotencyKey())));
+        verify(idempotencyKeyIndex, times(1)).remember(student.getId(), "key-1", 1L);
+        verify(studentProgressionService, times(1)).recordSubmission(any(Submission.class));
+        verify(itemStatisticsService, times(1)).recordSubmission(1L);
+    }
+
+    @Test
+    void submitQuiz_ShouldReturnOriginalSubmissionWithoutGrading_WhenKeyIsInIndex() {
+        ReentrantLock lock = new ReentrantLock();
+
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(idempotencyKeyIndex.lockFor(student.getId(), "key-1")).thenReturn(lock);
+        when(idempotencyKeyIndex.find(student.getId(), "key-1")).thenReturn(Optional.of(submission.getId()));
+        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+        when(submissionMapper.toDto(submission)).thenReturn(submissionDto);
+
+        SubmissionDto result = submissionService.submitQuiz(quiz.getId(), submissionAnswers, "key-1");
+
+        assertEquals(submissionDto, result);
+        assertFalse(lock.isLocked());
+
+        verify(submissionRepository, never()).save(any(Submission.class));
+        verifyNoInteractions(quizAnswerKeyCache, submissionAnswerRepository, studentProgressionService);
+    }
+
+    @Test
+    void submitQuiz_ShouldReturnOriginalSubmissionAndRememberKey_WhenKeyIsOnlyInDatabase() {
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(idempotencyKeyIndex.lockFor(student.getId(), "key-1")).thenReturn(new ReentrantLock());
+        when(idempotencyKeyIndex.find(student.getId(), "key-1")).thenReturn(Optional.empty());
+        when(submissionRepository.findByStudentIdAndIdempotencyKey(student.getId(), "key-1")).thenReturn(Optional.of(submission));
+        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+        when(submissionMapper.toDto(submission)).thenReturn(submissionDto);
+
+        SubmissionDto result = submissionService.submitQuiz(quiz.getId(), submissionAnswers, "key-1");
+
+        assertEquals(submissionDto, result);
+
+        verify(idempotencyKeyIndex, times(1)).remember(student.getId(), "key-1", submission.getId());
+        verify(submissionRepository, never()).save(any(Submission.class));
+        verifyNoInteractions(quizAnswerKeyCache, studentProgressionService);
+    }
+
+    @Test
+    void submitQuiz_ShouldReturnWinningSubmission_WhenConcurrentInsertViolatesUniqueKey() {
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(idempotencyKeyIndex.lockFor(student.getId(), "key-1")).thenReturn(new ReentrantLock());
+        when(idempotencyKeyIndex.find(student.getId(), "key-1")).thenReturn(Optional.empty());
+        when(submissionRepository.findByStudentIdAndIdempotencyKey(student.getId(), "key-1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(submission));
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(securityUtils.getCurrentUserReference()).thenReturn(student);
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
+        when(submissionRepository.save(any(Submission.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+        when(submissionMapper.toDto(submission)).thenReturn(submissionDto);
+
+        SubmissionDto result = submissionService.submitQuiz(quiz.getId(), submissionAnswers, "key-1");
+
+        assertEquals(submissionDto, result);
+
+        verify(idempotencyKeyIndex, times(1)).remember(student.getId(), "key-1", submission.getId());
+        verifyNoInteractions(submissionAnswerRepository, studentProgressionService);
+    }
+
+    @Test
+    void submitQuiz_ShouldThrowIdempotencyKeyReusedException_WhenKeyBelongsToDifferentQuiz() {
+        ReentrantLock lock = new ReentrantLock();
+
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(idempotencyKeyIndex.lockFor(student.getId(), "key-1")).thenReturn(lock);
+        when(idempotencyKeyIndex.find(student.getId(), "key-1")).thenReturn(Optional.of(submission.getId()));
+        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+
+        assertThrows(
+                IdempotencyKeyReusedException.class,
+                () -> submissionService.submitQuiz(99L, submissionAnswers, "key-1")
+        );
+
+        assertFalse(lock.isLocked());
+        verifyNoInteractions(submissionMapper, studentProgressionService);
+    }
+
+    @Test
+    void submitQuizAsync_ShouldReturnOriginalStatusWithoutPublishing_WhenKeyIsInIndex() {
+        SubmissionStatusDto statusDto = new SubmissionStatusDto(submission.getId(), SubmissionStatus.GRADED, 75.0);
+
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(idempotencyKeyIndex.lockFor(student.getId(), "key-1")).thenReturn(new ReentrantLock());
+        when(idempotencyKeyIndex.find(student.getId(), "key-1")).thenReturn(Optional.of(submission.getId()));
+        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+        when(submissionMapper.toStatusDto(submission)).thenReturn(statusDto);
+
+        SubmissionStatusDto result = submissionService.submitQuizAsync(quiz.getId(), submissionAnswers, "key-1");
+
+        assertEquals(statusDto, result);
+
+        verify(submissionRepository, never()).save(any(Submission.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /* -------------------- Grade Pending Submission -------------------- */
+
+    @Test
+    void gradePendingSubmission_ShouldGradeSubmission_WhenSubmissionIsPending() {
+        Submission pendingSubmission = new Submission();
+        pendingSubmission.setId(2L);
+        pendingSubmission.setQuiz(quiz);
+        pendingSubmission.setStudent(student);
+        pendingSubmission.setStatus(SubmissionStatus.PENDING);
+        pendingSubmission.setPendingAnswers(question1.getId() + ":" + correctAnswer1.getId() + "," + question2.getId() + ":" + incorrectAnswer2.getId());
+
+        when(submissionRepository.findByIdForUpdate(pendingSubmission.getId())).thenReturn(Optional.of(pendingSubmission));
+        when(quizAnswerKeyCache.get(quiz.getId())).thenReturn(answerKey);
+
+        submissionService.gradePendingSubmission(pendingSubmission.getId());
+
+        assertEquals(SubmissionStatus.GRADED, pendingSubmission.getStatus());
+        assertEquals(50.0, pendingSubmission.getScore());
+        assertNull(pendingSubmission.getPendingAnswers());
+
+        verify(submissionRepository, times(1)).save(pendingSubmission);
+        verify(submissionAnswerRepository, times(1)).saveAll(argThat(rows -> ((List<?>) rows).size() == 2));
+        verify(studentProgressionService, times(1)).recordSubmission(any(Submission.class));
+    }
+
+    @Test
+    void gradePendingSubmission_ShouldDoNothing_WhenSubmissionIsAlreadyGraded() {
+        submission.setStatus(SubmissionStatus.GRADED);
+        when(submissionRepository.findByIdForUpdate(submission.getId())).thenReturn(Optional.of(submission));
+
+        submissionService.gradePendingSubmission(submission.getId());
+
+        verify(submissionRepository, never()).save(any(Submission.class));
+        verifyNoInteractions(quizAnswerKeyCache, submissionAnswerRepository, studentProgressionService);
+    }
+
+    @Test
+    void markSubmissionFailed_ShouldMarkPendingSubmissionAsFailed() {
+        submission.setStatus(SubmissionStatus.PENDING);
+        when(submissionRepository.findByIdForUpdate(submission.getId())).thenReturn(Optional.of(submission));
+
+        submissionService.markSubmissionFailed(submission.getId());
+
+        assertEquals(SubmissionStatus.FAILED, submission.getStatus());
+        verify(submissionRepository, times(1)).save(submission);
     }
 
     /* -------------------- Get Quiz Submissions -------------------- */
@@ -486,21 +946,72 @@ public class SubmissionServiceTest {
     void getQuizSubmissions_ShouldReturnQuizSubmissions_WhenUserIsCourseCreator() {
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
-        when(submissionRepository.findByQuizIdOrderBySubmittedAtDesc(quiz.getId())).thenReturn(List.of(submission));
+        when(submissionRepository.findQuizSubmissionsPage(quiz.getId(), null, null, null, Limit.of(51)))
+                .thenReturn(List.of(submission));
         when(submissionMapper.toDto(submission)).thenReturn(submissionDto);
 
-        List<SubmissionDto> result = submissionService.getQuizSubmissions(quiz.getId());
+        SubmissionPageDto result = submissionService.getQuizSubmissions(quiz.getId(), null, null, null, null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(75.0, result.get(0).getScore());
+        assertEquals(1, result.getItems().size());
+        assertEquals(75.0, result.getItems().get(0).getScore());
+        assertNull(result.getNextCursor());
 
         verify(quizRepository, times(1)).findById(quiz.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(submissionRepository, times(1)).findByQuizIdOrderBySubmittedAtDesc(quiz.getId());
+        verify(submissionRepository, times(1)).findQuizSubmissionsPage(quiz.getId(), null, null, null, Limit.of(51));
         verify(submissionMapper, times(1)).toDto(any(Submission.class));
     }
 
+    @Test
+    void getQuizSubmissions_ShouldReturnNextCursor_WhenMoreSubmissionsExist() {
+        Submission older = new Submission();
+        older.setId(2L);
+        older.setSubmittedAt(submission.getSubmittedAt().minusMinutes(1));
+
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
+        when(submissionRepository.findQuizSubmissionsPage(quiz.getId(), student.getId(), 50.0, 100.0, Limit.of(2)))
+                .thenReturn(List.of(submission, older));
+        when(submissionMapper.toDto(submission)).thenReturn(submissionDto);
+
+        SubmissionPageDto result = submissionService.getQuizSubmissions(quiz.getId(), student.getId(), 50.0, 100.0, null, 1);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(SubmissionCursor.of(submission).encode(), result.getNextCursor());
+        verify(submissionMapper, never()).toDto(older);
+    }
+
+    @Test
+    void getQuizSubmissions_ShouldSeekPastCursor_WhenCursorIsGiven() {
+        String cursor = SubmissionCursor.of(submission).encode();
+
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
+        when(submissionRepository.findQuizSubmissionsPageBefore(
+                quiz.getId(), null, null, null, submission.getSubmittedAt(), submission.getId(), Limit.of(11)
+        )).thenReturn(List.of());
+
+        SubmissionPageDto result = submissionService.getQuizSubmissions(quiz.getId(), null, null, null, cursor, 10);
+
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
+        verify(submissionRepository, never()).findQuizSubmissionsPage(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getQuizSubmissions_ShouldThrowInvalidCursorException_WhenCursorIsMalformed() {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
+
+        assertThrows(
+                InvalidCursorException.class,
+                () -> submissionService.getQuizSubmissions(quiz.getId(), null, null, null, "not-a-cursor", null)
+        );
+
+        verifyNoInteractions(submissionRepository, submissionMapper);
+    }
+
     @Test
     void getQuizSubmissions_ShouldThrowQuizNotFoundException_WhenQuizNotFound() {
         Long nonExistentQuizId = 999L;
@@ -508,7 +1019,7 @@ public class SubmissionServiceTest {
 
         assertThrows(
                 QuizNotFoundException.class,
-                () -> submissionService.getQuizSubmissions(nonExistentQuizId)
+                () -> submissionService.getQuizSubmissions(nonExistentQuizId, null, null, null, null, null)
         );
 
         verify(quizRepository, times(1)).findById(nonExistentQuizId);
@@ -522,7 +1033,7 @@ public class SubmissionServiceTest {
 
         assertThrows(
                 AccessDeniedException.class,
-                () -> submissionService.getQuizSubmissions(quiz.getId())
+                () -> submissionService.getQuizSubmissions(quiz.getId(), null, null, null, null, null)
         );
 
         verify(quizRepository, times(1)).findById(quiz.getId());
@@ -534,16 +1045,17 @@ public class SubmissionServiceTest {
     void getQuizSubmissions_ShouldReturnEmptyList_WhenNoSubmissionsExist() {
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
-        when(submissionRepository.findByQuizIdOrderBySubmittedAtDesc(quiz.getId())).thenReturn(List.of());
+        when(submissionRepository.findQuizSubmissionsPage(quiz.getId(), null, null, null, Limit.of(51)))
+                .thenReturn(List.of());
 
-        List<SubmissionDto> result = submissionService.getQuizSubmissions(quiz.getId());
+        SubmissionPageDto result = submissionService.getQuizSubmissions(quiz.getId(), null, null, null, null, null);
 
         assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertTrue(result.getItems().isEmpty());
 
         verify(quizRepository, times(1)).findById(quiz.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(submissionRepository, times(1)).findByQuizIdOrderBySubmittedAtDesc(quiz.getId());
+        verify(submissionRepository, times(1)).findQuizSubmissionsPage(quiz.getId(), null, null, null, Limit.of(51));
         verify(submissionMapper, never()).toDto(any(Submission.class));
     }
 
@@ -553,7 +1065,7 @@ public class SubmissionServiceTest {
     void getMyQuizSubmissions_ShouldReturnMyQuizSubmissions_WhenUserIsEnrolledInCourse() {
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
         when(submissionRepository.findByQuizIdAndStudentIdOrderBySubmittedAtDesc(quiz.getId(), student.getId()))
                 .thenReturn(List.of(submission));
         when(submissionMapper.toDto(submission)).thenReturn(submissionDto);
@@ -566,7 +1078,7 @@ public class SubmissionServiceTest {
 
         verify(quizRepository, times(1)).findById(quiz.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verify(submissionRepository, times(1))
                 .findByQuizIdAndStudentIdOrderBySubmittedAtDesc(quiz.getId(), student.getId());
         verify(submissionMapper, times(1)).toDto(any(Submission.class));
@@ -583,14 +1095,15 @@ public class SubmissionServiceTest {
         );
 
         verify(quizRepository, times(1)).findById(nonExistentQuizId);
-        verifyNoInteractions(securityUtils, enrollmentRepository, submissionRepository, submissionMapper);
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
+        verifyNoInteractions(securityUtils, submissionRepository, submissionMapper);
     }
 
     @Test
     void getMyQuizSubmissions_ShouldThrowAccessDeniedException_WhenUserIsNotEnrolledInCourse() {
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(false);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
 
         assertThrows(
                 AccessDeniedException.class,
@@ -599,7 +1112,7 @@ public class SubmissionServiceTest {
 
         verify(quizRepository, times(1)).findById(quiz.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verifyNoInteractions(submissionRepository, submissionMapper);
     }
 
@@ -607,7 +1120,7 @@ public class SubmissionServiceTest {
     void getMyQuizSubmissions_ShouldReturnEmptyList_WhenNoSubmissionsExist() {
         when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
         when(submissionRepository.findByQuizIdAndStudentIdOrderBySubmittedAtDesc(quiz.getId(), student.getId()))
                 .thenReturn(List.of());
 
@@ -618,7 +1131,7 @@ public class SubmissionServiceTest {
 
         verify(quizRepository, times(1)).findById(quiz.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
         verify(submissionRepository, times(1))
                 .findByQuizIdAndStudentIdOrderBySubmittedAtDesc(quiz.getId(), student.getId());
         verify(submissionMapper, never()).toDto(any(Submission.class));
@@ -626,30 +1139,47 @@ public class SubmissionServiceTest {
 
     /* -------------------- Get Submission -------------------- */
 
+    @Test
+    void getSubmission_ShouldLoadDetailsFromAnswerVector_WhenSubmissionHasOne() {
+        submission.setAnswerVector(AnswerVectorCodec.encode(List.of(4L, 1L)));
+
+        when(submissionRepository.findWithCourseById(submission.getId())).thenReturn(Optional.of(submission));
+        when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
+        when(submissionAnswerRepository.findDetailsByAnswerIds(List.of(1L, 4L))).thenReturn(List.of());
+        when(submissionMapper.toDetailsDto(submission, List.of())).thenReturn(submissionDetailsDto);
+
+        submissionService.getSubmission(submission.getId());
+
+        verify(submissionAnswerRepository, never()).findDetailsBySubmissionId(anyLong());
+    }
+
     @Test
     void getSubmission_ShouldReturnSubmissionDetails_WhenUserIsCourseCreator() {
-        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+        when(submissionRepository.findWithCourseById(submission.getId())).thenReturn(Optional.of(submission));
         when(securityUtils.getCurrentUserId()).thenReturn(teacher.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(false);
-        when(submissionMapper.toDetailsDto(submission)).thenReturn(submissionDetailsDto);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
+        when(submissionAnswerRepository.findDetailsBySubmissionId(submission.getId())).thenReturn(List.of());
+        when(submissionMapper.toDetailsDto(submission, List.of())).thenReturn(submissionDetailsDto);
 
         SubmissionDetailsDto result = submissionService.getSubmission(submission.getId());
 
         assertNotNull(result);
         assertEquals(submissionDetailsDto.getId(), result.getId());
 
-        verify(submissionRepository, times(1)).findById(submission.getId());
+        verify(submissionRepository, times(1)).findWithCourseById(submission.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
-        verify(submissionMapper, times(1)).toDetailsDto(submission);
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
+        verify(submissionMapper, times(1)).toDetailsDto(submission, List.of());
     }
 
     @Test
     void getSubmission_ShouldReturnSubmissionDetails_WhenUserIsSubmissionCreator() {
-        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+        when(submissionRepository.findWithCourseById(submission.getId())).thenReturn(Optional.of(submission));
         when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(true);
-        when(submissionMapper.toDetailsDto(submission)).thenReturn(submissionDetailsDto);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(submissionAnswerRepository.findDetailsBySubmissionId(submission.getId())).thenReturn(List.of());
+        when(submissionMapper.toDetailsDto(submission, List.of())).thenReturn(submissionDetailsDto);
 
         SubmissionDetailsDto result = submissionService.getSubmission(submission.getId());
 
@@ -659,24 +1189,25 @@ public class SubmissionServiceTest {
         assertEquals(submissionDetailsDto.getStudentId(), result.getStudentId());
         assertEquals(2, result.getAnswers().size());
 
-        verify(submissionRepository, times(1)).findById(submission.getId());
+        verify(submissionRepository, times(1)).findWithCourseById(submission.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
-        verify(submissionMapper, times(1)).toDetailsDto(submission);
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
+        verify(submissionMapper, times(1)).toDetailsDto(submission, List.of());
     }
 
     @Test
     void getSubmission_ShouldThrowSubmissionNotFoundException_WhenSubmissionNotFound() {
         Long nonExistentSubmissionId = 999L;
-        when(submissionRepository.findById(nonExistentSubmissionId)).thenReturn(Optional.empty());
+        when(submissionRepository.findWithCourseById(nonExistentSubmissionId)).thenReturn(Optional.empty());
 
         assertThrows(
                 SubmissionNotFoundException.class,
                 () -> submissionService.getSubmission(nonExistentSubmissionId)
         );
 
-        verify(submissionRepository, times(1)).findById(nonExistentSubmissionId);
-        verifyNoInteractions(securityUtils, enrollmentRepository, submissionMapper);
+        verify(submissionRepository, times(1)).findWithCourseById(nonExistentSubmissionId);
+        verify(accessPolicy, never()).isStudentEnrolled(any(), any());
+        verifyNoInteractions(securityUtils, submissionAnswerRepository, submissionMapper);
     }
 
     @Test
@@ -684,18 +1215,123 @@ public class SubmissionServiceTest {
         User unauthorizedUser = new User();
         unauthorizedUser.setId(3L);
 
-        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+        when(submissionRepository.findWithCourseById(submission.getId())).thenReturn(Optional.of(submission));
         when(securityUtils.getCurrentUserId()).thenReturn(unauthorizedUser.getId());
-        when(enrollmentRepository.existsById(any(EnrollmentId.class))).thenReturn(false);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
 
         assertThrows(
                 AccessDeniedException.class,
                 () -> submissionService.getSubmission(submission.getId())
         );
 
-        verify(submissionRepository, times(1)).findById(submission.getId());
+        verify(submissionRepository, times(1)).findWithCourseById(submission.getId());
         verify(securityUtils, times(1)).getCurrentUserId();
-        verify(enrollmentRepository, times(1)).existsById(any(EnrollmentId.class));
-        verifyNoInteractions(submissionMapper);
+        verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
+        verifyNoInteractions(submissionAnswerRepository, submissionMapper);
+    }
+
+    @Test
+    void getSubmission_ShouldIssueConstantNumberOfQueries_RegardlessOfQuizSize() {
+        when(submissionRepository.findWithCourseById(submission.getId())).thenReturn(Optional.of(submission));
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+
+        for (int questionCount : new int[] { 2, 50 }) {
+            List<SubmissionAnswerDetailsRow> rows = detailsRows(questionCount);
+            when(submissionAnswerRepository.findDetailsBySubmissionId(submission.getId())).thenReturn(rows);
+            when(submissionMapper.toDetailsDto(submission, rows)).thenReturn(submissionDetailsDto);
+
+            submissionService.getSubmission(submission.getId());
+
+            verify(submissionRepository, times(1)).findWithCourseById(submission.getId());
+            verify(accessPolicy, times(1)).isStudentEnrolled(any(), any());
+            verify(submissionAnswerRepository, times(1)).findDetailsBySubmissionId(submission.getId());
+            verifyNoMoreInteractions(submissionRepository, submissionAnswerRepository, accessPolicy);
+            verifyNoInteractions(questionRepository, answerRepository, quizRepository);
+
+            clearInvocations(submissionRepository, submissionAnswerRepository, accessPolicy);
+        }
+    }
+
+    /* -------------------- Get Submission Json -------------------- */
+
+    @Test
+    void getSubmissionJson_ShouldServeCachedBytesForKeyVersion_WhenSubmissionIsGraded() {
+        byte[] json = "{}".getBytes();
+        submission.setStatus(SubmissionStatus.GRADED);
+
+        when(submissionRepository.findWithCourseById(submission.getId())).thenReturn(Optional.of(submission));
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(quizAnswerKeyCache.version(quiz.getId())).thenReturn(3L);
+        when(submissionDetailsCache.get(eq(submission.getId()), eq(3L), any())).thenReturn(json);
+
+        byte[] result = submissionService.getSubmissionJson(submission.getId());
+
+        assertSame(json, result);
+        verifyNoInteractions(submissionAnswerRepository, submissionMapper);
+    }
+
+    @Test
+    void getSubmissionJson_ShouldBypassCache_WhenSubmissionIsPending() {
+        byte[] json = "{}".getBytes();
+        submission.setStatus(SubmissionStatus.PENDING);
+
+        when(submissionRepository.findWithCourseById(submission.getId())).thenReturn(Optional.of(submission));
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(submissionAnswerRepository.findDetailsBySubmissionId(submission.getId())).thenReturn(List.of());
+        when(submissionMapper.toDetailsDto(submission, List.of())).thenReturn(submissionDetailsDto);
+        when(submissionDetailsCache.serialize(submissionDetailsDto)).thenReturn(json);
+
+        byte[] result = submissionService.getSubmissionJson(submission.getId());
+
+        assertSame(json, result);
+        verify(submissionDetailsCache, never()).get(anyLong(), anyLong(), any());
+        verifyNoInteractions(quizAnswerKeyCache);
+    }
+
+    @Test
+    void getSubmissionJson_ShouldThrowAccessDeniedException_BeforeTouchingCache_WhenUserNotAuthorized() {
+        when(submissionRepository.findWithCourseById(submission.getId())).thenReturn(Optional.of(submission));
+        when(securityUtils.getCurrentUserId()).thenReturn(3L);
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(false);
+
+        assertThrows(
+                AccessDeniedException.class,
+                () -> submissionService.getSubmissionJson(submission.getId())
+        );
+
+        verifyNoInteractions(submissionDetailsCache, submissionAnswerRepository);
+    }
+
+    /* -------------------- Get Submission Status -------------------- */
+
+    @Test
+    void getSubmissionStatus_ShouldReturnStatus_WhenUserIsSubmissionCreator() {
+        SubmissionStatusDto statusDto = new SubmissionStatusDto(submission.getId(), SubmissionStatus.PENDING, null);
+
+        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+        when(securityUtils.getCurrentUserId()).thenReturn(student.getId());
+        when(accessPolicy.isStudentEnrolled(any(), any())).thenReturn(true);
+        when(submissionMapper.toStatusDto(submission)).thenReturn(statusDto);
+
+        SubmissionStatusDto result = submissionService.getSubmissionStatus(submission.getId());
+
+        assertEquals(SubmissionStatus.PENDING, result.getStatus());
+        verify(submissionMapper, times(1)).toStatusDto(submission);
+    }
+
+    @Test
+    void getSubmissionStatus_ShouldThrowSubmissionNotFoundException_WhenSubmissionNotFound() {
+        Long nonExistentSubmissionId = 999L;
+        when(submissionRepository.findById(nonExistentSubmissionId)).thenReturn(Optional.empty());
+
+        assertThrows(
+                SubmissionNotFoundException.class,
+                () -> submissionService.getSubmissionStatus(nonExistentSubmissionId)
+        );
+
+        verifyNoInteractions(securityUtils, submissionMapper);
     }
 }
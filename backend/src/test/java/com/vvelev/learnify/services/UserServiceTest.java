@@ -1,5 +1,6 @@
 package com.vvelev.learnify.services;
 
+import com.vvelev.learnify.caches.ActiveUserCache;
 import com.vvelev.learnify.dtos.user.RegisterUserDto;
 import com.vvelev.learnify.dtos.user.UpdateUserDto;
 import com.vvelev.learnify.dtos.user.UserDto;
@@ -32,6 +33,7 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class UserServiceTest {
     @Mock private UserRepository userRepository;
+    @Mock private ActiveUserCache activeUserCache;
     @Mock private UserMapper userMapper;
     @Mock private PasswordEncoder passwordEncoder;
     @Mock private SecurityUtils securityUtils;
@@ -340,6 +342,7 @@ public class UserServiceTest {
         verify(userRepository, times(1)).findById(user.getId());
         verify(userMapper, times(1)).update(updateUserDto, user);
         verify(userRepository, times(1)).save(user);
+        verify(activeUserCache, times(1)).invalidate(user.getId());
         verify(userMapper, times(1)).toDto(user);
     }
 
@@ -388,6 +391,7 @@ public class UserServiceTest {
         verify(userRepository, times(1)).findById(user.getId());
         verify(userMapper, times(1)).update(updateUserDto, user);
         verify(userRepository, times(1)).save(user);
+        verify(activeUserCache, times(1)).invalidate(user.getId());
         verify(userMapper, times(1)).toDto(user);
     }
 
@@ -420,6 +424,7 @@ public class UserServiceTest {
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(userRepository, times(1)).findById(user.getId());
         verify(userRepository, times(1)).delete(user);
+        verify(activeUserCache, times(1)).invalidate(user.getId());
     }
 
     @Test
@@ -436,5 +441,6 @@ public class UserServiceTest {
         verify(securityUtils, times(1)).getCurrentUserId();
         verify(userRepository, times(1)).findById(nonExistentUserId);
         verify(userRepository, never()).delete(any(User.class));
+        verifyNoInteractions(activeUserCache);
     }
 }
@@ -0,0 +1,96 @@
+package com.vvelev.learnify.utils;
+
+import com.vvelev.learnify.caches.CourseAccess;
+import com.vvelev.learnify.caches.CourseAccessCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AccessPolicyTest {
+    @Mock private CourseAccessCache courseAccessCache;
+
+    @InjectMocks
+    private AccessPolicy accessPolicy;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void isStudentEnrolled_ShouldConsultCacheOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(courseAccessCache.get(3L)).thenReturn(Optional.of(CourseAccess.of(1L, List.of(2L))));
+
+        assertTrue(accessPolicy.isStudentEnrolled(2L, 3L));
+        assertFalse(accessPolicy.isStudentEnrolled(4L, 3L));
+        assertTrue(accessPolicy.isCourseCreator(3L, 1L));
+
+        verify(courseAccessCache, times(1)).get(3L);
+    }
+
+    @Test
+    void isStudentEnrolled_ShouldUseCacheDirectly_OutsideOfRequest() {
+        when(courseAccessCache.get(3L)).thenReturn(Optional.of(CourseAccess.of(1L, List.of(2L))));
+
+        assertTrue(accessPolicy.isStudentEnrolled(2L, 3L));
+        assertTrue(accessPolicy.isStudentEnrolled(2L, 3L));
+
+        verify(courseAccessCache, times(2)).get(3L);
+    }
+
+    @Test
+    void evictCourse_ShouldDropRequestMemoAndInvalidateCache() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(courseAccessCache.get(3L))
+                .thenReturn(Optional.of(CourseAccess.of(1L, List.of())))
+                .thenReturn(Optional.of(CourseAccess.of(1L, List.of(2L))));
+
+        assertFalse(accessPolicy.isStudentEnrolled(2L, 3L));
+
+        accessPolicy.evictCourse(3L);
+
+        assertTrue(accessPolicy.isStudentEnrolled(2L, 3L));
+        verify(courseAccessCache, times(1)).invalidate(3L);
+    }
+
+    @Test
+    void studentEnrolled_ShouldUpdateRequestMemoAndCache() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(courseAccessCache.get(3L)).thenReturn(Optional.of(CourseAccess.of(1L, List.of(4L))));
+
+        assertFalse(accessPolicy.isStudentEnrolled(2L, 3L));
+
+        accessPolicy.studentEnrolled(3L, 2L);
+        assertTrue(accessPolicy.isStudentEnrolled(2L, 3L));
+
+        accessPolicy.studentUnenrolled(3L, 4L);
+        assertFalse(accessPolicy.isStudentEnrolled(4L, 3L));
+        assertEquals(1, accessPolicy.roster(3L).orElseThrow().cardinality());
+
+        verify(courseAccessCache, times(1)).get(3L);
+        verify(courseAccessCache, times(1)).addStudent(3L, 2L);
+        verify(courseAccessCache, times(1)).removeStudent(3L, 4L);
+    }
+
+    @Test
+    void courseExists_ShouldReturnFalse_WhenCourseIsMissing() {
+        when(courseAccessCache.get(3L)).thenReturn(Optional.empty());
+
+        assertFalse(accessPolicy.courseExists(3L));
+        assertFalse(accessPolicy.isStudentEnrolled(2L, 3L));
+    }
+}
@@ -0,0 +1,46 @@
+package com.vvelev.learnify.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnswerVectorCodecTest {
+    @Test
+    void encode_ShouldRoundTripSortedAnswerIds() {
+        byte[] vector = AnswerVectorCodec.encode(List.of(300L, 7L, 2_000_000_000L, 301L));
+
+        assertEquals(List.of(7L, 300L, 301L, 2_000_000_000L), AnswerVectorCodec.decode(vector));
+    }
+
+    @Test
+    void encode_ShouldUseAboutOneByteOrTwoPerAnswer_WhenIdsAreClustered() {
+        List<Long> answerIds = new ArrayList<>();
+        for (long question = 0; question < 100; question++) {
+            answerIds.add(1_000_000 + question * 4 + question % 4);
+        }
+
+        byte[] vector = AnswerVectorCodec.encode(answerIds);
+
+        assertEquals(answerIds, AnswerVectorCodec.decode(vector));
+        assertEquals(102, vector.length);
+    }
+
+    @Test
+    void encode_ShouldReturnEmptyVector_WhenThereAreNoAnswers() {
+        assertEquals(0, AnswerVectorCodec.encode(List.of()).length);
+        assertTrue(AnswerVectorCodec.decode(new byte[0]).isEmpty());
+    }
+
+    @Test
+    void encode_ShouldRejectDuplicateAnswerIds() {
+        assertThrows(IllegalArgumentException.class, () -> AnswerVectorCodec.encode(List.of(5L, 5L)));
+    }
+
+    @Test
+    void decode_ShouldRejectTruncatedVector() {
+        assertThrows(IllegalArgumentException.class, () -> AnswerVectorCodec.decode(new byte[] {(byte) 0x81}));
+    }
+}
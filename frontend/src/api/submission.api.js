@@ -6,9 +6,26 @@ export const submitQuiz = async (id, data) => {
     return response.data;
 };
 
+const QUIZ_SUBMISSIONS_PAGE_SIZE = 500;
+
 export const getQuizSubmissions = async (id) => {
-    const response = await http.get(API_PATHS.QUIZ_SUBMISSIONS(id));
-    return response.data;
+    const submissions = [];
+    let cursor = null;
+
+    do {
+        const response = await http.get(API_PATHS.QUIZ_SUBMISSIONS(id), {
+            params: { limit: QUIZ_SUBMISSIONS_PAGE_SIZE, ...(cursor && { cursor }) },
+        });
+        submissions.push(...response.data);
+        cursor = response.headers["x-next-cursor"];
+    } while (cursor);
+
+    return submissions;
+};
+
+export const hasQuizSubmissions = async (id) => {
+    const response = await http.get(API_PATHS.QUIZ_SUBMISSIONS(id), { params: { limit: 1 } });
+    return response.data.length > 0;
 };
 
 export const getMyQuizSubmissions = async (id) => {
@@ -4,7 +4,7 @@ import { useAuth } from "../../context/AuthContext";
 import { getQuiz, deleteQuiz } from "../../api/quiz.api";
 import { getQuizQuestions, deleteQuestion } from "../../api/question.api";
 import { getQuestionAnswers } from "../../api/answer.api";
-import { getQuizSubmissions } from "../../api/submission.api";
+import { hasQuizSubmissions } from "../../api/submission.api";
 import {
     Navbar,
     Footer,
@@ -59,8 +59,7 @@ const TeacherQuizPage = () => {
             setQuestions(questionsWithAnswers);
 
             try {
-                const submissions = await getQuizSubmissions(quizId);
-                setHasSubmissions(submissions.length > 0);
+                setHasSubmissions(await hasQuizSubmissions(quizId));
             } catch (err) {
                 setError(err.message);
                 setHasSubmissions(false);